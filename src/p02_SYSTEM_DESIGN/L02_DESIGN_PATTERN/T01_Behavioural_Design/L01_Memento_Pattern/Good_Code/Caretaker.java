@@ -0,0 +1,54 @@
+package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L01_Memento_Pattern.Good_Code;
+
+// CareTaker : Manges undo/redo
+
+// Each stack keeps its newest mementos on the heap and spills older ones to a
+// compressed temp file (see TieredMementoStack); deep undo reloads them on demand.
+class Caretaker implements AutoCloseable {
+    private final TieredMementoStack undoStack;
+    private final TieredMementoStack redoStack;
+
+    public Caretaker() {
+        this(TieredMementoStack.DEFAULT_MAX_ON_HEAP, TieredMementoStack.DEFAULT_MAX_ON_HEAP_BYTES);
+    }
+
+    // on-heap budget per stack: at most maxOnHeap mementos and about maxOnHeapBytes
+    public Caretaker(int maxOnHeap, long maxOnHeapBytes) {
+        undoStack = new TieredMementoStack("undo", maxOnHeap, maxOnHeapBytes);
+        redoStack = new TieredMementoStack("redo", maxOnHeap, maxOnHeapBytes);
+    }
+
+    public void saveState(TextEditor editor) {
+        undoStack.push(editor.save());
+        redoStack.clear(); // clear redo history when new action occurs
+    }
+
+    public void undo(TextEditor editor) {
+        if (!undoStack.isEmpty()) {
+            redoStack.push(editor.save()); // save current state for redo
+            editor.restore(undoStack.pop());
+        }
+    }
+
+    public void redo(TextEditor editor) {
+        if (!redoStack.isEmpty()) {
+            undoStack.push(editor.save()); // save current state for undo
+            editor.restore(redoStack.pop());
+        }
+    }
+
+    public int undoSize() {
+        return undoStack.size();
+    }
+
+    public String stats() {
+        return undoStack.stats() + "\n" + redoStack.stats();
+    }
+
+    // deletes the spill files
+    @Override
+    public void close() {
+        undoStack.close();
+        redoStack.close();
+    }
+}
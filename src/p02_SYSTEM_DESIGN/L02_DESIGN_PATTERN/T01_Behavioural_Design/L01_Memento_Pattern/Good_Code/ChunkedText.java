@@ -0,0 +1,209 @@
+package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L01_Memento_Pattern.Good_Code;
+
+/*
+ TextEditor's text: sealed immutable chunks of CHUNK chars + one small mutable tail.
+
+ - append  : writes into the tail; a full tail is sealed into a new chunk. O(typed chars)
+ - snapshot: chunk array reference + chunk count + a copy of the tail (< CHUNK chars),
+             so a memento shares every sealed chunk with the editor and with older mementos
+ - restore : the reverse, O(tail) - no document-sized copy either way
+
+ Public so other memento examples (p03 Text_Edtior_Momento) can share the same text type.
+
+ Chunks are appended to a Store shared by the text and its snapshots. Slots below a
+ snapshot's count never change, so sharing is safe. After a restore or truncate to a
+ shorter text, the next seal copies the store's prefix first (copy-on-write) instead of
+ overwriting chunks that newer snapshots still use.
+*/
+public class ChunkedText implements CharSequence {
+
+    static final int CHUNK = 1024 ;
+
+    private static final class Store {
+        String[] chunks ;
+        int sealed ;    // slots ever written; only the owner of slot 'sealed' may append
+
+        Store(String[] chunks, int sealed){
+            this.chunks = chunks ;
+            this.sealed = sealed ;
+        }
+    }
+
+    // Immutable view of a ChunkedText at one moment
+    public static final class Snapshot {
+        private final Store store ;
+        private final int count ;
+        private final String tail ;
+
+        private Snapshot(Store store, int count, String tail){
+            this.store = store ;
+            this.count = count ;
+            this.tail = tail ;
+        }
+
+        public int length(){
+            return count * CHUNK + tail.length() ;
+        }
+
+        // bytes this snapshot holds on its own (chunks are shared)
+        long ownBytes(){
+            return 32 + 40 + tail.length() ;
+        }
+
+        char charAt(int index){
+            int chunk = index / CHUNK ;
+            return chunk < count ? store.chunks[chunk].charAt(index % CHUNK) : tail.charAt(index - count * CHUNK) ;
+        }
+
+        // How many leading chars the two texts agree on; shared chunks are matched by reference
+        int commonPrefix(Snapshot other){
+            int n = Math.min(length(), other.length()) ;
+            int i = 0 ;
+            while(i / CHUNK < Math.min(count, other.count)){
+                String a = store.chunks[i / CHUNK] ;
+                String b = other.store.chunks[i / CHUNK] ;
+                if(a != b && !a.equals(b)){
+                    break ;
+                }
+                i += CHUNK ;
+            }
+            while(i < n && charAt(i) == other.charAt(i)){
+                i++ ;
+            }
+            return i ;
+        }
+
+        String substring(int start){
+            StringBuilder sb = new StringBuilder(length() - start) ;
+            for(int c = start / CHUNK ; c < count ; c++){
+                sb.append(store.chunks[c], c == start / CHUNK ? start % CHUNK : 0, CHUNK) ;
+            }
+            sb.append(tail, Math.max(0, start - count * CHUNK), tail.length()) ;
+            return sb.toString() ;
+        }
+
+        @Override
+        public String toString(){
+            return substring(0) ;
+        }
+    }
+
+    private Store store = new Store(new String[16], 0) ;
+    private int count ;
+    private final StringBuilder tail = new StringBuilder(CHUNK) ;
+
+    public ChunkedText(){
+    }
+
+    public ChunkedText(CharSequence initial){
+        append(initial) ;
+    }
+
+    public ChunkedText append(CharSequence s){
+        int from = 0 ;
+        int n = s.length() ;
+        while(from < n){
+            int take = Math.min(CHUNK - tail.length(), n - from) ;
+            tail.append(s, from, from + take) ;
+            from += take ;
+            if(tail.length() == CHUNK){
+                seal(tail.toString()) ;
+                tail.setLength(0) ;
+            }
+        }
+        return this ;
+    }
+
+    private void seal(String chunk){
+        if(count != store.sealed){
+            // someone else's chunks live above ours: take a private copy of ours
+            String[] mine = new String[Math.max(16, count * 2)] ;
+            System.arraycopy(store.chunks, 0, mine, 0, count) ;
+            store = new Store(mine, count) ;
+        }
+        if(count == store.chunks.length){
+            // same slots, bigger array: snapshots sharing this store read the same chunks
+            String[] grown = new String[count * 2] ;
+            System.arraycopy(store.chunks, 0, grown, 0, count) ;
+            store.chunks = grown ;
+        }
+        store.chunks[count++] = chunk ;
+        store.sealed = count ;
+    }
+
+    public Snapshot snapshot(){
+        return new Snapshot(store, count, tail.toString()) ;
+    }
+
+    public void restore(Snapshot snapshot){
+        store = snapshot.store ;
+        count = snapshot.count ;
+        tail.setLength(0) ;
+        tail.append(snapshot.tail) ;
+    }
+
+    // Cut the text down to 'length' chars (no-op if it is not longer)
+    public void truncate(int length){
+        if(length >= length()){
+            return ;
+        }
+        int chunk = length / CHUNK ;
+        int rest = length % CHUNK ;
+        if(chunk == count){
+            tail.setLength(rest) ;
+            return ;
+        }
+        String partial = store.chunks[chunk] ;
+        count = chunk ;
+        tail.setLength(0) ;
+        tail.append(partial, 0, rest) ;
+    }
+
+    @Override
+    public int length(){
+        return count * CHUNK + tail.length() ;
+    }
+
+    @Override
+    public char charAt(int index){
+        if(index < 0 || index >= length()){
+            throw new IndexOutOfBoundsException("index " + index + " of " + length()) ;
+        }
+        int chunk = index / CHUNK ;
+        return chunk < count ? store.chunks[chunk].charAt(index % CHUNK) : tail.charAt(index - count * CHUNK) ;
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end){
+        return substring(start, end) ;
+    }
+
+    public String substring(int start){
+        return substring(start, length()) ;
+    }
+
+    String substring(int start, int end){
+        if(start < 0 || end > length() || start > end){
+            throw new IndexOutOfBoundsException("range [" + start + ", " + end + ") of " + length()) ;
+        }
+        StringBuilder sb = new StringBuilder(end - start) ;
+        int i = start ;
+        while(i < end){
+            int chunk = i / CHUNK ;
+            if(chunk < count){
+                int stop = Math.min(end, (chunk + 1) * CHUNK) ;
+                sb.append(store.chunks[chunk], i % CHUNK, stop - chunk * CHUNK) ;
+                i = stop ;
+            } else {
+                sb.append(tail, i - count * CHUNK, end - count * CHUNK) ;
+                i = end ;
+            }
+        }
+        return sb.toString() ;
+    }
+
+    @Override
+    public String toString(){
+        return substring(0) ;
+    }
+}
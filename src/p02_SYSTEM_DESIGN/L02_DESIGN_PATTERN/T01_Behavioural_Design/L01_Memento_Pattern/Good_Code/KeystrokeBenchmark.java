@@ -0,0 +1,122 @@
+package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L01_Memento_Pattern.Good_Code;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * Typing at the end of documents that start at 1 KB .. 10 MB, one char per keystroke, a FULL save every SAVE_EVERY keystrokes:
+ *   old : the original editor - text += newText, a memento holds that String
+ *   new : TextEditor on ChunkedText - append into the tail, a memento shares the sealed chunks
+ * Reports keystrokes per second (typing + saves) and the heap the saved mementos hold.
+ * The old editor copies the document per keystroke, so the big documents get fewer keystrokes.
+ */
+public class KeystrokeBenchmark {
+
+    private static final int[] DOCUMENT_KB = {1, 10, 100, 1024, 10 * 1024};
+    private static final int SAVE_EVERY = 100;
+
+    // the editor as it was before ChunkedText
+    private static final class StringEditor {
+        private String text = "";
+
+        void type(String newText){
+            text += newText;
+        }
+
+        String save(){
+            return text;
+        }
+
+        int length(){
+            return text.length();
+        }
+    }
+
+    public static void main(String[] args){
+        for(int kb : DOCUMENT_KB){
+            String document = generate(kb * 1024);
+            // up to ~2 G chars copied by the old editor, but at least 1,000 keystrokes
+            int keystrokes = (int) Math.max(1_000, Math.min(200_000, 2_000_000_000L / document.length()));
+
+            runOld(document, Math.min(keystrokes, 10_000), false);   // warm-up
+            runNew(document, keystrokes, false);
+
+            System.out.printf("%,6d KB  %,7d keystrokes%n", kb, keystrokes);
+            runOld(document, keystrokes, true);
+            runNew(document, keystrokes, true);
+        }
+    }
+
+    private static void runOld(String document, int keystrokes, boolean print){
+        long baseHeap = usedHeap();
+        StringEditor editor = new StringEditor();
+        editor.type(document);
+        List<String> history = new ArrayList<>();
+
+        long t0 = System.nanoTime();
+        for(int i = 0; i < keystrokes; i++){
+            editor.type(String.valueOf((char) ('a' + i % 26)));
+            if(i % SAVE_EVERY == SAVE_EVERY - 1){
+                history.add(editor.save());
+            }
+        }
+        long t1 = System.nanoTime();
+
+        if(editor.length() != document.length() + keystrokes){
+            throw new IllegalStateException("old editor lost keystrokes");
+        }
+        if(print){
+            print("old  String +=", keystrokes, t1 - t0, usedHeap() - baseHeap, history.size());
+        }
+    }
+
+    private static void runNew(String document, int keystrokes, boolean print){
+        long baseHeap = usedHeap();
+        TextEditor editor = new TextEditor(SnapshotMode.FULL);
+        editor.type(document);
+        List<TextMemento> history = new ArrayList<>();
+
+        long t0 = System.nanoTime();
+        for(int i = 0; i < keystrokes; i++){
+            editor.type(String.valueOf((char) ('a' + i % 26)));
+            if(i % SAVE_EVERY == SAVE_EVERY - 1){
+                history.add(editor.save());
+            }
+        }
+        long t1 = System.nanoTime();
+
+        if(editor.length() != document.length() + keystrokes){
+            throw new IllegalStateException("new editor lost keystrokes");
+        }
+        if(print){
+            print("new  ChunkedText", keystrokes, t1 - t0, usedHeap() - baseHeap, history.size());
+        }
+    }
+
+    private static void print(String label, int keystrokes, long nanos, long heap, int saves){
+        System.out.printf("    %-16s %,14.0f keystrokes/s   %,10.0f ns/keystroke   editor + %,5d mementos %,15d B%n",
+                label, keystrokes * 1e9 / nanos, (double) nanos / keystrokes, saves, heap);
+    }
+
+    private static long usedHeap(){
+        Runtime runtime = Runtime.getRuntime();
+        for(int i = 0; i < 3; i++){
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String generate(int chars){
+        StringBuilder sb = new StringBuilder(chars);
+        Random random = new Random(1);
+        while(sb.length() < chars){
+            sb.append((char) ('a' + random.nextInt(26)));
+            if(random.nextInt(7) == 0){
+                sb.append(' ');
+            }
+        }
+        sb.setLength(chars);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,143 @@
+package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L01_Memento_Pattern.Good_Code;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * FULL vs DELTA mementos on a 1 MB document:
+ *  - SAVES saves, each after typing a short edit
+ *  - heap held by the mementos (used heap after GC, minus the editor itself)
+ *  - latency of Caretaker save / undo / redo, and of restoring a random old memento
+ *    (~RANDOM_RESTORES extra saves are kept aside for that; they are in the heap figure too)
+ * FULL copies the whole document per save, so it runs FULL_SAVES saves and the
+ * total for SAVES is extrapolated (10k x 1 MB does not fit in this heap).
+ */
+public class MementoBenchmark {
+
+    private static final int DOCUMENT_CHARS = 1024 * 1024;
+    private static final int SAVES = 10_000;
+    private static final int FULL_SAVES = 400;
+    private static final int UNDOS = 1_000;
+    private static final int RANDOM_RESTORES = 200;
+
+    public static void main(String[] args){
+        String document = generate(DOCUMENT_CHARS);
+
+        run(SnapshotMode.DELTA, document, SAVES / 10, false);   // warm-up
+        run(SnapshotMode.FULL, document, FULL_SAVES / 10, false);
+
+        run(SnapshotMode.FULL, document, FULL_SAVES, true);
+        run(SnapshotMode.DELTA, document, SAVES, true);
+    }
+
+    private static void run(SnapshotMode mode, String document, int saves, boolean print){
+        long baseHeap = usedHeap();
+
+        TextEditor editor = new TextEditor(mode);
+        editor.type(document);
+        // history all on the heap: this measures the mementos, TieredHistoryBenchmark measures spilling
+        Caretaker caretaker = new Caretaker(Integer.MAX_VALUE, Long.MAX_VALUE);
+        // a few saves are also kept here, to restore them out of order later
+        Random random = new Random(3);
+        boolean[] sampled = new boolean[saves];
+        for(int i = 0; i < RANDOM_RESTORES; i++){
+            sampled[random.nextInt(saves)] = true;
+        }
+        List<TextMemento> kept = new ArrayList<>();
+        List<Integer> keptIndex = new ArrayList<>();
+        List<Integer> keptLength = new ArrayList<>();
+
+        long editorHeap = usedHeap() - baseHeap;
+
+        long[] saveNanos = new long[saves];
+        for(int i = 0; i < saves; i++){
+            editor.type(" edit-" + i + ";");
+
+            long t0 = System.nanoTime();
+            caretaker.saveState(editor);
+            saveNanos[i] = System.nanoTime() - t0;
+
+            if(sampled[i]){
+                kept.add(editor.save());
+                keptIndex.add(i);
+                keptLength.add(editor.length());
+            }
+        }
+
+        long mementoHeap = usedHeap() - baseHeap - editorHeap;
+
+        int undos = Math.min(UNDOS, saves / 2);
+        long[] undoNanos = new long[undos];
+        for(int i = 0; i < undos; i++){
+            long t0 = System.nanoTime();
+            caretaker.undo(editor);
+            undoNanos[i] = System.nanoTime() - t0;
+        }
+        long[] redoNanos = new long[undos];
+        for(int i = 0; i < undos; i++){
+            long t0 = System.nanoTime();
+            caretaker.redo(editor);
+            redoNanos[i] = System.nanoTime() - t0;
+        }
+
+        long[] restoreNanos = new long[RANDOM_RESTORES];
+        for(int i = 0; i < RANDOM_RESTORES; i++){
+            int pick = random.nextInt(kept.size());
+            long t0 = System.nanoTime();
+            editor.restore(kept.get(pick));
+            restoreNanos[i] = System.nanoTime() - t0;
+
+            if(editor.length() != keptLength.get(pick) || !editor.getText().endsWith(" edit-" + keptIndex.get(pick) + ";")){
+                throw new IllegalStateException(mode + " restored the wrong text for save " + keptIndex.get(pick));
+            }
+        }
+
+        if(!print){
+            return;
+        }
+
+        double perSave = (double) mementoHeap / saves;
+        System.out.printf("%-5s %,6d saves  memento heap %,13d bytes (%,9.0f B/save, %,14.0f B for %,d saves)%n",
+                mode, saves, mementoHeap, perSave, perSave * SAVES, SAVES);
+        System.out.printf("      save    %s%n", stats(saveNanos));
+        System.out.printf("      undo    %s%n", stats(undoNanos));
+        System.out.printf("      redo    %s%n", stats(redoNanos));
+        System.out.printf("      restore %s  (random old memento)%n", stats(restoreNanos));
+
+        // keep everything reachable until measured
+        if(kept.size() + caretaker.hashCode() == 0){
+            System.out.println();
+        }
+    }
+
+    private static String stats(long[] nanos){
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        double avg = Arrays.stream(sorted).average().orElse(0);
+        return String.format("avg %,11.0f ns   p50 %,11d ns   max %,11d ns",
+                avg, sorted[sorted.length / 2], sorted[sorted.length - 1]);
+    }
+
+    private static long usedHeap(){
+        Runtime runtime = Runtime.getRuntime();
+        for(int i = 0; i < 3; i++){
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String generate(int chars){
+        StringBuilder sb = new StringBuilder(chars);
+        Random random = new Random(1);
+        while(sb.length() < chars){
+            sb.append((char) ('a' + random.nextInt(26)));
+            if(random.nextInt(7) == 0){
+                sb.append(' ');
+            }
+        }
+        sb.setLength(chars);
+        return sb.toString();
+    }
+}
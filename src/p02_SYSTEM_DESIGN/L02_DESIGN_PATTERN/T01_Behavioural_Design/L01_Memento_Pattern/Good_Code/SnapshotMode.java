@@ -0,0 +1,7 @@
+package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L01_Memento_Pattern.Good_Code;
+
+// How save() snapshots the text
+public enum SnapshotMode {
+    FULL,   // every memento holds the whole text
+    DELTA   // a memento holds only what was typed since the previous one; a full keyframe now and then
+}
@@ -0,0 +1,72 @@
+package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L01_Memento_Pattern.Good_Code;
+
+// Originator : the Text editor
+// DELTA mode keeps 'head', the memento the text was last saved as / restored to;
+// the text is always head's text + whatever was typed since, because type() only appends.
+// So undo/redo between nearby mementos just cuts the text back to their common ancestor
+// and re-appends the deltas after it: O(typed text), not O(document).
+// The text is a ChunkedText, so type() never copies the document and a full save() or
+// restore() only copies the last partial chunk.
+class TextEditor{
+    // keyframe every MAX_CHAIN saves, or once the deltas add up to the document size
+    static final int MAX_CHAIN = 1024 ;
+
+    private final ChunkedText text = new ChunkedText() ;
+    private final SnapshotMode mode ;
+    private TextMemento head ;
+
+    public TextEditor(){
+        this(SnapshotMode.FULL) ;
+    }
+
+    public TextEditor(SnapshotMode mode){
+        this.mode = mode ;
+    }
+
+    public void type(String newText){
+        text.append(newText) ;
+    }
+
+    public String getText(){
+        return text.toString() ;
+    }
+
+    public int length(){
+        return text.length() ;
+    }
+
+
+    // save current state to Memento
+    public TextMemento save(){
+        if(mode == SnapshotMode.FULL){
+            return new TextMemento(text.snapshot()) ;
+        }
+
+        if(head == null
+                || head.sinceKeyframe() + 1 >= MAX_CHAIN
+                || head.typedSinceKeyframe() + (text.length() - head.length()) >= text.length()){
+            head = new TextMemento(text.snapshot()) ;
+        } else {
+            head = TextMemento.delta(head, text.substring(head.length())) ;
+        }
+        return head ;
+    }
+
+    // Restore state from Memento
+    public void restore(TextMemento memento){
+        TextMemento common = memento.commonAncestor(head) ;
+
+        if(mode == SnapshotMode.DELTA && common != null){
+            text.truncate(common.length()) ;            // back to the shared state...
+            memento.appendTypedAfter(common, text) ;    // ...and forward to the memento
+        } else {
+            TextMemento keyframe = memento.keyframe() ;
+            text.restore(keyframe.snapshot()) ;
+            memento.appendTypedAfter(keyframe, text) ;
+        }
+
+        if(mode == SnapshotMode.DELTA){
+            head = memento ;
+        }
+    }
+}
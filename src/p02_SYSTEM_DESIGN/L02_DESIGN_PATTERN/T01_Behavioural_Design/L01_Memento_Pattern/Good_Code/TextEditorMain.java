@@ -1,5 +1,4 @@
 package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L01_Memento_Pattern.Good_Code;
-import java.util.Stack;
 
 /*
 Memento Pattern = Save and restore an object’s state without exposing details.
@@ -71,73 +70,16 @@ Different from Command → Command = actions; Memento = state snapshots.
  */
 
 
-// Memento : Store the state
-class TextMemento{
-    private final String state ;
-
-    public TextMemento(String state){
-        this.state = state ;
-    }
-
-    public String getState(){
-        return state ;
-    }
-}
-
-// Originator : the Text editor
-class TextEditor{
-    private String text = "" ;
-
-    public void type(String newText){
-        text += newText ;
-    }
-
-    public String getText(){
-        return text ;
-    }
-
-
-    // save current state to Memento
-    public TextMemento save(){
-        return new TextMemento(text) ;
-    }
-
-    // Restore state from Memento
-    public void restore(TextMemento memento){
-        text = memento.getState() ;
-    }
-}
-
-
-// CareTaker : Manges undo/redo
-
-class Caretaker {
-    private Stack<TextMemento> undoStack = new Stack<>();
-    private Stack<TextMemento> redoStack = new Stack<>();
-
-    public void saveState(TextEditor editor) {
-        undoStack.push(editor.save());
-        redoStack.clear(); // clear redo history when new action occurs
-    }
+public class TextEditorMain {
+    public static void main(String[] args){
+        demo(new TextEditor());
 
-    public void undo(TextEditor editor) {
-        if (!undoStack.isEmpty()) {
-            redoStack.push(editor.save()); // save current state for redo
-            editor.restore(undoStack.pop());
-        }
+        // Same steps with delta mementos: each save stores only what was typed since the last one
+        System.out.println("\n--- delta mementos ---");
+        demo(new TextEditor(SnapshotMode.DELTA));
     }
 
-    public void redo(TextEditor editor) {
-        if (!redoStack.isEmpty()) {
-            undoStack.push(editor.save()); // save current state for undo
-            editor.restore(redoStack.pop());
-        }
-    }
-}
-
-public class TextEditorMain {
-    public static void main(String[] args){
-        TextEditor editor = new TextEditor();
+    private static void demo(TextEditor editor){
         Caretaker caretaker = new Caretaker();
 
         editor.type("Hello ");
@@ -0,0 +1,175 @@
+package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L01_Memento_Pattern.Good_Code;
+
+// Memento : Store the state
+// Full memento (FULL mode, and DELTA keyframes) : 'state' is a snapshot of the whole text,
+// sharing its sealed chunks with the editor and other mementos (see ChunkedText).
+// Delta memento : text of 'parent' + 'typed'. Every delta chain starts at a keyframe,
+// so rebuilding any memento costs at most one keyframe restore + TextEditor.MAX_CHAIN deltas.
+// Public, with the calls an originator needs, so p03 Text_Edtior_Momento can build on it.
+public class TextMemento{
+    private final ChunkedText.Snapshot state ;   // null for a delta
+
+    private final TextMemento parent ;    // null for a full memento
+    private final String typed ;
+    private final int length ;
+    private final TextMemento keyframe ;  // this, for a full memento
+    private final int sinceKeyframe ;     // deltas from keyframe to this
+    private final long typedSinceKeyframe ;
+
+    public TextMemento(String state){
+        this(new ChunkedText(state).snapshot()) ;
+    }
+
+    public TextMemento(ChunkedText.Snapshot state){
+        this.state = state ;
+        this.parent = null ;
+        this.typed = null ;
+        this.length = state.length() ;
+        this.keyframe = this ;
+        this.sinceKeyframe = 0 ;
+        this.typedSinceKeyframe = 0 ;
+    }
+
+    private TextMemento(TextMemento parent, String typed){
+        this.state = null ;
+        this.parent = parent ;
+        this.typed = typed ;
+        this.length = parent.length + typed.length() ;
+        this.keyframe = parent.keyframe ;
+        this.sinceKeyframe = parent.sinceKeyframe + 1 ;
+        this.typedSinceKeyframe = parent.typedSinceKeyframe + typed.length() ;
+    }
+
+    public static TextMemento delta(TextMemento parent, String typed){
+        return new TextMemento(parent, typed) ;
+    }
+
+    // O(document): the chunks are joined into one String
+    public String getState(){
+        if(state != null){
+            return state.toString() ;
+        }
+        ChunkedText text = new ChunkedText() ;
+        text.restore(keyframe.state) ;
+        appendTypedAfter(keyframe, text) ;
+        return text.toString() ;
+    }
+
+    // The same text as a full memento, sharing the keyframe's sealed chunks but
+    // holding no parent / keyframe link; this, if it already is one
+    TextMemento toFull(){
+        if(state != null){
+            return this ;
+        }
+        ChunkedText text = new ChunkedText() ;
+        text.restore(keyframe.state) ;
+        appendTypedAfter(keyframe, text) ;
+        return new TextMemento(text.snapshot()) ;
+    }
+
+    // the whole text, for a full memento; null for a delta
+    public ChunkedText.Snapshot snapshot(){
+        return state ;
+    }
+
+    public int length(){
+        return length ;
+    }
+
+    public TextMemento keyframe(){
+        return keyframe ;
+    }
+
+    TextMemento parent(){
+        return parent ;
+    }
+
+    // text added on top of parent; null for a full memento
+    String typed(){
+        return typed ;
+    }
+
+    public int sinceKeyframe(){
+        return sinceKeyframe ;
+    }
+
+    public long typedSinceKeyframe(){
+        return typedSinceKeyframe ;
+    }
+
+    // Closest memento both chains pass through, or null if they start at different keyframes
+    public TextMemento commonAncestor(TextMemento other){
+        if(other == null || other.keyframe != keyframe){
+            return null ;
+        }
+        TextMemento a = this ;
+        TextMemento b = other ;
+        while(a.sinceKeyframe > b.sinceKeyframe){
+            a = a.parent ;
+        }
+        while(b.sinceKeyframe > a.sinceKeyframe){
+            b = b.parent ;
+        }
+        while(a != b){
+            a = a.parent ;
+            b = b.parent ;
+        }
+        return a ;
+    }
+
+    // Appends the text typed between 'ancestor' (exclusive) and this memento, oldest first
+    public void appendTypedAfter(TextMemento ancestor, ChunkedText text){
+        for(TextMemento step : pathAfter(ancestor)){
+            text.append(step.typed) ;
+        }
+    }
+
+    private TextMemento[] pathAfter(TextMemento ancestor){
+        TextMemento[] path = new TextMemento[sinceKeyframe - ancestor.sinceKeyframe] ;
+        TextMemento m = this ;
+        for(int i = path.length - 1 ; i >= 0 ; i--){
+            path[i] = m ;
+            m = m.parent ;
+        }
+        return path ;
+    }
+
+    // Leading chars this text shares with other's, without building either text.
+    // Exact for two full mementos; a safe lower bound otherwise.
+    int commonPrefix(TextMemento other){
+        if(state != null && other.state != null){
+            return state.commonPrefix(other.state) ;
+        }
+        TextMemento common = commonAncestor(other) ;
+        if(common != null){
+            return common.length ;
+        }
+        return Math.min(keyframe.state.commonPrefix(other.keyframe.state),
+                Math.min(keyframe.length, other.keyframe.length)) ;
+    }
+
+    // This memento's text from 'offset' to the end
+    String textFrom(int offset){
+        if(state != null){
+            return state.substring(offset) ;
+        }
+        StringBuilder sb = new StringBuilder(length - offset) ;
+        if(offset < keyframe.length){
+            sb.append(keyframe.state.substring(offset)) ;
+        }
+        int at = keyframe.length ;
+        for(TextMemento step : pathAfter(keyframe)){
+            int end = at + step.typed.length() ;
+            if(end > offset){
+                sb.append(step.typed, Math.max(0, offset - at), step.typed.length()) ;
+            }
+            at = end ;
+        }
+        return sb.toString() ;
+    }
+
+    // Rough heap size of what this memento holds itself (not its parent / keyframe)
+    long footprintBytes(){
+        return 48 + (state != null ? state.ownBytes() : 40 + typed.length()) ;
+    }
+}
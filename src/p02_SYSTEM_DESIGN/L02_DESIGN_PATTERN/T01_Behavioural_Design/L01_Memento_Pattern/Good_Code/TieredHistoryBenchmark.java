@@ -0,0 +1,85 @@
+package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L01_Memento_Pattern.Good_Code;
+
+import java.util.Random;
+
+/*
+ * Long editing session through Caretaker, in-memory vs tiered (spill-to-disk) history:
+ *  - SAVES saves on a DOCUMENT_CHARS document, a short edit before each
+ *  - heap held by the history (used heap after GC, minus the editor)
+ *  - then undo all the way back, checking the text at every step
+ * The tiered Caretaker keeps ON_HEAP mementos per stack on the heap; its stats() line
+ * shows spill and reload latency.
+ */
+public class TieredHistoryBenchmark {
+
+    private static final int DOCUMENT_CHARS = 64 * 1024;
+    private static final int SAVES = 5_000;
+    private static final int ON_HEAP = 128;
+
+    public static void main(String[] args){
+        String document = generate(DOCUMENT_CHARS);
+
+        for(SnapshotMode mode : SnapshotMode.values()){
+            run(mode, document, "in-memory", new Caretaker(Integer.MAX_VALUE, Long.MAX_VALUE));
+            run(mode, document, "tiered", new Caretaker(ON_HEAP, 16L * 1024 * 1024));
+        }
+    }
+
+    private static void run(SnapshotMode mode, String document, String label, Caretaker caretaker){
+        long baseHeap = usedHeap();
+
+        TextEditor editor = new TextEditor(mode);
+        editor.type(document);
+
+        long editorHeap = usedHeap() - baseHeap;
+
+        long t0 = System.nanoTime();
+        for(int i = 0; i < SAVES; i++){
+            editor.type(" edit-" + i + ";");
+            caretaker.saveState(editor);
+        }
+        long t1 = System.nanoTime();
+
+        long historyHeap = usedHeap() - baseHeap - editorHeap;
+
+        // the first undo lands on the last save (see NOTE in TextEditorMain), then one save back per undo
+        long t2 = System.nanoTime();
+        for(int i = SAVES - 1; i >= 0; i--){
+            caretaker.undo(editor);
+            if(!editor.getText().endsWith(" edit-" + i + ";")){
+                throw new IllegalStateException(label + " " + mode + ": wrong text after undo to save " + i);
+            }
+        }
+        long t3 = System.nanoTime();
+
+        System.out.printf("%-5s %-9s  history heap %,12d B   save %,7.0f ns   undo %,9.0f ns%n",
+                mode, label, historyHeap,
+                (double) (t1 - t0) / SAVES, (double) (t3 - t2) / SAVES);
+        if(label.equals("tiered")){
+            System.out.println("      " + caretaker.stats().replace("\n", "\n      "));
+        }
+
+        caretaker.close();
+    }
+
+    private static long usedHeap(){
+        Runtime runtime = Runtime.getRuntime();
+        for(int i = 0; i < 3; i++){
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String generate(int chars){
+        StringBuilder sb = new StringBuilder(chars);
+        Random random = new Random(1);
+        while(sb.length() < chars){
+            sb.append((char) ('a' + random.nextInt(26)));
+            if(random.nextInt(7) == 0){
+                sb.append(' ');
+            }
+        }
+        sb.setLength(chars);
+        return sb.toString();
+    }
+}
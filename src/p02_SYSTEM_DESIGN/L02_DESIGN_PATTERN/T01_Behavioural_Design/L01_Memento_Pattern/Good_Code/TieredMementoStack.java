@@ -0,0 +1,390 @@
+package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L01_Memento_Pattern.Good_Code;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.ByteArrayInputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/*
+ Caretaker's undo / redo stack, in two tiers:
+
+ hot   : the newest mementos, on the heap (at most maxOnHeap of them, and about maxOnHeapBytes)
+ spill : older mementos, written in segments of SEGMENT_SIZE to a deflate-compressed file
+         that is read and written through memory maps
+
+ The file is used like a stack too: segments are appended at the end, and when undo
+ empties the hot tier the last segment is mapped, inflated back into mementos and the
+ file end moves back to where it started. So a long session costs disk, not heap, and
+ only undoing far back pays for a reload.
+
+ Inside a segment the first memento is stored as its full text and every other one as
+ "the first N chars of the previous memento's text + this suffix". The editor only
+ appends, so that covers both stacks cheaply: undo mementos grow (N = previous length),
+ redo mementos shrink (empty suffix). On reload a memento that only appends to the
+ previous one becomes a delta on top of it, anything else a full memento.
+
+ A delta left on the heap must not reach a spilled memento through its parent / keyframe
+ links, or spilling would free nothing while onHeapBytes() looked small. So after a spill
+ the hot tier is re-based: a delta whose parent is no longer on the heap becomes a full
+ memento, and the deltas on top of it are rebuilt onto that one. The editor's next save
+ is a delta on the memento it pushed last, so push() rebuilds that onto the replacement too.
+ The editor's own head may still hold the old chain until its next keyframe; restore()
+ copes with either.
+*/
+class TieredMementoStack implements AutoCloseable {
+
+    static final int DEFAULT_MAX_ON_HEAP = 256 ;
+    static final long DEFAULT_MAX_ON_HEAP_BYTES = 64L * 1024 * 1024 ;
+    static final int SEGMENT_SIZE = 64 ;
+
+    // where one spilled segment lives in the file
+    private static final class Segment {
+        final long offset ;
+        final int compressedBytes ;
+        final int count ;
+        final long rawBytes ;
+
+        Segment(long offset, int compressedBytes, int count, long rawBytes){
+            this.offset = offset ;
+            this.compressedBytes = compressedBytes ;
+            this.count = count ;
+            this.rawBytes = rawBytes ;
+        }
+    }
+
+    private final int maxOnHeap ;
+    private final long maxOnHeapBytes ;
+    private final String name ;
+
+    private final ArrayDeque<TextMemento> hot = new ArrayDeque<>() ;   // last = top of the stack
+    private long hotBytes ;
+    // the memento last passed to push() and what the stack holds for it (differs once re-based)
+    private TextMemento lastPushed ;
+    private TextMemento lastStored ;
+    private final ArrayDeque<Segment> spilled = new ArrayDeque<>() ;   // last = newest segment
+    private int spilledCount ;
+
+    private Path file ;            // created on the first spill
+    private FileChannel channel ;
+    private long fileEnd ;
+
+    // metrics
+    private long spills ;
+    private long spillNanos ;
+    private long maxSpillNanos ;
+    private long spilledRawBytes ;
+    private long spilledCompressedBytes ;
+    private long reloads ;
+    private long reloadNanos ;
+    private long maxReloadNanos ;
+
+    TieredMementoStack(String name){
+        this(name, DEFAULT_MAX_ON_HEAP, DEFAULT_MAX_ON_HEAP_BYTES) ;
+    }
+
+    TieredMementoStack(String name, int maxOnHeap, long maxOnHeapBytes){
+        if(maxOnHeap < 1 || maxOnHeapBytes < 1){
+            throw new IllegalArgumentException("on-heap budget must be positive") ;
+        }
+        this.name = name ;
+        this.maxOnHeap = maxOnHeap ;
+        this.maxOnHeapBytes = maxOnHeapBytes ;
+    }
+
+    void push(TextMemento memento){
+        TextMemento stored = memento ;
+        if(lastPushed != lastStored && memento.parent() == lastPushed && memento.parent() != null){
+            stored = TextMemento.delta(lastStored, memento.typed()) ;
+        }
+        lastPushed = memento ;
+        lastStored = stored ;
+
+        hot.addLast(stored) ;
+        hotBytes += stored.footprintBytes() ;
+
+        // always keep the top memento on the heap
+        while(hot.size() > 1 && (hot.size() > maxOnHeap || hotBytes > maxOnHeapBytes)){
+            spillOldest() ;
+        }
+    }
+
+    TextMemento pop(){
+        if(hot.isEmpty() && !spilled.isEmpty()){
+            reloadNewestSegment() ;
+        }
+        lastPushed = lastStored = null ; // the caller restores the popped one: the next save builds on it
+        TextMemento memento = hot.pollLast() ;
+        if(memento != null){
+            hotBytes -= memento.footprintBytes() ;
+        }
+        return memento ;
+    }
+
+    boolean isEmpty(){
+        return hot.isEmpty() && spilled.isEmpty() ;
+    }
+
+    int size(){
+        return hot.size() + spilledCount ;
+    }
+
+    void clear(){
+        lastPushed = lastStored = null ;
+        hot.clear() ;
+        hotBytes = 0 ;
+        spilled.clear() ;
+        spilledCount = 0 ;
+        fileEnd = 0 ;
+        truncate() ;
+    }
+
+    /*
+     ---------- spill / reload ----------
+     */
+
+    private void spillOldest(){
+        long start = System.nanoTime() ;
+
+        int count = Math.min(SEGMENT_SIZE, hot.size() - 1) ;
+        TextMemento[] batch = new TextMemento[count] ;
+        for(int i = 0 ; i < count ; i++){
+            batch[i] = hot.pollFirst() ;
+            hotBytes -= batch[i].footprintBytes() ;
+        }
+
+        try {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream() ;
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED) ;
+            long raw ;
+            try(DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(compressed, deflater))){
+                raw = writeSegment(batch, out) ;
+            } finally {
+                deflater.end() ;
+            }
+
+            byte[] bytes = compressed.toByteArray() ;
+            FileChannel ch = channel() ;
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_WRITE, fileEnd, bytes.length) ;
+            map.put(bytes) ;
+
+            spilled.addLast(new Segment(fileEnd, bytes.length, count, raw)) ;
+            spilledCount += count ;
+            fileEnd += bytes.length ;
+            spilledRawBytes += raw ;
+            spilledCompressedBytes += bytes.length ;
+        } catch(IOException e){
+            throw new UncheckedIOException("could not spill " + name + " history", e) ;
+        }
+
+        rebaseHot() ;
+
+        long took = System.nanoTime() - start ;
+        spills++ ;
+        spillNanos += took ;
+        maxSpillNanos = Math.max(maxSpillNanos, took) ;
+    }
+
+    // Walks the hot tier oldest first, so a parent is always settled before its deltas
+    private void rebaseHot(){
+        Set<TextMemento> onHeap = Collections.newSetFromMap(new IdentityHashMap<>()) ;
+        Map<TextMemento, TextMemento> rebased = new IdentityHashMap<>() ;
+
+        for(TextMemento m : hot){
+            if(m.snapshot() != null || onHeap.contains(m.parent())){
+                onHeap.add(m) ;
+                continue ;
+            }
+            TextMemento parent = rebased.get(m.parent()) ;
+            TextMemento r = parent != null ? TextMemento.delta(parent, m.typed()) : m.toFull() ;
+            rebased.put(m, r) ;
+            hotBytes += r.footprintBytes() - m.footprintBytes() ;
+        }
+
+        if(rebased.isEmpty()){
+            return ;
+        }
+        lastStored = rebased.getOrDefault(lastStored, lastStored) ;
+        TextMemento[] current = hot.toArray(new TextMemento[0]) ;
+        hot.clear() ;
+        for(TextMemento m : current){
+            hot.addLast(rebased.getOrDefault(m, m)) ;
+        }
+    }
+
+    // Each record: chars kept from the previous memento's text, then the suffix.
+    // @return uncompressed bytes written
+    private static long writeSegment(TextMemento[] batch, DataOutputStream out) throws IOException {
+        out.writeInt(batch.length) ;
+
+        for(int i = 0 ; i < batch.length ; i++){
+            TextMemento m = batch[i] ;
+
+            if(i == 0){
+                out.writeInt(0) ;
+                writeText(m.getState(), out) ;
+            } else if(m.parent() == batch[i - 1]){
+                // a delta directly on top of the previous memento of the batch
+                out.writeInt(batch[i - 1].length()) ;
+                writeText(m.typed(), out) ;
+            } else {
+                // found through shared chunks / delta chains, not by comparing whole texts
+                int keep = m.commonPrefix(batch[i - 1]) ;
+                out.writeInt(keep) ;
+                writeText(m.textFrom(keep), out) ;
+            }
+        }
+        return out.size() ;
+    }
+
+    private void reloadNewestSegment(){
+        long start = System.nanoTime() ;
+
+        Segment segment = spilled.pollLast() ;
+        try {
+            MappedByteBuffer map = channel().map(FileChannel.MapMode.READ_ONLY, segment.offset, segment.compressedBytes) ;
+            byte[] raw = inflate(map, segment.rawBytes) ;
+
+            try(DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw))){
+                int count = in.readInt() ;
+                TextMemento previous = null ;
+                StringBuilder text = new StringBuilder() ;
+                for(int i = 0 ; i < count ; i++){
+                    int keep = in.readInt() ;
+                    String suffix = readText(in) ;
+                    text.setLength(keep) ;
+                    text.append(suffix) ;
+                    TextMemento m = (previous != null && keep == previous.length())
+                            ? TextMemento.delta(previous, suffix)
+                            : new TextMemento(text.toString()) ;
+                    hot.addLast(m) ;
+                    hotBytes += m.footprintBytes() ;
+                    previous = m ;
+                }
+            }
+        } catch(IOException | DataFormatException e){
+            throw new IllegalStateException("could not reload " + name + " history", e) ;
+        }
+
+        spilledCount -= segment.count ;
+        fileEnd = segment.offset ; // the file shrinks like a stack
+        truncate() ;
+
+        long took = System.nanoTime() - start ;
+        reloads++ ;
+        reloadNanos += took ;
+        maxReloadNanos = Math.max(maxReloadNanos, took) ;
+    }
+
+    private static byte[] inflate(MappedByteBuffer compressed, long rawBytes) throws DataFormatException {
+        byte[] out = new byte[(int) rawBytes] ;
+        Inflater inflater = new Inflater() ;
+        try {
+            inflater.setInput(compressed) ;
+            int n = 0 ;
+            while(n < out.length && !inflater.finished()){
+                n += inflater.inflate(out, n, out.length - n) ;
+            }
+            if(n != out.length){
+                throw new DataFormatException("segment inflated to " + n + " of " + out.length + " bytes") ;
+            }
+        } finally {
+            inflater.end() ;
+        }
+        return out ;
+    }
+
+    private static void writeText(String text, DataOutputStream out) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8) ;
+        out.writeInt(bytes.length) ;
+        out.write(bytes) ;
+    }
+
+    private static String readText(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()] ;
+        in.readFully(bytes) ;
+        return new String(bytes, StandardCharsets.UTF_8) ;
+    }
+
+    private FileChannel channel() throws IOException {
+        if(channel == null){
+            file = Files.createTempFile("memento-" + name + "-", ".spill") ;
+            file.toFile().deleteOnExit() ;
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE) ;
+        }
+        return channel ;
+    }
+
+    // give back disk space above fileEnd (best effort: a mapped region may still pin it on some OSes)
+    private void truncate(){
+        if(channel == null){
+            return ;
+        }
+        try {
+            channel.truncate(fileEnd) ;
+        } catch(IOException ignored){
+            // the space is reused by the next spill anyway
+        }
+    }
+
+    /*
+     ---------- metrics ----------
+     */
+
+    int onHeapCount(){
+        return hot.size() ;
+    }
+
+    long onHeapBytes(){
+        return hotBytes ;
+    }
+
+    int spilledCount(){
+        return spilledCount ;
+    }
+
+    long fileBytes(){
+        return fileEnd ;
+    }
+
+    String stats(){
+        return String.format(
+                "%s: %d on heap (~%,d B), %d spilled in %d segments (%,d B on disk) | spills %d avg %.2f ms max %.2f ms, %,d B -> %,d B | reloads %d avg %.2f ms max %.2f ms",
+                name, hot.size(), hotBytes, spilledCount, spilled.size(), fileEnd,
+                spills, spills == 0 ? 0 : spillNanos / 1e6 / spills, maxSpillNanos / 1e6,
+                spilledRawBytes, spilledCompressedBytes,
+                reloads, reloads == 0 ? 0 : reloadNanos / 1e6 / reloads, maxReloadNanos / 1e6) ;
+    }
+
+    @Override
+    public void close(){
+        lastPushed = lastStored = null ;
+        hot.clear() ;
+        spilled.clear() ;
+        if(channel == null){
+            return ;
+        }
+        try {
+            channel.close() ;
+            Files.deleteIfExists(file) ;
+        } catch(IOException e){
+            throw new UncheckedIOException(e) ;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L02_Observer_Pattern.Good_Code;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Concrete Subject
+// observers live in a copy-on-write ObserverRegistry : add / remove may run while a
+// publish is walking the list. Small lists are notified on the publisher's thread ;
+// from PARALLEL_THRESHOLD observers up, the walk is split into ranges of PARTITION
+// observers that run on a ForkJoinPool. setNews() returns once every observer got it.
+class NewsAgency implements Subject{
+    static final int PARALLEL_THRESHOLD = 8192 ;
+    static final int PARTITION = 4096 ;
+
+    private volatile String news ;
+    private final ObserverRegistry observers = new ObserverRegistry() ;
+    private final ForkJoinPool pool ;
+
+    public NewsAgency(){
+        this(ForkJoinPool.commonPool()) ;
+    }
+
+    public NewsAgency(ForkJoinPool pool){
+        this.pool = pool ;
+    }
+
+    public void setNews(String news){
+        this.news = news ;
+        deliver(news) ;
+    }
+
+    @Override
+    public void addObserver(Observer o){
+        observers.add(o) ;
+    }
+
+    @Override
+    public void removeObserver(Observer o){
+        observers.remove(o) ;
+    }
+
+    public int observerCount(){
+        return observers.size() ;
+    }
+
+    @Override
+    public void notifyObservers(){
+        deliver(news) ;
+    }
+
+    private void deliver(String news){
+        ObserverRegistry.Snapshot snapshot = observers.snapshot() ;
+        if(snapshot.size < PARALLEL_THRESHOLD){
+            for(int i = 0 ; i < snapshot.size ; i++){
+                snapshot.observers[i].update(news) ;
+            }
+        } else {
+            pool.invoke(new FanOut(snapshot.observers, 0, snapshot.size, news)) ;
+        }
+    }
+
+    // notifies observers[from .. to), halving the range down to PARTITION
+    private static final class FanOut extends RecursiveAction {
+        private static final long serialVersionUID = 1L ;
+
+        private final Observer[] observers ;
+        private final int from ;
+        private final int to ;
+        private final String news ;
+
+        FanOut(Observer[] observers, int from, int to, String news){
+            this.observers = observers ;
+            this.from = from ;
+            this.to = to ;
+            this.news = news ;
+        }
+
+        @Override
+        protected void compute(){
+            if(to - from <= PARTITION){
+                for(int i = from ; i < to ; i++){
+                    observers[i].update(news) ;
+                }
+                return ;
+            }
+            int mid = (from + to) >>> 1 ;
+            invokeAll(new FanOut(observers, from, mid, news), new FanOut(observers, mid, to, news)) ;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L02_Observer_Pattern.Good_Code;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * setNews() fan-out to 10k / 100k / 1M observers, publish-to-last-delivery latency
+ * (setNews returns once every observer has the news):
+ *   old : ArrayList walked on the publisher's thread (the agency before ObserverRegistry)
+ *   new : NewsAgency - copy-on-write registry, ForkJoinPool fan-out
+ * Both run while a second thread keeps subscribing / unsubscribing observers. The old
+ * agency's publishes that die (ConcurrentModificationException, or a NullPointerException
+ * from the unsynchronised ArrayList) are counted; the new one must deliver every publish
+ * to every permanent observer exactly once.
+ */
+public class NewsFanOutBenchmark {
+
+    private static final int[] OBSERVERS = {10_000, 100_000, 1_000_000};
+
+    // the agency as it was before ObserverRegistry
+    private static final class ListAgency {
+        private final List<Observer> observers = new ArrayList<>();
+
+        void addObserver(Observer o){
+            observers.add(o);
+        }
+
+        void removeObserver(Observer o){
+            observers.remove(o);
+        }
+
+        void setNews(String news){
+            for(Observer o : observers){
+                o.update(news);
+            }
+        }
+    }
+
+    private static final class CountingObserver implements Observer {
+        int received;
+        int lastLength;
+
+        @Override
+        public void update(String news){
+            received++;
+            lastLength = news.length();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("ForkJoinPool parallelism " + ForkJoinPool.commonPool().getParallelism()
+                + ", " + Runtime.getRuntime().availableProcessors() + " CPU(s)");
+
+        for(int count : OBSERVERS){
+            int publishes = (int) Math.max(50, 20_000_000L / count);
+
+            runOld(count, publishes / 4, false);    // warm-up
+            runNew(count, publishes / 4, false);
+
+            System.out.printf("%,9d observers, %,5d publishes%n", count, publishes);
+            runOld(count, publishes, true);
+            runNew(count, publishes, true);
+        }
+    }
+
+    private static void runOld(int count, int publishes, boolean print) throws InterruptedException {
+        ListAgency agency = new ListAgency();
+        subscribe(count, agency::addObserver);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread churn = churn(running, agency::addObserver, agency::removeObserver);
+
+        long[] nanos = new long[publishes];
+        int failed = 0;
+        String lastError = "";
+        for(int i = 0; i < publishes; i++){
+            long t0 = System.nanoTime();
+            try {
+                agency.setNews("news " + i);
+            } catch(RuntimeException e){
+                failed++;
+                lastError = e.getClass().getSimpleName();
+            }
+            nanos[i] = System.nanoTime() - t0;
+        }
+
+        running.set(false);
+        churn.join();
+
+        if(print){
+            System.out.printf("    old  ArrayList       %s   %,d of %,d publishes threw %s%n",
+                    percentiles(nanos), failed, publishes, lastError);
+        }
+    }
+
+    private static void runNew(int count, int publishes, boolean print) throws InterruptedException {
+        NewsAgency agency = new NewsAgency();
+        CountingObserver[] permanent = subscribe(count, agency::addObserver);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread churn = churn(running, agency::addObserver, agency::removeObserver);
+
+        long[] nanos = new long[publishes];
+        for(int i = 0; i < publishes; i++){
+            long t0 = System.nanoTime();
+            agency.setNews("news " + i);
+            nanos[i] = System.nanoTime() - t0;
+        }
+
+        running.set(false);
+        churn.join();
+
+        for(CountingObserver o : permanent){
+            if(o.received != publishes){
+                throw new IllegalStateException("an observer got " + o.received + " of " + publishes + " publishes");
+            }
+        }
+        if(print){
+            System.out.printf("    new  NewsAgency      %s   every observer got all %,d%n",
+                    percentiles(nanos), publishes);
+        }
+    }
+
+    private interface Subscription {
+        void apply(Observer o);
+    }
+
+    private static CountingObserver[] subscribe(int count, Subscription add){
+        CountingObserver[] observers = new CountingObserver[count];
+        for(int i = 0; i < count; i++){
+            observers[i] = new CountingObserver();
+            add.apply(observers[i]);
+        }
+        return observers;
+    }
+
+    // adds an observer, then removes it again, until stopped
+    private static Thread churn(AtomicBoolean running, Subscription add, Subscription remove){
+        Thread thread = new Thread(() -> {
+            while(running.get()){
+                Observer o = new CountingObserver();
+                add.apply(o);
+                LockSupport.parkNanos(50_000);
+                remove.apply(o);
+                LockSupport.parkNanos(50_000);
+            }
+        }, "churn");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static String percentiles(long[] nanos){
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return String.format("p50 %,12d ns   p99 %,12d ns   p99.9 %,12d ns   max %,12d ns",
+                sorted[sorted.length / 2],
+                sorted[(int) (sorted.length * 0.99)],
+                sorted[(int) (sorted.length * 0.999)],
+                sorted[sorted.length - 1]);
+    }
+}
@@ -1,9 +1,6 @@
 package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L02_Observer_Pattern.Good_Code;
 
 
-import java.util.ArrayList;
-import java.util.List;
-
 /*
 🔹 Components of Observer Pattern
 1. Subject (Observable)
@@ -60,46 +57,6 @@ Think of YouTube 📺:
 
 
 
-// Observer Interface
-interface Observer{
-    void update(String news) ;
-}
-
-// Subject Interface
-interface Subject{
-    void addObserver(Observer o) ;
-    void removeObserver(Observer o) ;
-    void notifyObservers() ;
-}
-
-// Concrete Subject
-class NewsAgency implements Subject{
-    private String news ;
-    private List<Observer> observers = new ArrayList<>() ;
-
-    public void setNews(String news){
-        this.news = news ;
-        notifyObservers();
-    }
-
-    @Override
-    public void addObserver(Observer o){
-        observers.add(o) ;
-    }
-
-    @Override
-    public void removeObserver(Observer o){
-        observers.remove(o) ;
-    }
-
-    @Override
-    public void notifyObservers(){
-        for(Observer o : observers){
-            o.update(news) ;
-        }
-    }
-}
-
 // Concrete Observers
 class NewsChannel implements Observer{
     private String channelName ;
@@ -0,0 +1,6 @@
+package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L02_Observer_Pattern.Good_Code;
+
+// Observer Interface
+interface Observer{
+    void update(String news) ;
+}
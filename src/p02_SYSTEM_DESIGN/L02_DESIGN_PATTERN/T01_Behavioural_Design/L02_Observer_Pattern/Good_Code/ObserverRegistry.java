@@ -0,0 +1,64 @@
+package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L02_Observer_Pattern.Good_Code;
+
+/*
+ NewsAgency's subscriber list: copy-on-write, with an append fast path.
+
+ - snapshot(): one volatile read. A publisher walks that Snapshot while others add / remove,
+               it never sees a half-done change and never throws ConcurrentModificationException
+ - add     : writes into the free slot right after the current size, then publishes a
+             new Snapshot (array, size + 1). Older snapshots never read past their own size,
+             so this is safe without a copy : amortised O(1)
+ - remove  : copies the array without that observer into a fresh array, so the old one is
+             never written again : O(n), removals are rare next to publishes
+
+ Writers are serialised on the registry; readers take no lock.
+*/
+class ObserverRegistry {
+
+    // Immutable view: observers[0 .. size) never change once published
+    static final class Snapshot {
+        final Observer[] observers ;
+        final int size ;
+
+        private Snapshot(Observer[] observers, int size){
+            this.observers = observers ;
+            this.size = size ;
+        }
+    }
+
+    private volatile Snapshot current = new Snapshot(new Observer[16], 0) ;
+
+    Snapshot snapshot(){
+        return current ;
+    }
+
+    int size(){
+        return current.size ;
+    }
+
+    synchronized void add(Observer o){
+        Snapshot s = current ;
+        Observer[] observers = s.observers ;
+        if(s.size == observers.length){
+            Observer[] grown = new Observer[Math.max(16, s.size * 2)] ;
+            System.arraycopy(observers, 0, grown, 0, s.size) ;
+            observers = grown ;
+        }
+        observers[s.size] = o ;
+        current = new Snapshot(observers, s.size + 1) ;
+    }
+
+    synchronized boolean remove(Observer o){
+        Snapshot s = current ;
+        for(int i = 0 ; i < s.size ; i++){
+            if(s.observers[i].equals(o)){
+                Observer[] copy = new Observer[Math.max(16, s.size)] ;
+                System.arraycopy(s.observers, 0, copy, 0, i) ;
+                System.arraycopy(s.observers, i + 1, copy, i, s.size - i - 1) ;
+                current = new Snapshot(copy, s.size - 1) ;
+                return true ;
+            }
+        }
+        return false ;
+    }
+}
@@ -0,0 +1,8 @@
+package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L02_Observer_Pattern.Good_Code;
+
+// Subject Interface
+interface Subject{
+    void addObserver(Observer o) ;
+    void removeObserver(Observer o) ;
+    void notifyObservers() ;
+}
@@ -0,0 +1,278 @@
+package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L02_Observer_Pattern.InvestorAlertSystemExcersise;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Replays a recorded feed of TICKS price ticks over SYMBOLS symbols (mostly small moves,
+ * ~2% jumps of 1-8%) into the market. INVESTORS investors each watch SUBSCRIPTIONS_EACH
+ * random symbols with their own 1-10% threshold.
+ *   old : the StockMarket before PriceBook - HashMap<String, Double> prices, one 5% threshold
+ *         per stock, every alert goes to every registered investor
+ *   new : StockMarket - PriceBook + per-symbol subscriber lists sorted by threshold,
+ *         ticked by symbol name and by cached id, then by 1 / 2 / 4 writer threads
+ * The new market's alert count is checked against the feed replayed by hand.
+ */
+public class MarketDataBenchmark {
+
+    private static final int SYMBOLS = 10_000;
+    private static final int TICKS = 5_000_000;
+    private static final int OLD_TICKS = 500_000;
+    private static final int INVESTORS = 10_000;
+    private static final int SUBSCRIPTIONS_EACH = 3;
+
+    // the market as it was before PriceBook
+    private static final class HashMapMarket {
+        private final Map<String, Double> stockPrices = new HashMap<>();
+        private final Map<String, Double> thresholds = new HashMap<>();
+        private final List<Observer> observers = new ArrayList<>();
+
+        void registerObserver(Observer observer) {
+            observers.add(observer);
+        }
+
+        void addStock(String symbol, double price, double thresholdPercent) {
+            stockPrices.put(symbol, price);
+            thresholds.put(symbol, thresholdPercent);
+        }
+
+        void setStockPrice(String symbol, double newPrice) {
+            double oldPrice = stockPrices.get(symbol);
+            double threshold = thresholds.get(symbol);
+
+            double percentageChange = Math.abs((newPrice - oldPrice) / oldPrice) * 100;
+
+            stockPrices.put(symbol, newPrice);
+            if (percentageChange >= threshold) {
+                for (Observer observer : observers) {
+                    observer.update(symbol, oldPrice, newPrice);
+                }
+            }
+        }
+    }
+
+    private static final class CountingInvestor implements Observer {
+        private final LongAdder alerts;
+
+        CountingInvestor(LongAdder alerts) {
+            this.alerts = alerts;
+        }
+
+        @Override
+        public void update(String stockSymbol, double oldPrice, double newPrice) {
+            alerts.increment();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Random random = new Random(42);
+
+        String[] symbols = new String[SYMBOLS];
+        double[] openPrices = new double[SYMBOLS];
+        for (int s = 0; s < SYMBOLS; s++) {
+            symbols[s] = "SYM" + s;
+            openPrices[s] = 10 + random.nextInt(990);
+        }
+
+        // investor i watches watched[i][k] at threshold[i][k] percent; an investor's symbols are
+        // distinct, since subscribing to the same symbol again replaces the threshold
+        int[][] watched = new int[INVESTORS][SUBSCRIPTIONS_EACH];
+        double[][] threshold = new double[INVESTORS][SUBSCRIPTIONS_EACH];
+        for (int i = 0; i < INVESTORS; i++) {
+            for (int k = 0; k < SUBSCRIPTIONS_EACH; k++) {
+                watched[i][k] = distinctSymbol(random, watched[i], k);
+                threshold[i][k] = 1 + random.nextInt(10);
+            }
+        }
+
+        // the recorded feed
+        int[] tickSymbol = new int[TICKS];
+        double[] tickPrice = new double[TICKS];
+        double[] last = openPrices.clone();
+        for (int t = 0; t < TICKS; t++) {
+            int s = random.nextInt(SYMBOLS);
+            double move = random.nextInt(50) == 0
+                    ? (1 + random.nextDouble() * 7) / 100 * (random.nextBoolean() ? 1 : -1)
+                    : (random.nextDouble() - 0.5) * 0.006;
+            last[s] = Math.max(1, last[s] * (1 + move));
+            tickSymbol[t] = s;
+            tickPrice[t] = last[s];
+        }
+
+        long expectedAlerts = replayByHand(openPrices, watched, threshold, tickSymbol, tickPrice);
+        System.out.printf("%,d symbols, %,d investors x %d symbols, %,d ticks, %,d expected alerts%n",
+                SYMBOLS, INVESTORS, SUBSCRIPTIONS_EACH, TICKS, expectedAlerts);
+
+        for (int round = 0; round < 2; round++) {
+            boolean print = round == 1;    // first round is warm-up
+
+            runOld(symbols, openPrices, tickSymbol, tickPrice, print);
+
+            for (boolean byId : new boolean[]{false, true}) {
+                LongAdder alerts = new LongAdder();
+                StockMarket market = newMarket(symbols, openPrices, watched, threshold, alerts);
+                int[] ids = ids(market, symbols);
+
+                long t0 = System.nanoTime();
+                if (byId) {
+                    for (int t = 0; t < TICKS; t++) {
+                        market.setStockPrice(ids[tickSymbol[t]], tickPrice[t]);
+                    }
+                } else {
+                    for (int t = 0; t < TICKS; t++) {
+                        market.setStockPrice(symbols[tickSymbol[t]], tickPrice[t]);
+                    }
+                }
+                long nanos = System.nanoTime() - t0;
+
+                check(alerts, expectedAlerts);
+                if (print) {
+                    print(byId ? "new  1 writer, by id" : "new  1 writer, by name", TICKS, nanos, alerts.sum());
+                }
+            }
+
+            for (int writers : new int[]{2, 4}) {
+                LongAdder alerts = new LongAdder();
+                StockMarket market = newMarket(symbols, openPrices, watched, threshold, alerts);
+                int[] ids = ids(market, symbols);
+
+                // each writer owns the symbols with id % writers == w, so every symbol still sees its ticks in order
+                long nanos = runWriters(writers, w -> {
+                    for (int t = 0; t < TICKS; t++) {
+                        int s = tickSymbol[t];
+                        if (s % writers == w) {
+                            market.setStockPrice(ids[s], tickPrice[t]);
+                        }
+                    }
+                });
+
+                check(alerts, expectedAlerts);
+                if (print) {
+                    print("new  " + writers + " writers, by id", TICKS, nanos, alerts.sum());
+                }
+            }
+        }
+        System.out.println(Runtime.getRuntime().availableProcessors() + " CPU(s)");
+    }
+
+    private static void runOld(String[] symbols, double[] openPrices, int[] tickSymbol, double[] tickPrice, boolean print) {
+        LongAdder alerts = new LongAdder();
+        HashMapMarket market = new HashMapMarket();
+        for (int s = 0; s < SYMBOLS; s++) {
+            market.addStock(symbols[s], openPrices[s], 5.0);
+        }
+        for (int i = 0; i < INVESTORS; i++) {
+            market.registerObserver(new CountingInvestor(alerts));
+        }
+
+        long t0 = System.nanoTime();
+        for (int t = 0; t < OLD_TICKS; t++) {
+            market.setStockPrice(symbols[tickSymbol[t]], tickPrice[t]);
+        }
+        long nanos = System.nanoTime() - t0;
+
+        if (print) {
+            print("old  HashMap, everyone", OLD_TICKS, nanos, alerts.sum());
+        }
+    }
+
+    private static StockMarket newMarket(String[] symbols, double[] openPrices,
+                                         int[][] watched, double[][] threshold, LongAdder alerts) {
+        StockMarket market = new StockMarket(SYMBOLS);
+        for (int s = 0; s < SYMBOLS; s++) {
+            market.addStock(symbols[s], openPrices[s]);
+        }
+        for (int i = 0; i < INVESTORS; i++) {
+            Observer investor = new CountingInvestor(alerts);
+            for (int k = 0; k < SUBSCRIPTIONS_EACH; k++) {
+                market.subscribe(investor, symbols[watched[i][k]], threshold[i][k]);
+            }
+        }
+        return market;
+    }
+
+    // a random symbol not among picked[0 .. count)
+    private static int distinctSymbol(Random random, int[] picked, int count) {
+        while (true) {
+            int s = random.nextInt(SYMBOLS);
+            boolean taken = false;
+            for (int k = 0; k < count; k++) {
+                taken |= picked[k] == s;
+            }
+            if (!taken) {
+                return s;
+            }
+        }
+    }
+
+    private static int[] ids(StockMarket market, String[] symbols) {
+        int[] ids = new int[symbols.length];
+        for (int s = 0; s < symbols.length; s++) {
+            ids[s] = market.symbolId(symbols[s]);
+        }
+        return ids;
+    }
+
+    private interface Writer {
+        void run(int w);
+    }
+
+    private static long runWriters(int writers, Writer writer) throws InterruptedException {
+        Thread[] threads = new Thread[writers];
+        for (int w = 0; w < writers; w++) {
+            int id = w;
+            threads[w] = new Thread(() -> writer.run(id), "writer-" + w);
+        }
+        long t0 = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return System.nanoTime() - t0;
+    }
+
+    // alerts the feed should raise: same arithmetic as StockMarket, without it
+    private static long replayByHand(double[] openPrices, int[][] watched, double[][] threshold,
+                                     int[] tickSymbol, double[] tickPrice) {
+        List<List<Double>> thresholds = new ArrayList<>();
+        for (int s = 0; s < SYMBOLS; s++) {
+            thresholds.add(new ArrayList<>());
+        }
+        for (int i = 0; i < INVESTORS; i++) {
+            for (int k = 0; k < SUBSCRIPTIONS_EACH; k++) {
+                thresholds.get(watched[i][k]).add(threshold[i][k]);
+            }
+        }
+
+        double[] price = openPrices.clone();
+        long alerts = 0;
+        for (int t = 0; t < TICKS; t++) {
+            int s = tickSymbol[t];
+            double change = Math.abs((tickPrice[t] - price[s]) / price[s]) * 100;
+            price[s] = tickPrice[t];
+            for (double percent : thresholds.get(s)) {
+                if (percent <= change) {
+                    alerts++;
+                }
+            }
+        }
+        return alerts;
+    }
+
+    private static void check(LongAdder alerts, long expected) {
+        if (alerts.sum() != expected) {
+            throw new IllegalStateException("market raised " + alerts.sum() + " alerts, feed says " + expected);
+        }
+    }
+
+    private static void print(String label, int ticks, long nanos, long alerts) {
+        System.out.printf("    %-24s %,12.0f ticks/s   %,6.0f ns/tick   %,13d alerts%n",
+                label, ticks * 1e9 / nanos, (double) nanos / ticks, alerts);
+    }
+}
@@ -0,0 +1,5 @@
+package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L02_Observer_Pattern.InvestorAlertSystemExcersise;
+
+interface Observer{
+    void update(String stockSymbol , double oldPrice , double newPrice)  ;
+}
@@ -0,0 +1,87 @@
+package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L02_Observer_Pattern.InvestorAlertSystemExcersise;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+ symbol -> price, open addressing with linear probing, no boxing.
+
+ - a symbol gets a fixed slot (its id) the first time it is added; symbols are never
+   removed, so a slot never moves and ids can be cached by feed handlers
+ - prices are raw double bits in an AtomicLongArray: swap() is one getAndSet, so any
+   number of writer threads can update without locks and each sees the exact old price
+ - lookups take no lock; adding a symbol (rare, usually at start-up) is synchronized and
+   writes the price before the key, so a reader that finds the key also sees its price
+
+ The capacity is fixed up front (market-data style, no resize under the writers' feet).
+*/
+class PriceBook {
+
+    private final AtomicReferenceArray<String> symbols;
+    private final AtomicLongArray prices;
+    private final int mask;
+    private final int maxSymbols;
+    private int size;
+
+    PriceBook(int maxSymbols) {
+        this.maxSymbols = maxSymbols;
+        int capacity = Integer.highestOneBit(Math.max(2, maxSymbols) * 2 - 1) << 1;   // load factor <= 0.5
+        symbols = new AtomicReferenceArray<>(capacity);
+        prices = new AtomicLongArray(capacity);
+        mask = capacity - 1;
+    }
+
+    // Slot of the symbol, adding it with 'price' if it is new
+    synchronized int add(String symbol, double price) {
+        for (int i = hash(symbol); ; i = (i + 1) & mask) {
+            String existing = symbols.get(i);
+            if (existing == null) {
+                if (size == maxSymbols) {
+                    throw new IllegalStateException("price book full: " + maxSymbols + " symbols");
+                }
+                size++;
+                prices.set(i, Double.doubleToRawLongBits(price));
+                symbols.set(i, symbol);
+                return i;
+            }
+            if (existing.equals(symbol)) {
+                return i;
+            }
+        }
+    }
+
+    // Slot of the symbol, or -1
+    int id(String symbol) {
+        for (int i = hash(symbol); ; i = (i + 1) & mask) {
+            String existing = symbols.get(i);
+            if (existing == null) {
+                return -1;
+            }
+            if (existing.equals(symbol)) {
+                return i;
+            }
+        }
+    }
+
+    String symbol(int id) {
+        return symbols.get(id);
+    }
+
+    double price(int id) {
+        return Double.longBitsToDouble(prices.get(id));
+    }
+
+    // Store the new price, return the one it replaced
+    double swap(int id, double newPrice) {
+        return Double.longBitsToDouble(prices.getAndSet(id, Double.doubleToRawLongBits(newPrice)));
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    private int hash(String symbol) {
+        int h = symbol.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,132 @@
+package p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L02_Observer_Pattern.InvestorAlertSystemExcersise;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Prices live in a PriceBook (primitive, lock-free). Each symbol has its own subscriber
+// list, sorted by the investor's threshold: a tick only walks the investors of that symbol,
+// and stops at the first one whose threshold the move does not reach.
+// Subscriber lists are copy-on-write, swapped in with compareAndSet, so ticks from any
+// number of threads never lock and (un)subscribing never blocks a tick.
+class StockMarket {
+    static final int DEFAULT_MAX_SYMBOLS = 16_384;
+
+    // one investor on one symbol
+    private static final class Subscription {
+        final Observer observer;
+        final double thresholdPercent;
+
+        Subscription(Observer observer, double thresholdPercent) {
+            this.observer = observer;
+            this.thresholdPercent = thresholdPercent;
+        }
+    }
+
+    private static final Subscription[] NONE = new Subscription[0];
+
+    private final PriceBook prices;
+    private final AtomicReferenceArray<Subscription[]> subscribers;   // by symbol id
+
+    public StockMarket() {
+        this(DEFAULT_MAX_SYMBOLS);
+    }
+
+    public StockMarket(int maxSymbols) {
+        prices = new PriceBook(maxSymbols);
+        subscribers = new AtomicReferenceArray<>(prices.capacity());
+    }
+
+    // Adds the symbol (or resets its price); returns its id for setStockPrice(int, double)
+    public int addStock(String symbol, double price) {
+        int id = prices.add(symbol, price);
+        prices.swap(id, price);
+        return id;
+    }
+
+    public int symbolId(String symbol) {
+        int id = prices.id(symbol);
+        if (id < 0) {
+            throw new IllegalArgumentException("unknown stock " + symbol);
+        }
+        return id;
+    }
+
+    public double getStockPrice(String symbol) {
+        return prices.price(symbolId(symbol));
+    }
+
+    // Notify 'observer' when 'symbol' moves by at least thresholdPercent in one tick.
+    // Subscribing again to the same symbol replaces the earlier threshold (one alert per tick).
+    public void subscribe(Observer observer, String symbol, double thresholdPercent) {
+        int id = symbolId(symbol);
+        Subscription added = new Subscription(observer, thresholdPercent);
+        Subscription[] seen;
+        Subscription[] next;
+        do {
+            seen = subscribers.get(id);
+            Subscription[] current = seen == null ? NONE : seen;
+            next = new Subscription[indexOf(current, observer) < 0 ? current.length + 1 : current.length];
+            int n = 0;
+            boolean placed = false;
+            for (Subscription s : current) {
+                if (s.observer == observer) {
+                    continue;
+                }
+                if (!placed && s.thresholdPercent > thresholdPercent) {
+                    next[n++] = added;
+                    placed = true;
+                }
+                next[n++] = s;
+            }
+            if (!placed) {
+                next[n] = added;
+            }
+        } while (!subscribers.compareAndSet(id, seen, next));
+    }
+
+    public void unsubscribe(Observer observer, String symbol) {
+        int id = symbolId(symbol);
+        Subscription[] current;
+        Subscription[] next;
+        do {
+            current = subscribers.get(id);
+            if (current == null) {
+                return;
+            }
+            int at = indexOf(current, observer);
+            if (at < 0) {
+                return;
+            }
+            next = new Subscription[current.length - 1];
+            System.arraycopy(current, 0, next, 0, at);
+            System.arraycopy(current, at + 1, next, at, next.length - at);
+        } while (!subscribers.compareAndSet(id, current, next));
+    }
+
+    private static int indexOf(Subscription[] subscriptions, Observer observer) {
+        for (int i = 0; i < subscriptions.length; i++) {
+            if (subscriptions[i].observer == observer) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public void setStockPrice(String symbol, double newPrice) {
+        setStockPrice(symbolId(symbol), newPrice);
+    }
+
+    // Feed handlers resolve symbols once with symbolId() and tick by id
+    public void setStockPrice(int id, double newPrice) {
+        double oldPrice = prices.swap(id, newPrice);
+
+        double percentageChange = Math.abs((newPrice - oldPrice) / oldPrice) * 100;
+
+        Subscription[] interested = subscribers.get(id);
+        if (interested == null) {
+            return;
+        }
+        for (int i = 0; i < interested.length && interested[i].thresholdPercent <= percentageChange; i++) {
+            interested[i].observer.update(prices.symbol(id), oldPrice, newPrice);
+        }
+    }
+}
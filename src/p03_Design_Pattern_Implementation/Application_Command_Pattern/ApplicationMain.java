@@ -11,180 +11,6 @@ package p03_Design_Pattern_Implementation.Application_Command_Pattern;
 
  */
 
-import java.util.Stack;
-
-/*
- * RECEIVER 1
- * Actual business logic for text editor
- */
-class TextEditor {
-
-    private StringBuilder content =
-            new StringBuilder();
-
-    public void write(String text) {
-
-        content.append(text);
-
-        System.out.println(
-                "Writing: " + text
-        );
-    }
-
-    public void delete(int count) {
-
-        if(count > content.length()) {
-            count = content.length();
-        }
-
-        int start =
-                content.length() - count;
-
-        content.delete(start, content.length());
-
-        System.out.println(
-                "Deleting " + count + " chars"
-        );
-    }
-
-    public String getContent() {
-        return content.toString();
-    }
-}
-
-/*
- * RECEIVER 2
- * Actual business logic for image editor
- */
-class ImageEditor {
-
-    private int currentRotation = 0;
-
-    public void rotate(int degree) {
-
-        currentRotation += degree;
-
-        System.out.println(
-                "Rotating image by "
-                        + degree
-                        + " degree"
-        );
-
-        System.out.println(
-                "Current Rotation: "
-                        + currentRotation
-        );
-    }
-}
-
-/*
- * COMMAND INTERFACE
- */
-interface Command {
-
-    void execute();
-
-    void undo();
-}
-
-/*
- * CONCRETE COMMAND 1
- * Text write operation
- */
-class WriteCommand implements Command {
-
-    private TextEditor editor;
-
-    private String text;
-
-    public WriteCommand(
-            TextEditor editor,
-            String text
-    ) {
-        this.editor = editor;
-        this.text = text;
-    }
-
-    @Override
-    public void execute() {
-
-        editor.write(text);
-    }
-
-    @Override
-    public void undo() {
-
-        editor.delete(text.length());
-    }
-}
-
-/*
- * CONCRETE COMMAND 2
- * Image rotate operation
- */
-class RotateCommand implements Command {
-
-    private ImageEditor editor;
-
-    private int degree;
-
-    public RotateCommand(
-            ImageEditor editor,
-            int degree
-    ) {
-        this.editor = editor;
-        this.degree = degree;
-    }
-
-    @Override
-    public void execute() {
-
-        editor.rotate(degree);
-    }
-
-    @Override
-    public void undo() {
-
-        editor.rotate(-degree);
-    }
-}
-
-/*
- * INVOKER
- * Executes commands and stores history
- */
-class CommandManager {
-
-    private Stack<Command> history =
-            new Stack<>();
-
-    public void executeCommand(
-            Command command
-    ) {
-
-        command.execute();
-
-        history.push(command);
-    }
-
-    public void undo() {
-
-        if(history.isEmpty()) {
-
-            System.out.println(
-                    "Nothing to undo"
-            );
-
-            return;
-        }
-
-        Command command =
-                history.pop();
-
-        command.undo();
-    }
-}
-
 /*
  * CLIENT
  */
@@ -214,15 +40,31 @@ public class ApplicationMain {
                         "Hello "
                 );
 
-        Command writeWorld =
+        Command writeWor =
                 new WriteCommand(
                         textEditor,
-                        "World"
+                        "Wor"
+                );
+
+        Command writeLd =
+                new WriteCommand(
+                        textEditor,
+                        "ld"
                 );
 
         manager.executeCommand(writeHello);
 
-        manager.executeCommand(writeWorld);
+        /*
+         * New word: start a new undo step
+         */
+        manager.seal();
+
+        /*
+         * "Wor" + "ld" are coalesced into one undo step
+         */
+        manager.executeCommand(writeWor);
+
+        manager.executeCommand(writeLd);
 
         System.out.println(
                 "Editor Content: "
@@ -239,6 +81,13 @@ public class ApplicationMain {
                         + textEditor.getContent()
         );
 
+        manager.redo();
+
+        System.out.println(
+                "After Redo: "
+                        + textEditor.getContent()
+        );
+
         /*
          * =========================
          * IMAGE EDITOR EXAMPLE
@@ -269,8 +118,12 @@ public class ApplicationMain {
         manager.executeCommand(rotate45);
 
         /*
-         * Undo last rotate
+         * Undo last rotate (90 + 45 were coalesced into one 135 degree step)
          */
         manager.undo();
+
+        System.out.println(
+                "History: " + manager
+        );
     }
 }
\ No newline at end of file
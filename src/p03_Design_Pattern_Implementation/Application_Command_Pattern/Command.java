@@ -0,0 +1,25 @@
+package p03_Design_Pattern_Implementation.Application_Command_Pattern;
+
+/*
+ * COMMAND INTERFACE
+ */
+interface Command {
+
+    void execute();
+
+    void undo();
+
+    /*
+     * Coalescing: called by CommandManager with the command executed right
+     * after this one. Return one command whose undo() undoes both,
+     * or null if the two should stay separate entries.
+     */
+    default Command mergeWith(Command next) {
+        return null;
+    }
+
+    // Rough heap size of this command, for CommandManager's memory budget
+    default long footprintBytes() {
+        return 16;
+    }
+}
@@ -0,0 +1,113 @@
+package p03_Design_Pattern_Implementation.Application_Command_Pattern;
+
+import java.util.Stack;
+
+/*
+ * History memory over a long editing session:
+ * 1M keystrokes (a word = 6 keystrokes, then the cursor "moves") plus an image
+ * rotated by two 5 degree nudges every 50 keystrokes.
+ *   old : every command kept on an unbounded java.util.Stack
+ *   new : CommandManager - coalesced words / rotations, ring buffer, 4 MB budget
+ * Heap is measured as the growth in used memory after GC while the history is alive.
+ */
+public class CommandHistoryBenchmark {
+
+    private static final int KEYSTROKES = 1_000_000;
+
+    public static void main(String[] args) {
+
+        for(int round = 0; round < 2; round++) {
+
+            boolean print = round == 1;        // first round is warm-up
+
+            long before = usedHeap();
+            long t0 = System.nanoTime();
+            Stack<Command> old = runOld();
+            long t1 = System.nanoTime();
+            long oldHeap = usedHeap() - before;
+
+            if(print) {
+                System.out.printf(
+                        "old  Stack          %,9d commands   heap %,12d bytes   %5.0f ns/keystroke%n",
+                        old.size(), oldHeap, (double) (t1 - t0) / KEYSTROKES
+                );
+            }
+
+            old = null;
+
+            before = usedHeap();
+            t0 = System.nanoTime();
+            CommandManager manager = runNew();
+            t1 = System.nanoTime();
+            long newHeap = usedHeap() - before;
+
+            if(print) {
+                System.out.printf(
+                        "new  CommandManager %,9d commands   heap %,12d bytes   %5.0f ns/keystroke%n",
+                        manager.historySize(), newHeap, (double) (t1 - t0) / KEYSTROKES
+                );
+                System.out.println(
+                        "     " + manager
+                );
+            }
+        }
+    }
+
+    private static Stack<Command> runOld() {
+
+        TextEditor text = new TextEditor("", false);
+        ImageEditor image = new ImageEditor(false);
+        Stack<Command> history = new Stack<>();
+
+        for(int i = 0; i < KEYSTROKES; i++) {
+
+            Command command = new WriteCommand(text, "k");
+            command.execute();
+            history.push(command);
+
+            if(i % 50 == 49) {
+                for(int r = 0; r < 2; r++) {
+                    Command rotate = new RotateCommand(image, 5);
+                    rotate.execute();
+                    history.push(rotate);
+                }
+            }
+        }
+
+        return history;
+    }
+
+    private static CommandManager runNew() {
+
+        TextEditor text = new TextEditor("", false);
+        ImageEditor image = new ImageEditor(false);
+        CommandManager manager = new CommandManager();
+
+        for(int i = 0; i < KEYSTROKES; i++) {
+
+            manager.executeCommand(new WriteCommand(text, "k"));
+
+            if(i % 6 == 5) {
+                manager.seal();
+            }
+
+            if(i % 50 == 49) {
+                manager.executeCommand(new RotateCommand(image, 5));
+                manager.executeCommand(new RotateCommand(image, 5));
+            }
+        }
+
+        return manager;
+    }
+
+    private static long usedHeap() {
+
+        Runtime runtime = Runtime.getRuntime();
+
+        for(int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,237 @@
+package p03_Design_Pattern_Implementation.Application_Command_Pattern;
+
+import java.util.ArrayDeque;
+
+/*
+ * INVOKER
+ * Executes commands and stores history
+ *
+ * History is a ring buffer bounded by a command count and a memory budget:
+ * when either is exceeded the oldest commands are dropped (they can no longer be undone).
+ * Consecutive commands are coalesced through Command.mergeWith, until the history is
+ * sealed (after undo/redo, or explicitly via seal() - e.g. when the cursor moves).
+ * Undone commands go to a redo stack, which any new command clears.
+ */
+class CommandManager {
+
+    static final int DEFAULT_MAX_COMMANDS = 10_000;
+
+    static final long DEFAULT_MAX_BYTES = 4L * 1024 * 1024;
+
+    private final Command[] history;
+
+    private int oldest;            // ring index of the oldest command
+
+    private int size;
+
+    private long historyBytes;
+
+    private final long maxBytes;
+
+    private final ArrayDeque<Command> redo =
+            new ArrayDeque<>();
+
+    private long redoBytes;
+
+    private boolean sealed = true;
+
+    private long merged;
+
+    private long evicted;
+
+    public CommandManager() {
+        this(DEFAULT_MAX_COMMANDS, DEFAULT_MAX_BYTES);
+    }
+
+    public CommandManager(
+            int maxCommands,
+            long maxBytes
+    ) {
+
+        if(maxCommands <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException(
+                    "history limits must be positive"
+            );
+        }
+
+        this.history = new Command[maxCommands];
+        this.maxBytes = maxBytes;
+    }
+
+    public void executeCommand(
+            Command command
+    ) {
+
+        command.execute();
+
+        clearRedo();
+
+        if(!sealed && size > 0) {
+
+            Command top = history[index(size - 1)];
+            long before = top.footprintBytes();
+            Command combined = top.mergeWith(command);
+
+            if(combined != null) {
+
+                history[index(size - 1)] = combined;
+                historyBytes += combined.footprintBytes() - before;
+                merged++;
+                enforceBudget();
+                return;
+            }
+        }
+
+        compactTop();
+        push(command);
+        sealed = false;
+    }
+
+    public void undo() {
+
+        if(size == 0) {
+
+            System.out.println(
+                    "Nothing to undo"
+            );
+
+            return;
+        }
+
+        compactTop();
+
+        Command command = pop();
+
+        command.undo();
+
+        redo.push(command);
+        redoBytes += command.footprintBytes();
+        sealed = true;
+    }
+
+    public void redo() {
+
+        if(redo.isEmpty()) {
+
+            System.out.println(
+                    "Nothing to redo"
+            );
+
+            return;
+        }
+
+        Command command =
+                redo.pop();
+
+        redoBytes -= command.footprintBytes();
+
+        command.execute();
+
+        push(command);
+        sealed = true;
+    }
+
+    // Ends coalescing: the next command starts a new undo step
+    public void seal() {
+
+        compactTop();
+        sealed = true;
+    }
+
+    /*
+     * ---------- metrics ----------
+     */
+
+    public int historySize() {
+        return size;
+    }
+
+    public int redoSize() {
+        return redo.size();
+    }
+
+    // estimated bytes held by undo + redo entries
+    public long footprintBytes() {
+        return historyBytes + redoBytes;
+    }
+
+    public long mergedCount() {
+        return merged;
+    }
+
+    public long evictedCount() {
+        return evicted;
+    }
+
+    @Override
+    public String toString() {
+        return "history=" + size + "/" + history.length
+                + " redo=" + redo.size()
+                + " bytes=" + footprintBytes() + "/" + maxBytes
+                + " merged=" + merged
+                + " evicted=" + evicted;
+    }
+
+    /*
+     * ---------- ring buffer ----------
+     */
+
+    private int index(int i) {
+        return (oldest + i) % history.length;
+    }
+
+    private void push(Command command) {
+
+        if(size == history.length) {
+            evictOldest();
+        }
+
+        history[index(size)] = command;
+        size++;
+        historyBytes += command.footprintBytes();
+        enforceBudget();
+    }
+
+    private Command pop() {
+
+        size--;
+        Command command = history[index(size)];
+        history[index(size)] = null;
+        historyBytes -= command.footprintBytes();
+        return command;
+    }
+
+    // keeps the newest command even if it alone is over budget
+    private void enforceBudget() {
+
+        while(historyBytes + redoBytes > maxBytes && size > 1) {
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+
+        historyBytes -= history[oldest].footprintBytes();
+        history[oldest] = null;
+        oldest = (oldest + 1) % history.length;
+        size--;
+        evicted++;
+    }
+
+    private void compactTop() {
+
+        if(size > 0 && history[index(size - 1)] instanceof WriteCommand) {
+
+            WriteCommand top = (WriteCommand) history[index(size - 1)];
+            long before = top.footprintBytes();
+            top.trim();
+            historyBytes += top.footprintBytes() - before;
+        }
+    }
+
+    private void clearRedo() {
+
+        redo.clear();
+        redoBytes = 0;
+    }
+}
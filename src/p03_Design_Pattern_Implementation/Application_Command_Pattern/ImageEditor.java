@@ -0,0 +1,41 @@
+package p03_Design_Pattern_Implementation.Application_Command_Pattern;
+
+/*
+ * RECEIVER 2
+ * Actual business logic for image editor
+ */
+class ImageEditor {
+
+    private int currentRotation = 0;
+
+    private final boolean echo;
+
+    public ImageEditor() {
+        this(true);
+    }
+
+    // echo: print every rotation
+    public ImageEditor(boolean echo) {
+        this.echo = echo;
+    }
+
+    public void rotate(int degree) {
+
+        currentRotation += degree;
+
+        if(!echo) {
+            return;
+        }
+
+        System.out.println(
+                "Rotating image by "
+                        + degree
+                        + " degree"
+        );
+
+        System.out.println(
+                "Current Rotation: "
+                        + currentRotation
+        );
+    }
+}
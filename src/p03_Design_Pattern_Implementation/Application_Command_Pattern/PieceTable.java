@@ -0,0 +1,302 @@
+package p03_Design_Pattern_Implementation.Application_Command_Pattern;
+
+import java.util.SplittableRandom;
+
+/*
+ * DOCUMENT MODEL for TextEditor
+ *
+ * Piece table: the text is never moved, only described.
+ *   - original : the text the document was opened with (never changed)
+ *   - added    : every inserted character, appended once (never changed after)
+ *   - pieces   : "chars [start, start+length) of original/added", in document order
+ *
+ * Pieces are kept in a treap (randomly balanced binary tree) ordered by position,
+ * every node knowing the length of its subtree, so
+ *   insert(offset, text) / delete(offset, count) / charAt(i)   are O(log pieces)
+ * no matter where in a multi-megabyte document the edit happens.
+ *
+ * The table itself is the CharSequence view of the content: reading it copies nothing.
+ * Typing at the same place extends the last piece instead of adding a new one.
+ */
+class PieceTable implements CharSequence {
+
+    private static final class Piece {
+
+        final CharSequence source;     // original or added
+        final int start;
+        int length;
+
+        final int priority;            // treap heap order
+        int size;                      // chars in this subtree
+        Piece left;
+        Piece right;
+
+        Piece(CharSequence source, int start, int length, int priority) {
+            this.source = source;
+            this.start = start;
+            this.length = length;
+            this.priority = priority;
+            this.size = length;
+        }
+    }
+
+    private final CharSequence original;
+    private final StringBuilder added = new StringBuilder();
+    private final SplittableRandom random = new SplittableRandom(0x5eed);
+
+    private Piece root;
+    private int pieceCount;
+
+    // charAt cache: sequential reads stay inside one piece without walking the tree
+    private Piece cached;
+    private int cachedStart;
+
+    PieceTable() {
+        this("");
+    }
+
+    PieceTable(CharSequence original) {
+        this.original = original.toString();
+        if(original.length() > 0) {
+            root = newPiece(this.original, 0, original.length());
+        }
+    }
+
+    @Override
+    public int length() {
+        return size(root);
+    }
+
+    int pieceCount() {
+        return pieceCount;
+    }
+
+    public void insert(int offset, CharSequence text) {
+
+        checkOffset(offset);
+        int n = text.length();
+        if(n == 0) {
+            return;
+        }
+
+        int addStart = added.length();
+        added.append(text);
+        cached = null;
+
+        Piece[] parts = split(root, offset);
+        Piece before = parts[0];
+
+        // typing: the piece just before the cursor ends where the new text starts in 'added'
+        Piece last = rightmost(before);
+        if(last != null && last.source == added && last.start + last.length == addStart) {
+            growRightSpine(before, n);
+            root = merge(before, parts[1]);
+            return;
+        }
+
+        root = merge(merge(before, newPiece(added, addStart, n)), parts[1]);
+    }
+
+    public void delete(int offset, int count) {
+
+        checkOffset(offset);
+        if(count < 0 || offset + count > length()) {
+            throw new IndexOutOfBoundsException(
+                    "delete " + count + " at " + offset + " of " + length()
+            );
+        }
+        if(count == 0) {
+            return;
+        }
+
+        cached = null;
+
+        Piece[] head = split(root, offset);
+        Piece[] tail = split(head[1], count);
+
+        pieceCount -= countPieces(tail[0]);
+        root = merge(head[0], tail[1]);
+    }
+
+    @Override
+    public char charAt(int index) {
+
+        if(index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException("index " + index + " of " + length());
+        }
+
+        Piece c = cached;
+        if(c != null && index >= cachedStart && index < cachedStart + c.length) {
+            return c.source.charAt(c.start + index - cachedStart);
+        }
+
+        Piece node = root;
+        int base = 0;
+        while(true) {
+            int leftSize = size(node.left);
+            if(index < base + leftSize) {
+                node = node.left;
+            } else if(index < base + leftSize + node.length) {
+                cached = node;
+                cachedStart = base + leftSize;
+                return node.source.charAt(node.start + index - cachedStart);
+            } else {
+                base += leftSize + node.length;
+                node = node.right;
+            }
+        }
+    }
+
+    // Copies only the requested range
+    @Override
+    public CharSequence subSequence(int start, int end) {
+
+        if(start < 0 || end > length() || start > end) {
+            throw new IndexOutOfBoundsException(
+                    "range [" + start + ", " + end + ") of " + length()
+            );
+        }
+
+        StringBuilder out = new StringBuilder(end - start);
+        appendRange(root, 0, start, end, out);
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder out = new StringBuilder(length());
+        appendRange(root, 0, 0, length(), out);
+        return out.toString();
+    }
+
+    /*
+     * ---------- treap internals ----------
+     */
+
+    private Piece newPiece(CharSequence source, int start, int length) {
+        return newPiece(source, start, length, random.nextInt());
+    }
+
+    private Piece newPiece(CharSequence source, int start, int length, int priority) {
+        pieceCount++;
+        return new Piece(source, start, length, priority);
+    }
+
+    private static int size(Piece p) {
+        return p == null ? 0 : p.size;
+    }
+
+    private static void update(Piece p) {
+        p.size = size(p.left) + p.length + size(p.right);
+    }
+
+    // [0] = first 'offset' chars, [1] = the rest; a piece straddling the cut is split in two
+    private Piece[] split(Piece node, int offset) {
+
+        if(node == null) {
+            return new Piece[]{null, null};
+        }
+
+        int leftSize = size(node.left);
+
+        if(offset <= leftSize) {
+            Piece[] parts = split(node.left, offset);
+            node.left = parts[1];
+            update(node);
+            parts[1] = node;
+            return parts;
+        }
+
+        if(offset >= leftSize + node.length) {
+            Piece[] parts = split(node.right, offset - leftSize - node.length);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        }
+
+        // cut falls inside this piece: it keeps the head, a new piece takes the tail.
+        // The tail becomes the parent of node.right, so it takes node's priority:
+        // a fresh random one could be lower than its new child's and break the heap order.
+        int keep = offset - leftSize;
+        Piece tail = newPiece(node.source, node.start + keep, node.length - keep, node.priority);
+        tail.right = node.right;
+        update(tail);
+
+        node.length = keep;
+        node.right = null;
+        update(node);
+
+        return new Piece[]{node, tail};
+    }
+
+    // every char of 'a' comes before every char of 'b'
+    private static Piece merge(Piece a, Piece b) {
+
+        if(a == null) {
+            return b;
+        }
+        if(b == null) {
+            return a;
+        }
+
+        if(a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private static Piece rightmost(Piece p) {
+        if(p == null) {
+            return null;
+        }
+        while(p.right != null) {
+            p = p.right;
+        }
+        return p;
+    }
+
+    private static void growRightSpine(Piece p, int n) {
+        while(p.right != null) {
+            p.size += n;
+            p = p.right;
+        }
+        p.length += n;
+        p.size += n;
+    }
+
+    private static int countPieces(Piece p) {
+        return p == null ? 0 : 1 + countPieces(p.left) + countPieces(p.right);
+    }
+
+    // in-order walk that skips subtrees outside [from, to)
+    private static void appendRange(Piece node, int base, int from, int to, StringBuilder out) {
+
+        if(node == null || from >= to || base >= to || base + node.size <= from) {
+            return;
+        }
+
+        appendRange(node.left, base, from, to, out);
+
+        int pieceStart = base + size(node.left);
+        int lo = Math.max(from, pieceStart);
+        int hi = Math.min(to, pieceStart + node.length);
+        if(lo < hi) {
+            out.append(node.source, node.start + lo - pieceStart, node.start + hi - pieceStart);
+        }
+
+        appendRange(node.right, pieceStart + node.length, from, to, out);
+    }
+
+    private void checkOffset(int offset) {
+        if(offset < 0 || offset > length()) {
+            throw new IndexOutOfBoundsException("offset " + offset + " of " + length());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package p03_Design_Pattern_Implementation.Application_Command_Pattern;
+
+/*
+ * CONCRETE COMMAND 2
+ * Image rotate operation
+ */
+class RotateCommand implements Command {
+
+    private ImageEditor editor;
+
+    private int degree;
+
+    public RotateCommand(
+            ImageEditor editor,
+            int degree
+    ) {
+        this.editor = editor;
+        this.degree = degree;
+    }
+
+    @Override
+    public void execute() {
+
+        editor.rotate(degree);
+    }
+
+    @Override
+    public void undo() {
+
+        editor.rotate(-degree);
+    }
+
+    // Consecutive rotations of the same image become one net rotation
+    @Override
+    public Command mergeWith(Command next) {
+
+        if(!(next instanceof RotateCommand)) {
+            return null;
+        }
+
+        RotateCommand other = (RotateCommand) next;
+
+        if(other.editor != editor) {
+            return null;
+        }
+
+        return new RotateCommand(editor, degree + other.degree);
+    }
+
+    @Override
+    public long footprintBytes() {
+        return 24;
+    }
+}
@@ -0,0 +1,95 @@
+package p03_Design_Pattern_Implementation.Application_Command_Pattern;
+
+/*
+ * RECEIVER 1
+ * Actual business logic for text editor
+ * Content lives in a PieceTable, so edits anywhere in a large
+ * document cost O(log n) and reading it needs no copy.
+ */
+class TextEditor {
+
+    private final PieceTable content;
+
+    private final boolean echo;
+
+    public TextEditor() {
+        this("", true);
+    }
+
+    /*
+     * initial : text of the opened file
+     * echo    : print every edit (off for large documents / benchmarks)
+     */
+    public TextEditor(CharSequence initial, boolean echo) {
+        this.content = new PieceTable(initial);
+        this.echo = echo;
+    }
+
+    public void write(String text) {
+
+        content.insert(content.length(), text);
+
+        if(echo) {
+            System.out.println(
+                    "Writing: " + text
+            );
+        }
+    }
+
+    public void delete(int count) {
+
+        if(count > content.length()) {
+            count = content.length();
+        }
+
+        int start =
+                content.length() - count;
+
+        content.delete(start, count);
+
+        if(echo) {
+            System.out.println(
+                    "Deleting " + count + " chars"
+            );
+        }
+    }
+
+    public void insert(int offset, String text) {
+
+        content.insert(offset, text);
+
+        if(echo) {
+            System.out.println(
+                    "Inserting at " + offset + ": " + text
+            );
+        }
+    }
+
+    public void delete(int offset, int count) {
+
+        content.delete(offset, count);
+
+        if(echo) {
+            System.out.println(
+                    "Deleting " + count + " chars at " + offset
+            );
+        }
+    }
+
+    /*
+     * Live, read-only view of the document (no copy).
+     * Reflects later edits; call getContent() for a snapshot.
+     */
+    public CharSequence content() {
+        return content;
+    }
+
+    public int length() {
+        return content.length();
+    }
+
+    // Copies the whole document into a new String
+    public String getContent() {
+        return content.toString();
+    }
+}
@@ -0,0 +1,177 @@
+package p03_Design_Pattern_Implementation.Application_Command_Pattern;
+
+import java.util.Random;
+
+/*
+ * Edits on multi-megabyte documents:
+ *   - random inserts / deletes anywhere in the file:  StringBuilder  vs  TextEditor (PieceTable)
+ *   - reading one char: getContent() copy vs the content() view
+ *   - typing through WriteCommand + CommandManager (one undo step per word), then undoing all of it
+ * Every run checks the PieceTable text against the StringBuilder one.
+ */
+public class TextEditorBenchmark {
+
+    private static final int EDITS = 10_000;
+
+    private static final int KEYSTROKES = 200_000;
+
+    public static void main(String[] args) {
+
+        for(int megabytes : new int[]{4, 16}) {
+
+            String file = generate(megabytes * 1024 * 1024);
+
+            System.out.println(
+                    "===== " + megabytes + " MB document ====="
+            );
+
+            randomEdits(file, true);              // warm-up
+            randomEdits(file, false);
+
+            readOneChar(file);
+
+            typingWithUndo(file);
+        }
+    }
+
+    private static void randomEdits(String file, boolean warmUp) {
+
+        int edits = warmUp ? EDITS / 10 : EDITS;
+
+        StringBuilder plain = new StringBuilder(file);
+        TextEditor editor = new TextEditor(file, false);
+
+        long sbNanos = 0;
+        long ptNanos = 0;
+
+        Random random = new Random(7);
+
+        for(int i = 0; i < edits; i++) {
+
+            int offset = random.nextInt(plain.length());
+
+            if(random.nextInt(3) == 0) {
+
+                int count = Math.min(1 + random.nextInt(20), plain.length() - offset);
+
+                long t0 = System.nanoTime();
+                plain.delete(offset, offset + count);
+                long t1 = System.nanoTime();
+                editor.delete(offset, count);
+                long t2 = System.nanoTime();
+
+                sbNanos += t1 - t0;
+                ptNanos += t2 - t1;
+
+            } else {
+
+                String text = "edit" + i;
+
+                long t0 = System.nanoTime();
+                plain.insert(offset, text);
+                long t1 = System.nanoTime();
+                editor.insert(offset, text);
+                long t2 = System.nanoTime();
+
+                sbNanos += t1 - t0;
+                ptNanos += t2 - t1;
+            }
+        }
+
+        check(plain, editor);
+
+        if(!warmUp) {
+            System.out.printf(
+                    "random edits   StringBuilder %,9.0f ns/edit   PieceTable %,6.0f ns/edit   (%d pieces)%n",
+                    (double) sbNanos / edits,
+                    (double) ptNanos / edits,
+                    ((PieceTable) editor.content()).pieceCount()
+            );
+        }
+    }
+
+    private static void readOneChar(String file) {
+
+        TextEditor editor = new TextEditor(file, false);
+        Random random = new Random(11);
+
+        for(int i = 0; i < 1_000; i++) {
+            editor.insert(random.nextInt(editor.length()), "x");
+        }
+
+        int copies = 50;
+        int views = 1_000_000;
+        int length = editor.length();
+        long sink = 0;
+
+        long t0 = System.nanoTime();
+        for(int i = 0; i < copies; i++) {
+            sink += editor.getContent().charAt(random.nextInt(length));
+        }
+        long t1 = System.nanoTime();
+        for(int i = 0; i < views; i++) {
+            sink += editor.content().charAt(random.nextInt(length));
+        }
+        long t2 = System.nanoTime();
+
+        System.out.printf(
+                "read 1 char    getContent() %,10.0f ns/read   content() %,6.0f ns/read   (%d)%n",
+                (double) (t1 - t0) / copies,
+                (double) (t2 - t1) / views,
+                sink % 10
+        );
+    }
+
+    private static void typingWithUndo(String file) {
+
+        TextEditor editor = new TextEditor(file, false);
+        CommandManager manager = new CommandManager(KEYSTROKES, Long.MAX_VALUE);
+
+        long t0 = System.nanoTime();
+        for(int i = 0; i < KEYSTROKES; i++) {
+            manager.executeCommand(new WriteCommand(editor, "k"));
+            if(i % 6 == 5) {
+                manager.seal();
+            }
+        }
+        long t1 = System.nanoTime();
+        while(manager.historySize() > 0) {
+            manager.undo();
+        }
+        long t2 = System.nanoTime();
+
+        if(editor.length() != file.length() || !editor.getContent().equals(file)) {
+            throw new IllegalStateException("undo did not restore the document");
+        }
+
+        System.out.printf(
+                "WriteCommand   execute %,6.0f ns/keystroke   undo %,6.0f ns/keystroke   (%d pieces after undo)%n",
+                (double) (t1 - t0) / KEYSTROKES,
+                (double) (t2 - t1) / KEYSTROKES,
+                ((PieceTable) editor.content()).pieceCount()
+        );
+    }
+
+    private static void check(StringBuilder expected, TextEditor editor) {
+
+        if(expected.length() != editor.length() || !expected.toString().equals(editor.getContent())) {
+            throw new IllegalStateException("PieceTable content differs from StringBuilder");
+        }
+    }
+
+    // source-code-like lines
+    private static String generate(int chars) {
+
+        StringBuilder sb = new StringBuilder(chars);
+        Random random = new Random(1);
+        int line = 0;
+
+        while(sb.length() < chars) {
+            sb.append("    int value").append(line++).append(" = ")
+                    .append(random.nextInt(1_000_000)).append(";\n");
+        }
+
+        sb.setLength(chars);
+        return sb.toString();
+    }
+}
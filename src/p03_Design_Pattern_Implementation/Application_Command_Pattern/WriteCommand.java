@@ -0,0 +1,81 @@
+package p03_Design_Pattern_Implementation.Application_Command_Pattern;
+
+/*
+ * CONCRETE COMMAND 1
+ * Text write operation
+ */
+class WriteCommand implements Command {
+
+    private TextEditor editor;
+
+    private StringBuilder text;
+
+    // true only for the copy CommandManager owns after a merge; that one grows in place
+    private boolean coalesced;
+
+    public WriteCommand(
+            TextEditor editor,
+            String text
+    ) {
+        this.editor = editor;
+        this.text = new StringBuilder(text);
+    }
+
+    private WriteCommand(
+            TextEditor editor,
+            CharSequence text,
+            boolean coalesced
+    ) {
+        this.editor = editor;
+        this.text = new StringBuilder(text);
+        this.coalesced = coalesced;
+    }
+
+    @Override
+    public void execute() {
+
+        editor.write(text.toString());
+    }
+
+    @Override
+    public void undo() {
+
+        editor.delete(text.length());
+    }
+
+    /*
+     * Consecutive writes to the same editor become one write of the joined text.
+     * The first merge copies, so the caller's own command objects never change.
+     */
+    @Override
+    public Command mergeWith(Command next) {
+
+        if(!(next instanceof WriteCommand)) {
+            return null;
+        }
+
+        WriteCommand other = (WriteCommand) next;
+
+        if(other.editor != editor) {
+            return null;
+        }
+
+        WriteCommand merged =
+                coalesced ? this : new WriteCommand(editor, text, true);
+
+        merged.text.append(other.text);
+
+        return merged;
+    }
+
+    // header + fields, StringBuilder, and its backing array (2 bytes/char worst case)
+    @Override
+    public long footprintBytes() {
+        return 24 + 24 + 16 + 2L * text.capacity();
+    }
+
+    // drops the spare capacity a merged buffer grew while typing
+    void trim() {
+        text.trimToSize();
+    }
+}
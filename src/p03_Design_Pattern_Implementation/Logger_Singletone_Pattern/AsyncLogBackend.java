@@ -0,0 +1,371 @@
+package p03_Design_Pattern_Implementation.Logger_Singletone_Pattern;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Where Logger's messages actually go.
+// Producers (any thread calling log) only claim a slot in a pre-allocated ring and fill it:
+//   - claim is one getAndIncrement on a shared sequence, no locks
+//   - a slot is published by writing its sequence number into 'published'
+//   - if the ring is full the producer waits for the consumer (logging never drops lines)
+//   - once close() has stopped the writer, there is nobody left to wait for: later messages are
+//     dropped and counted instead of parking their caller forever. The writer's last act is to
+//     seal the sequence (CAS in SEALED), so a claim racing close() is either drained or dropped,
+//     never left in a slot nobody will write
+// One consumer thread formats the published entries (timestamp, thread, level, prefix + message,
+// "{}" placeholders filled from the entry's arguments), encodes them into a direct buffer and
+// writes whole batches to a RollingFileChannel.
+// Callers use claim() / fill the Entry / publish(); nothing on that path allocates.
+class AsyncLogBackend implements AutoCloseable {
+
+    static final int DEFAULT_CAPACITY = 1 << 16 ;
+    private static final int BUFFER_BYTES = 256 * 1024 ;
+    private static final int MAX_BATCH = 4096 ;
+
+    static final int MAX_ARGS = 4 ;
+
+    // set in 'claimed' by the writer on exit; any sequence handed out with it set is dropped
+    private static final long SEALED = 1L << 62 ;
+
+    private static final byte LONG = 0, DOUBLE = 1, STRING = 2 ;
+
+    // One pre-allocated ring slot. Arguments are kept as primitives until the consumer formats them.
+    static final class Entry {
+        private long seq ;
+        private long timeMillis ;
+        private String threadName ;
+        private LogLevel level ;
+        private String prefix ;   // joined to the message on the consumer, not by the caller
+        private String message ;  // literal text, or a pattern with "{}" per argument
+        private final StringBuilder copied = new StringBuilder(128) ; // used when message is null
+        private int argCount ;
+        private final byte[] kinds = new byte[MAX_ARGS] ;
+        private final long[] values = new long[MAX_ARGS] ;
+        private final String[] strings = new String[MAX_ARGS] ;
+
+        Entry prefix(String prefix) {
+            this.prefix = prefix ;
+            return this ;
+        }
+
+        Entry message(String message) {
+            this.message = message ;
+            return this ;
+        }
+
+        // for mutable text (e.g. a reused StringBuilder): copied now, into this slot's own buffer
+        Entry copyOf(CharSequence text) {
+            this.message = null ;
+            copied.setLength(0) ;
+            copied.append(text) ;
+            return this ;
+        }
+
+        // arguments beyond MAX_ARGS are dropped
+        Entry arg(long value) {
+            if(argCount < MAX_ARGS) {
+                kinds[argCount] = LONG ;
+                values[argCount++] = value ;
+            }
+            return this ;
+        }
+
+        Entry arg(double value) {
+            if(argCount < MAX_ARGS) {
+                kinds[argCount] = DOUBLE ;
+                values[argCount++] = Double.doubleToRawLongBits(value) ;
+            }
+            return this ;
+        }
+
+        Entry arg(String value) {
+            if(argCount < MAX_ARGS) {
+                kinds[argCount] = STRING ;
+                strings[argCount++] = value ;
+            }
+            return this ;
+        }
+    }
+
+    private final Entry[] ring ;
+    private final int mask ;
+    private final AtomicLong claimed = new AtomicLong() ;   // next sequence to hand out
+    private final AtomicLongArray published ;               // [slot] = sequence last written there
+    private volatile long consumed ;                        // every sequence below this is formatted
+    private volatile long written ;                         // ... and handed to the file
+
+    private final RollingFileChannel file ;
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_BYTES) ;
+    private final StringBuilder line = new StringBuilder(256) ;
+    private final Thread consumer ;
+    private volatile boolean running = true ;
+
+    private final LongAdder fullWaits = new LongAdder() ;
+    private final LongAdder dropped = new LongAdder() ;
+    // handed out after close(); filled by the caller like any entry, publish() ignores it
+    private final ThreadLocal<Entry> discard = ThreadLocal.withInitial(() -> {
+        Entry e = new Entry() ;
+        e.seq = -1 ;
+        return e ;
+    }) ;
+    private long batches ;
+    private long cachedSecond = Long.MIN_VALUE ;
+    private String cachedSecondText ;
+
+    AsyncLogBackend(Path path, long maxFileBytes, int keepFiles) {
+        this(path, maxFileBytes, keepFiles, DEFAULT_CAPACITY) ;
+    }
+
+    AsyncLogBackend(Path path, long maxFileBytes, int keepFiles, int capacity) {
+        if(Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity) ;
+        }
+        this.ring = new Entry[capacity] ;
+        for(int i = 0 ; i < capacity ; i++) {
+            ring[i] = new Entry() ;
+        }
+        this.mask = capacity - 1 ;
+        this.published = new AtomicLongArray(capacity) ;
+        for(int i = 0 ; i < capacity ; i++) {
+            published.set(i, -1) ;
+        }
+        try {
+            this.file = new RollingFileChannel(path, maxFileBytes, keepFiles) ;
+        } catch(IOException e) {
+            throw new UncheckedIOException(e) ;
+        }
+        this.consumer = new Thread(this::drain, "log-writer") ;
+        consumer.setDaemon(true) ;
+        consumer.start() ;
+    }
+
+    void append(LogLevel level, String prefix, String message) {
+        publish(claim(level).prefix(prefix).message(message)) ;
+    }
+
+    // Reserve the next slot; the caller fills it and must publish() it promptly,
+    // since the writer cannot move past an unpublished slot
+    Entry claim(LogLevel level) {
+        if(!running) {
+            return discarded() ;
+        }
+        long seq = claimed.getAndIncrement() ;
+        if(seq >= SEALED) {
+            return discarded() ; // claimed after the writer's final drain
+        }
+        if(seq - consumed >= ring.length) {
+            fullWaits.increment() ;
+            // back off harder the longer we wait, so a crowd of blocked producers
+            // doesn't steal the CPU the writer thread needs to make room
+            long pause = 10_000 ;
+            while(seq - consumed >= ring.length) {
+                if(!consumer.isAlive()) {
+                    return discarded() ; // closed while we waited: this slot will never free up
+                }
+                LockSupport.parkNanos(pause) ;
+                pause = Math.min(pause << 1, 1_000_000) ;
+            }
+        }
+        Entry e = ring[(int) seq & mask] ;
+        e.seq = seq ;
+        e.timeMillis = System.currentTimeMillis() ;
+        e.threadName = Thread.currentThread().getName() ;
+        e.level = level ;
+        return e ;
+    }
+
+    private Entry discarded() {
+        dropped.increment() ;
+        Entry e = discard.get() ;
+        e.argCount = 0 ;
+        return e ;
+    }
+
+    void publish(Entry e) {
+        if(e.seq < 0) {
+            return ; // dropped after close()
+        }
+        published.lazySet((int) e.seq & mask, e.seq) ; // release: the entry's fields are visible first
+    }
+
+    // Block until everything logged before this call is written to the file
+    void flush() {
+        long target = claimed.get() ;
+        while(written < target) {
+            if(!consumer.isAlive()) {
+                return ;
+            }
+            LockSupport.parkNanos(100_000) ;
+        }
+    }
+
+    private void drain() {
+        long next = 0 ;
+        int idleSpins = 0 ;
+        while(true) {
+            // stop only once nothing is claimed beyond what we wrote, and make that final:
+            // a claim that slips in first fails the CAS and gets drained on the next pass
+            if(!running && next == claimed.get() && claimed.compareAndSet(next, next | SEALED)) {
+                break ;
+            }
+            int n = 0 ;
+            while(n < MAX_BATCH && published.get((int) next & mask) == next) {
+                Entry e = ring[(int) next & mask] ;
+                format(e) ;
+                e.prefix = null ;
+                e.message = null ;
+                e.argCount = 0 ;
+                Arrays.fill(e.strings, null) ;
+                next++ ;
+                n++ ;
+            }
+            if(n > 0) {
+                consumed = next ; // producers may reuse these slots now
+                writeOut() ;
+                written = next ;
+                batches++ ;
+                idleSpins = 0 ;
+            } else if(++idleSpins < 100) {
+                Thread.onSpinWait() ;
+            } else {
+                LockSupport.parkNanos(200_000) ; // idle: keep latency to disk well under a millisecond
+            }
+        }
+        writeOut() ;
+    }
+
+    private void format(Entry e) {
+        line.setLength(0) ;
+        appendTimestamp(e.timeMillis) ;
+        line.append(" [").append(e.threadName).append("] ").append(e.level.label).append(' ') ;
+        if(e.prefix != null) {
+            line.append(e.prefix) ;
+        }
+        if(e.message == null) {
+            line.append(e.copied) ;
+        } else if(e.argCount == 0) {
+            line.append(e.message) ;
+        } else {
+            appendPattern(e) ;
+        }
+        line.append('\n') ;
+        encode(line) ;
+    }
+
+    // each "{}" takes the next argument; placeholders without one stay as they are
+    private void appendPattern(Entry e) {
+        String pattern = e.message ;
+        int arg = 0 ;
+        int from = 0 ;
+        int at ;
+        while(arg < e.argCount && (at = pattern.indexOf("{}", from)) >= 0) {
+            line.append(pattern, from, at) ;
+            switch(e.kinds[arg]) {
+                case LONG:
+                    line.append(e.values[arg]) ;
+                    break ;
+                case DOUBLE:
+                    line.append(Double.longBitsToDouble(e.values[arg])) ;
+                    break ;
+                default:
+                    line.append(e.strings[arg]) ;
+            }
+            arg++ ;
+            from = at + 2 ;
+        }
+        line.append(pattern, from, pattern.length()) ;
+    }
+
+    // yyyy-MM-ddTHH:mm:ss is rebuilt once per second, millis appended per line
+    private void appendTimestamp(long millis) {
+        long second = Math.floorDiv(millis, 1000) ;
+        if(second != cachedSecond) {
+            cachedSecond = second ;
+            cachedSecondText = Instant.ofEpochSecond(second).toString() ; // ...:ssZ
+            cachedSecondText = cachedSecondText.substring(0, cachedSecondText.length() - 1) ;
+        }
+        int ms = (int) Math.floorMod(millis, 1000L) ;
+        line.append(cachedSecondText).append('.')
+                .append((char) ('0' + ms / 100)).append((char) ('0' + ms / 10 % 10)).append((char) ('0' + ms % 10))
+                .append('Z') ;
+    }
+
+    // UTF-8 straight into the direct buffer, flushing to the file when it fills up
+    private void encode(CharSequence s) {
+        for(int i = 0 ; i < s.length() ; i++) {
+            if(out.remaining() < 4) {
+                writeOut() ;
+            }
+            char c = s.charAt(i) ;
+            if(c < 0x80) {
+                out.put((byte) c) ;
+            } else if(c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6))) ;
+                out.put((byte) (0x80 | (c & 0x3F))) ;
+            } else if(Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i)) ;
+                out.put((byte) (0xF0 | (cp >> 18))) ;
+                out.put((byte) (0x80 | ((cp >> 12) & 0x3F))) ;
+                out.put((byte) (0x80 | ((cp >> 6) & 0x3F))) ;
+                out.put((byte) (0x80 | (cp & 0x3F))) ;
+            } else {
+                out.put((byte) (0xE0 | (c >> 12))) ;
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F))) ;
+                out.put((byte) (0x80 | (c & 0x3F))) ;
+            }
+        }
+    }
+
+    private void writeOut() {
+        if(out.position() == 0) {
+            return ;
+        }
+        out.flip() ;
+        try {
+            file.write(out) ;
+        } catch(IOException e) {
+            // nowhere else to log to; report once per failed batch and keep going
+            System.err.println("log write failed: " + e) ;
+        }
+        out.clear() ;
+    }
+
+    long fullWaits() {
+        return fullWaits.sum() ;
+    }
+
+    // messages logged after close(), which were not written
+    long dropped() {
+        return dropped.sum() ;
+    }
+
+    long batches() {
+        return batches ;
+    }
+
+    int rollCount() {
+        return file.rollCount() ;
+    }
+
+    // Drains everything already logged, then closes the file; anything logged afterwards is dropped
+    @Override
+    public void close() {
+        running = false ;
+        try {
+            consumer.join() ;
+            file.close() ;
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt() ;
+        } catch(IOException e) {
+            throw new UncheckedIOException(e) ;
+        }
+    }
+}
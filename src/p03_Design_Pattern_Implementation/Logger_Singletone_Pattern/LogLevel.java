@@ -0,0 +1,16 @@
+package p03_Design_Pattern_Implementation.Logger_Singletone_Pattern;
+
+// Severity of a log line; Logger drops anything below its threshold before touching the ring
+enum LogLevel {
+    DEBUG("DEBUG"),
+    INFO("INFO "),
+    WARN("WARN "),
+    ERROR("ERROR");
+
+    // fixed width so the message column lines up
+    final String label ;
+
+    LogLevel(String label) {
+        this.label = label ;
+    }
+}
@@ -0,0 +1,141 @@
+package p03_Design_Pattern_Implementation.Logger_Singletone_Pattern;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+
+// Callers only hand the message to AsyncLogBackend's ring; a background thread formats it
+// and appends it to a rolling file (logs/app.log by default, -Dlogger.file=... to change).
+// Steady-state calls allocate nothing:
+//   - log(level, "took {} ms", elapsed) keeps the arguments as primitives until the writer formats them
+//   - a level below the threshold returns before anything is claimed or formatted
+//   - text built at the call site goes through buffer(), a reused per-thread StringBuilder
+class Logger{
+
+    static final String FILE_PROPERTY = "logger.file" ;
+    static final String MAX_BYTES_PROPERTY = "logger.maxBytes" ;
+    static final String LEVEL_PROPERTY = "logger.level" ;
+    static final int KEEP_FILES = 5 ;
+
+    private final AsyncLogBackend backend ;
+    private volatile LogLevel threshold = levelFromProperty() ;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256)) ;
+
+    // holder idiom: created on first getInstance(), the class loader makes it thread safe
+    private static final class Holder {
+        static final Logger INSTANCE = new Logger() ;
+    }
+
+    private Logger(){
+        Path file = Paths.get(System.getProperty(FILE_PROPERTY, "logs/app.log")) ;
+        long maxBytes = Long.getLong(MAX_BYTES_PROPERTY, 10L * 1024 * 1024) ;
+        backend = new AsyncLogBackend(file, maxBytes, KEEP_FILES) ;
+        Runtime.getRuntime().addShutdownHook(new Thread(backend::close, "log-shutdown")) ;
+        System.out.println("Logger Created") ;
+    }
+
+    // -Dlogger.level=debug works too; a typo falls back to INFO rather than failing class init
+    static LogLevel levelFromProperty(){
+        String value = System.getProperty(LEVEL_PROPERTY, "INFO").trim() ;
+        try {
+            return LogLevel.valueOf(value.toUpperCase(Locale.ROOT)) ;
+        } catch(IllegalArgumentException e) {
+            System.err.println("unknown " + LEVEL_PROPERTY + " '" + value + "', using INFO; expected one of "
+                    + Arrays.toString(LogLevel.values())) ;
+            return LogLevel.INFO ;
+        }
+    }
+
+    public static Logger getInstance(){
+        return Holder.INSTANCE ;
+    }
+
+    public void setLevel(LogLevel level){
+        threshold = level ;
+    }
+
+    public boolean isEnabled(LogLevel level){
+        return level.ordinal() >= threshold.ordinal() ;
+    }
+
+    public void log(String message){
+        log(LogLevel.INFO, message) ;
+    }
+
+    // prefix is joined on the writer thread, not here
+    public void logFull(String message){
+        if(isEnabled(LogLevel.INFO)) {
+            backend.append(LogLevel.INFO, "full message", message) ;
+        }
+    }
+
+    public void log(LogLevel level, String message){
+        if(isEnabled(level)) {
+            backend.append(level, null, message) ;
+        }
+    }
+
+    // Copies the text, so the caller may reuse its builder (see buffer()) right away
+    public void log(LogLevel level, CharSequence message){
+        if(isEnabled(level)) {
+            backend.publish(backend.claim(level).copyOf(message)) ;
+        }
+    }
+
+    // Parameterized messages: each "{}" in the pattern is replaced by the next argument on the writer thread
+
+    public void log(LogLevel level, String pattern, long a){
+        if(isEnabled(level)) {
+            backend.publish(backend.claim(level).message(pattern).arg(a)) ;
+        }
+    }
+
+    public void log(LogLevel level, String pattern, long a, long b){
+        if(isEnabled(level)) {
+            backend.publish(backend.claim(level).message(pattern).arg(a).arg(b)) ;
+        }
+    }
+
+    public void log(LogLevel level, String pattern, long a, long b, long c){
+        if(isEnabled(level)) {
+            backend.publish(backend.claim(level).message(pattern).arg(a).arg(b).arg(c)) ;
+        }
+    }
+
+    public void log(LogLevel level, String pattern, double a){
+        if(isEnabled(level)) {
+            backend.publish(backend.claim(level).message(pattern).arg(a)) ;
+        }
+    }
+
+    public void log(LogLevel level, String pattern, String a, long b){
+        if(isEnabled(level)) {
+            backend.publish(backend.claim(level).message(pattern).arg(a).arg(b)) ;
+        }
+    }
+
+    public void log(LogLevel level, String pattern, String a, double b){
+        if(isEnabled(level)) {
+            backend.publish(backend.claim(level).message(pattern).arg(a).arg(b)) ;
+        }
+    }
+
+    // This thread's reusable builder, emptied; fill it and pass it to log(level, CharSequence)
+    public static StringBuilder buffer(){
+        StringBuilder sb = BUFFER.get() ;
+        sb.setLength(0) ;
+        return sb ;
+    }
+
+    // blocks until everything logged so far is in the file
+    public void flush(){
+        backend.flush() ;
+    }
+
+    AsyncLogBackend backend(){
+        return backend ;
+    }
+
+}
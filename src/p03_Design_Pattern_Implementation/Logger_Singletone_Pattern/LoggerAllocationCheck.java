@@ -0,0 +1,87 @@
+package p03_Design_Pattern_Implementation.Logger_Singletone_Pattern;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Counts the bytes the calling thread allocates per Logger call, after warm-up.
+// Uses the JVM's per-thread allocation counter (com.sun.management.ThreadMXBean), so it only
+// sees the caller's allocations - formatting on the writer thread is not counted, by design.
+// Exits with status 1 if any call shape allocates in steady state.
+public class LoggerAllocationCheck {
+
+    private static final int WARMUP_CALLS = 300_000 ;
+    private static final int MEASURED_CALLS = 200_000 ;
+
+    interface Call {
+        void run(Logger logger, int i) ;
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        Path dir = Files.createTempDirectory("logalloc") ;
+        System.setProperty(Logger.FILE_PROPERTY, dir.resolve("app.log").toString()) ;
+        System.setProperty(Logger.MAX_BYTES_PROPERTY, String.valueOf(4L * 1024 * 1024)) ;
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean() ;
+        if(!threads.isThreadAllocatedMemorySupported()) {
+            System.out.println("per-thread allocation counting is not supported by this JVM") ;
+            return ;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true) ;
+
+        Logger logger = Logger.getInstance() ;
+
+        String[] names = {
+                "log(String)",
+                "logFull(String)",
+                "log(INFO, pattern, long)",
+                "log(INFO, pattern, long, long, long)",
+                "log(INFO, pattern, double)",
+                "log(INFO, pattern, String, long)",
+                "log(INFO, buffer())",
+                "log(DEBUG, ...) filtered out",
+        } ;
+        Call[] calls = {
+                (l, i) -> l.log("order accepted"),
+                (l, i) -> l.logFull(" order accepted"),
+                (l, i) -> l.log(LogLevel.INFO, "order {} accepted", i),
+                (l, i) -> l.log(LogLevel.INFO, "order {} spot {} floor {}", i, i & 1023, i & 7),
+                (l, i) -> l.log(LogLevel.INFO, "fee {}", i * 0.25),
+                (l, i) -> l.log(LogLevel.INFO, "{} took {} us", "checkout", i),
+                (l, i) -> l.log(LogLevel.INFO, Logger.buffer().append("order ").append(i).append(" closed")),
+                (l, i) -> l.log(LogLevel.DEBUG, "order {} spot {} floor {}", i, i & 1023, i & 7),
+        } ;
+
+        boolean clean = true ;
+        System.out.println("call                                  | bytes/call") ;
+
+        for(int c = 0 ; c < calls.length ; c++) {
+            Call call = calls[c] ;
+            for(int i = 0 ; i < WARMUP_CALLS ; i++) {
+                call.run(logger, i) ;
+            }
+            logger.flush() ;
+
+            long before = threads.getCurrentThreadAllocatedBytes() ;
+            for(int i = 0 ; i < MEASURED_CALLS ; i++) {
+                call.run(logger, i) ;
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before ;
+
+            double perCall = (double) allocated / MEASURED_CALLS ;
+            System.out.printf("%-37s | %10.3f%n", names[c], perCall) ;
+            // a few stray bytes over 200k calls (e.g. one JIT deopt) still rounds to zero per call
+            if(perCall >= 0.5) {
+                clean = false ;
+            }
+        }
+
+        logger.flush() ;
+        System.out.println(clean ? "OK: no steady-state allocation on the calling thread" : "FAIL: some calls allocate") ;
+        if(!clean) {
+            System.exit(1) ;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package p03_Design_Pattern_Implementation.Logger_Singletone_Pattern;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+// Per-call latency and throughput of logging from 1, 8 and 64 threads.
+//   sync  : the old approach moved to a file - format on the caller, synchronized write + flush
+//   async : AsyncLogBackend - caller claims a ring slot, a writer thread formats and writes batches
+// Throughput counts until everything is in the file (async includes the final drain).
+// Each variant writes to its own temp directory, deleted afterwards.
+public class LoggerBenchmark {
+
+    private static final int TOTAL_MESSAGES = 1_600_000 ;
+    private static final long MAX_FILE_BYTES = 16L * 1024 * 1024 ; // small enough that async runs roll a few times
+    private static final int KEEP_FILES = 32 ;
+
+    interface Sink extends AutoCloseable {
+        void log(String message) ;
+        void flush() ;
+        @Override void close() ;
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        System.out.println("messages per run: " + TOTAL_MESSAGES + ", cpus: " + Runtime.getRuntime().availableProcessors()) ;
+        System.out.println("threads | variant |    msgs/s | p50 ns | p99 ns | p99.9 ns |   max ns") ;
+
+        for(int threads : new int[]{1, 8, 64}) {
+            // warm-up, then measure
+            run("sync", threads, TOTAL_MESSAGES / 4, false) ;
+            run("async", threads, TOTAL_MESSAGES / 4, false) ;
+            run("sync", threads, TOTAL_MESSAGES, true) ;
+            run("async", threads, TOTAL_MESSAGES, true) ;
+        }
+    }
+
+    private static void run(String variant, int threads, int total, boolean print) throws Exception {
+
+        Path dir = Files.createTempDirectory("logbench") ;
+        Path file = dir.resolve("app.log") ;
+        Sink sink = variant.equals("sync") ? new SyncFileSink(file) : new AsyncSink(file) ;
+
+        int perThread = total / threads ;
+        long[][] latencies = new long[threads][perThread] ;
+        CountDownLatch start = new CountDownLatch(1) ;
+        Thread[] workers = new Thread[threads] ;
+
+        for(int t = 0 ; t < threads ; t++) {
+            long[] mine = latencies[t] ;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await() ;
+                } catch(InterruptedException e) {
+                    return ;
+                }
+                for(int i = 0 ; i < perThread ; i++) {
+                    String message = "order accepted" ; // a constant, as most log calls are
+                    long t0 = System.nanoTime() ;
+                    sink.log(message) ;
+                    mine[i] = System.nanoTime() - t0 ;
+                }
+            }, "producer-" + t) ;
+            workers[t].start() ;
+        }
+
+        long begin = System.nanoTime() ;
+        start.countDown() ;
+        for(Thread w : workers) {
+            w.join() ;
+        }
+        sink.flush() ;
+        long elapsed = System.nanoTime() - begin ;
+        sink.close() ;
+
+        long lines = countLines(dir) ;
+        deleteAll(dir) ;
+
+        if(lines != (long) perThread * threads) {
+            throw new IllegalStateException(variant + " wrote " + lines + " lines, expected " + (long) perThread * threads) ;
+        }
+        if(!print) {
+            return ;
+        }
+
+        long[] all = new long[perThread * threads] ;
+        for(int t = 0 ; t < threads ; t++) {
+            System.arraycopy(latencies[t], 0, all, t * perThread, perThread) ;
+        }
+        Arrays.sort(all) ;
+
+        System.out.printf("%7d | %-7s | %,9.0f | %6d | %6d | %8d | %,8d%n",
+                threads, variant, all.length / (elapsed / 1e9),
+                pct(all, 0.50), pct(all, 0.99), pct(all, 0.999), all[all.length - 1]) ;
+    }
+
+    private static long pct(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] ;
+    }
+
+    // app.log plus any rolled app.log.N
+    private static long countLines(Path dir) throws IOException {
+        long lines = 0 ;
+        try(var files = Files.list(dir)) {
+            for(Path p : (Iterable<Path>) files::iterator) {
+                try(var stream = Files.lines(p)) {
+                    lines += stream.count() ;
+                }
+            }
+        }
+        return lines ;
+    }
+
+    private static void deleteAll(Path dir) throws IOException {
+        try(var files = Files.list(dir)) {
+            for(Path p : (Iterable<Path>) files::iterator) {
+                Files.delete(p) ;
+            }
+        }
+        Files.delete(dir) ;
+    }
+
+    // Baseline: what Logger did, pointed at a file instead of the console
+    private static final class SyncFileSink implements Sink {
+
+        private final BufferedWriter out ;
+
+        SyncFileSink(Path file) throws IOException {
+            out = Files.newBufferedWriter(file, StandardCharsets.UTF_8) ;
+        }
+
+        @Override
+        public synchronized void log(String message) {
+            try {
+                out.write(Instant.ofEpochMilli(System.currentTimeMillis()) + " [" + Thread.currentThread().getName() + "] " + message) ;
+                out.newLine() ;
+                out.flush() ; // println semantics: the line is out when the call returns
+            } catch(IOException e) {
+                throw new UncheckedIOException(e) ;
+            }
+        }
+
+        @Override
+        public synchronized void flush() {
+        }
+
+        @Override
+        public synchronized void close() {
+            try {
+                out.close() ;
+            } catch(IOException e) {
+                throw new UncheckedIOException(e) ;
+            }
+        }
+    }
+
+    private static final class AsyncSink implements Sink {
+
+        private final AsyncLogBackend backend ;
+
+        AsyncSink(Path file) {
+            backend = new AsyncLogBackend(file, MAX_FILE_BYTES, KEEP_FILES) ;
+        }
+
+        @Override
+        public void log(String message) {
+            backend.append(LogLevel.INFO, null, message) ;
+        }
+
+        @Override
+        public void flush() {
+            backend.flush() ;
+        }
+
+        @Override
+        public void close() {
+            backend.close() ;
+        }
+    }
+}
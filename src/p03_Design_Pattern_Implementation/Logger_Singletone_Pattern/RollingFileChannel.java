@@ -0,0 +1,83 @@
+package p03_Design_Pattern_Implementation.Logger_Singletone_Pattern;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// Append-only log file that rolls over by size:
+// app.log -> app.log.1 -> app.log.2 ... keeping at most 'keepFiles' old files.
+// Only the log consumer thread touches it.
+class RollingFileChannel implements AutoCloseable {
+
+    private final Path file ;
+    private final long maxBytes ;
+    private final int keepFiles ;
+    private FileChannel channel ;
+    private long size ;
+    private int rolls ;
+
+    RollingFileChannel(Path file, long maxBytes, int keepFiles) throws IOException {
+        this.file = file ;
+        this.maxBytes = maxBytes ;
+        this.keepFiles = keepFiles ;
+        Path dir = file.toAbsolutePath().getParent() ;
+        if(dir != null) {
+            Files.createDirectories(dir) ;
+        }
+        open() ;
+    }
+
+    // Writes everything in 'buffer' (flipped), rolling first if it would overflow the current file
+    void write(ByteBuffer buffer) throws IOException {
+        if(size > 0 && size + buffer.remaining() > maxBytes) {
+            roll() ;
+        }
+        while(buffer.hasRemaining()) {
+            size += channel.write(buffer) ;
+        }
+    }
+
+    int rollCount() {
+        return rolls ;
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND) ;
+        size = channel.size() ;
+    }
+
+    private void roll() throws IOException {
+        channel.close() ;
+        for(int i = keepFiles - 1 ; i >= 1 ; i--) {
+            Path older = sibling(i) ;
+            if(Files.exists(older)) {
+                Files.move(older, sibling(i + 1), StandardCopyOption.REPLACE_EXISTING) ;
+            }
+        }
+        if(keepFiles > 0) {
+            Files.move(file, sibling(1), StandardCopyOption.REPLACE_EXISTING) ;
+        } else {
+            Files.delete(file) ;
+        }
+        rolls++ ;
+        open() ;
+    }
+
+    private Path sibling(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index) ;
+    }
+
+    void force() throws IOException {
+        channel.force(false) ;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.force(false) ;
+        channel.close() ;
+    }
+}
@@ -1,30 +1,5 @@
 package p03_Design_Pattern_Implementation.Logger_Singletone_Pattern;
 
-class Logger{
-    private static Logger instance ;
-
-    private Logger(){
-        System.out.println("Logger Created") ;
-    }
-
-    public static Logger getInstance(){
-        if(instance == null){
-            instance = new Logger() ;
-        }
-
-        return instance ;
-    }
-
-    public void log(String message){
-        System.out.println(message);
-    }
-
-    public void logFull(String message){
-        System.out.println("full message" + message);
-    }
-
-}
-
 // synchronized  logger ( thread safe)
 class threadSafeLogger {
 
@@ -49,6 +24,19 @@ class threadSafeLogger {
 
         return instance;
     }
+
+    // same file and writer thread as Logger
+    public void log(String message) {
+        Logger.getInstance().log(message);
+    }
+
+    public void logFull(String message) {
+        Logger.getInstance().logFull(message);
+    }
+
+    public void flush() {
+        Logger.getInstance().flush();
+    }
 }
 
 
@@ -70,5 +58,11 @@ public class SinglettonLoggerMain {
         threadSafeLogger l5 = threadSafeLogger.getInstance() ;
 
         System.out.println(l4 == l5);
+
+        l1.log("logger singleton check done");
+        l4.logFull(" from the thread safe logger");
+        l1.log(LogLevel.INFO, "singleton instances checked: {}", 5);
+        l1.log(LogLevel.DEBUG, "not written at the default INFO level: {}", 42);
+        l1.flush();
     }
 }
@@ -1,41 +1,106 @@
 package p03_Design_Pattern_Implementation.Text_Edtior_Momento;
 
 
+import p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L01_Memento_Pattern.Good_Code.ChunkedText;
+import p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L01_Memento_Pattern.Good_Code.SnapshotMode;
+import p02_SYSTEM_DESIGN.L02_DESIGN_PATTERN.T01_Behavioural_Design.L01_Memento_Pattern.Good_Code.TextMemento;
+
 import java.util.Stack;
 
 // editor -> this state how the editor at current stage look like
+// wraps Good_Code's TextMemento (p02 .. L01_Memento_Pattern) :
+// full (FULL mode, DELTA keyframes) : a snapshot of the editor's ChunkedText, sharing every
+// sealed chunk with the editor and with older mementos
+// delta : content of its parent + what was written since ; every chain starts at a keyframe
 class EditorMemento {
-    private final String content ;
+    private final TextMemento state ;
 
     public EditorMemento(String content){
-        this.content = content ;
+        this(new TextMemento(content)) ;
+    }
+
+    EditorMemento(TextMemento state){
+        this.state = state ;
     }
 
+    // joins the chunks into one String : O(content)
     public String getSavedContent(){
-        return content ;
+        return state.getState() ;
+    }
+
+    TextMemento state(){
+        return state ;
     }
 }
 
 // TextEditor -> how state is saved and restored ;
+// content is Good_Code's ChunkedText : write() never copies what is already there,
+// and a full save() / restore() only copies the last partial chunk
+// DELTA : 'head' is the memento the content was last saved as / restored to.
+// write() only appends, so content = head's content + what was written since,
+// and undo / redo = cut back to the common ancestor + re-append the deltas : O(delta)
 class TextEditor{
-    private String content = "" ;
+    // new keyframe every MAX_CHAIN saves, or once the deltas add up to the content size
+    static final int MAX_CHAIN = 1024 ;
+
+    private final ChunkedText content = new ChunkedText() ;
+    private final SnapshotMode mode ;
+    private TextMemento head ;
+
+    public TextEditor(){
+        this(SnapshotMode.FULL) ;
+    }
+
+    public TextEditor(SnapshotMode mode){
+        this.mode = mode ;
+    }
 
     public void write(String text){
-        content += text ;
+        content.append(text) ;
     }
 
     public void show(){
         System.out.println(content);
     }
 
+    public String getContent(){
+        return content.toString() ;
+    }
+
     // Create snapshot
     public EditorMemento save(){
-        return new EditorMemento(content) ;
+        if(mode == SnapshotMode.FULL){
+            return new EditorMemento(new TextMemento(content.snapshot())) ;
+        }
+
+        int written = content.length() - (head == null ? 0 : head.length()) ;
+        if(head == null
+                || head.sinceKeyframe() + 1 >= MAX_CHAIN
+                || head.typedSinceKeyframe() + written >= content.length()){
+            head = new TextMemento(content.snapshot()) ;
+        } else {
+            head = TextMemento.delta(head, content.substring(head.length())) ;
+        }
+        return new EditorMemento(head) ;
     }
 
     // restore snapshot
     public void restore(EditorMemento memento){
-        content = memento.getSavedContent() ;
+        TextMemento target = memento.state() ;
+        TextMemento common = target.commonAncestor(head) ;
+
+        if(mode == SnapshotMode.DELTA && common != null){
+            content.truncate(common.length()) ;
+            target.appendTypedAfter(common, content) ;
+        } else {
+            TextMemento keyframe = target.keyframe() ;
+            content.restore(keyframe.snapshot()) ;
+            target.appendTypedAfter(keyframe, content) ;
+        }
+
+        if(mode == SnapshotMode.DELTA){
+            head = target ;
+        }
     }
 }
 
@@ -86,7 +151,14 @@ public class Main {
 
     public static void main(String[] args) {
 
-        TextEditor editor = new TextEditor();
+        demo(new TextEditor());
+
+        // same steps, but each save only stores what was written since the last one
+        System.out.println("\n--- delta mementos ---");
+        demo(new TextEditor(SnapshotMode.DELTA));
+    }
+
+    private static void demo(TextEditor editor) {
 
         HistoryManager history = new HistoryManager(editor);
 
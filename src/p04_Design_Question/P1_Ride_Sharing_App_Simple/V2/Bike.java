@@ -0,0 +1,12 @@
+package p04_Design_Question.P1_Ride_Sharing_App_Simple.V2;
+
+class Bike extends Vehicle {
+    public Bike(String numberPlate) {
+        super(numberPlate);
+    }
+
+    @Override
+    public double getFarePerKm() {
+        return 10;
+    }
+}
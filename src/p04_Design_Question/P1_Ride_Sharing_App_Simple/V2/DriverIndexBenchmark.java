@@ -0,0 +1,112 @@
+package p04_Design_Question.P1_Ride_Sharing_App_Simple.V2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+//*************************************************
+// Nearest-driver lookup on a synthetic city fleet
+//*************************************************
+// Three ways to pick the nearest driver:
+//   legacy : the old scan, Euclidean distance on raw lat/lon degrees
+//   scan   : scan with haversine (ground truth)
+//   index  : GeohashDriverIndex
+// Reports time per lookup, and how often legacy / index pick a different driver than the truth
+// (with the extra km the passenger's driver has to travel). Run for a city near the equator
+// and one far north, where a degree of longitude is much shorter than a degree of latitude.
+public class DriverIndexBenchmark {
+
+    private static final double CITY_KM = 40;
+
+    public static void main(String[] args) {
+        System.out.println("geohash of Bangalore centre: " + GeohashDriverIndex.geohash(new Location(12.9716, 77.5946), 6));
+
+        for(int fleet : new int[]{10_000, 100_000, 1_000_000}){
+            run("Bangalore", 12.9716, 77.5946, fleet);
+        }
+        run("Oslo", 59.9139, 10.7522, 100_000);
+    }
+
+    private static void run(String city, double lat, double lon, int fleetSize){
+        Random random = new Random(fleetSize);
+        double latSpan = CITY_KM / 111.2;
+        double lonSpan = CITY_KM / (111.2 * Math.cos(Math.toRadians(lat)));
+
+        RideMatchingSystem system = new RideMatchingSystem();
+        List<Driver> fleet = new ArrayList<>(fleetSize);
+        for(int i = 0; i < fleetSize; i++){
+            // denser centre, like a real city
+            double u = random.nextGaussian() * 0.25, v = random.nextGaussian() * 0.25;
+            Location at = new Location(lat + latSpan * clamp(u), lon + lonSpan * clamp(v));
+            Driver driver = new Driver("d" + i, "d" + i + "@fleet", at, new Car("KA" + i));
+            fleet.add(driver);
+            system.addDriver(driver);
+        }
+
+        int queries = fleetSize >= 1_000_000 ? 300 : 2_000;
+        Location[] passengers = new Location[queries];
+        for(int i = 0; i < queries; i++){
+            passengers[i] = new Location(lat + latSpan * (random.nextDouble() - 0.5), lon + lonSpan * (random.nextDouble() - 0.5));
+        }
+
+        Driver[] truth = new Driver[queries];
+        Driver[] legacy = new Driver[queries];
+        Driver[] indexed = new Driver[queries];
+
+        // one untimed pass each to warm up
+        for(int i = 0; i < Math.min(queries, 200); i++){
+            system.findNearestDriverByScan(passengers[i]);
+            legacyScan(fleet, passengers[i]);
+            system.findNearestDriver(passengers[i]);
+        }
+
+        long t0 = System.nanoTime();
+        for(int i = 0; i < queries; i++) legacy[i] = legacyScan(fleet, passengers[i]);
+        long t1 = System.nanoTime();
+        for(int i = 0; i < queries; i++) truth[i] = system.findNearestDriverByScan(passengers[i]);
+        long t2 = System.nanoTime();
+        for(int i = 0; i < queries; i++) indexed[i] = system.findNearestDriver(passengers[i]);
+        long t3 = System.nanoTime();
+
+        int legacyWrong = 0, indexWrong = 0;
+        double legacyExtraKm = 0, indexExtraKm = 0;
+        for(int i = 0; i < queries; i++){
+            double best = passengers[i].calcDistance(truth[i].getLocation());
+            if(legacy[i] != truth[i]){
+                legacyWrong++;
+                legacyExtraKm += passengers[i].calcDistance(legacy[i].getLocation()) - best;
+            }
+            if(indexed[i] != truth[i]){
+                indexWrong++;
+                indexExtraKm += passengers[i].calcDistance(indexed[i].getLocation()) - best;
+            }
+        }
+
+        System.out.printf("%n%s, %,d drivers, %,d lookups%n", city, fleetSize, queries);
+        System.out.printf("  legacy scan : %,10.0f ns/lookup   wrong driver %5.1f%%  (avg %.3f km farther when wrong)%n",
+                (double) (t1 - t0) / queries, 100.0 * legacyWrong / queries, legacyWrong == 0 ? 0 : legacyExtraKm / legacyWrong);
+        System.out.printf("  exact scan  : %,10.0f ns/lookup%n", (double) (t2 - t1) / queries);
+        System.out.printf("  geohash     : %,10.0f ns/lookup   wrong driver %5.1f%%  (%.0fx faster than exact scan)%n",
+                (double) (t3 - t2) / queries, 100.0 * indexWrong / queries, (double) (t2 - t1) / (t3 - t2));
+    }
+
+    // the original findNearestDriver: Euclidean distance on degrees
+    private static Driver legacyScan(List<Driver> drivers, Location from){
+        Driver best = null;
+        double bestDist = Double.MAX_VALUE;
+        for(Driver driver : drivers){
+            double dx = driver.getLocation().getLatitude() - from.getLatitude();
+            double dy = driver.getLocation().getLongitude() - from.getLongitude();
+            double d = Math.sqrt(dx * dx + dy * dy);
+            if(d < bestDist){
+                bestDist = d;
+                best = driver;
+            }
+        }
+        return best;
+    }
+
+    private static double clamp(double v){
+        return Math.max(-0.5, Math.min(0.5, v));
+    }
+}
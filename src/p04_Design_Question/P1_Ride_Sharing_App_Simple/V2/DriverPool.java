@@ -0,0 +1,94 @@
+package p04_Design_Question.P1_Ride_Sharing_App_Simple.V2;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+//*************************************************
+// Driver pool : who is free, who is offered a ride, who is on one
+//*************************************************
+// Every registered driver has one slot holding its current Lease (null = available).
+// - checkout : CAS null -> lease, so two requests can never get the same driver; O(1)
+// - confirm  : the driver accepts before the lease expires; CAS lease -> confirmed lease
+// - release  : ride over (or offer declined); CAS back to null
+// A lease that was never confirmed counts as available again once it expires, and the next
+// checkout simply replaces it, so no sweeper thread is needed.
+// isAvailable is a plain volatile read: the matching path never takes a lock.
+class DriverPool {
+
+    static final class Lease {
+        final Driver driver;
+        final long expiresAtNanos;
+        final boolean confirmed;
+
+        private Lease(Driver driver, long expiresAtNanos, boolean confirmed){
+            this.driver = driver;
+            this.expiresAtNanos = expiresAtNanos;
+            this.confirmed = confirmed;
+        }
+
+        boolean expired(long nowNanos){
+            return !confirmed && nowNanos - expiresAtNanos >= 0;
+        }
+    }
+
+    private final ConcurrentHashMap<Driver, AtomicReference<Lease>> slots = new ConcurrentHashMap<>();
+    private final long leaseNanos;
+
+    DriverPool(long leaseMillis){
+        this.leaseNanos = TimeUnit.MILLISECONDS.toNanos(leaseMillis);
+    }
+
+    void register(Driver driver){
+        slots.putIfAbsent(driver, new AtomicReference<>());
+    }
+
+    void unregister(Driver driver){
+        slots.remove(driver);
+    }
+
+    Set<Driver> drivers(){
+        return slots.keySet();
+    }
+
+    boolean isAvailable(Driver driver){
+        AtomicReference<Lease> slot = slots.get(driver);
+        if(slot == null){
+            return false;
+        }
+        Lease current = slot.get();
+        return current == null || current.expired(System.nanoTime());
+    }
+
+    // @return the lease, or null if the driver is taken (someone else won the race)
+    Lease checkout(Driver driver){
+        AtomicReference<Lease> slot = slots.get(driver);
+        if(slot == null){
+            return null;
+        }
+        long now = System.nanoTime();
+        Lease current = slot.get();
+        if(current != null && !current.expired(now)){
+            return null;
+        }
+        Lease lease = new Lease(driver, now + leaseNanos, false);
+        return slot.compareAndSet(current, lease) ? lease : null;
+    }
+
+    // @return the confirmed lease to release later, or null if the offer already expired
+    Lease confirm(Lease lease){
+        if(lease.expired(System.nanoTime())){
+            return null;
+        }
+        Lease confirmed = new Lease(lease.driver, Long.MAX_VALUE, true);
+        AtomicReference<Lease> slot = slots.get(lease.driver);
+        return slot != null && slot.compareAndSet(lease, confirmed) ? confirmed : null;
+    }
+
+    // @return false if the lease is no longer the driver's current one (e.g. expired and re-leased)
+    boolean release(Lease lease){
+        AtomicReference<Lease> slot = slots.get(lease.driver);
+        return slot != null && slot.compareAndSet(lease, null);
+    }
+}
@@ -0,0 +1,178 @@
+package p04_Design_Question.P1_Ride_Sharing_App_Simple.V2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+//*************************************************
+// Ride requests per second at 1..8 request threads
+//*************************************************
+// list : the old requestRide shape: scan the ArrayList, remove the driver, add it back later.
+//        Guarded by one lock here: ArrayList is not safe for concurrent remove/add.
+// pool : RideMatchingSystem.matchDriver (geohash index + DriverPool lease), confirm, release.
+// Each request holds its driver for a short simulated ride so requests really overlap.
+// Also counts drivers handed to two requests at once (must be 0).
+// requestRide always confirms right away, so first an offer is left unconfirmed on purpose
+// to check that it expires and the driver can be leased again.
+// (No JMH in this tree: plain timed runs with a warm-up.)
+public class DriverPoolBenchmark {
+
+    private static final int FLEET = 10_000;
+    private static final long RUN_MILLIS = 1_000;
+    private static final int RIDE_SPINS = 2_000; // busy work while the driver is on the ride
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("cores: " + Runtime.getRuntime().availableProcessors());
+        Driver[] fleet = fleet();
+
+        checkLeaseExpiry(fleet[0]);
+
+        run("pool", fleet, 4, false); // warm-up
+        run("list", fleet, 4, false);
+
+        for(int threads : new int[]{1, 2, 4, 8}){
+            run("list", fleet, threads, true);
+            run("pool", fleet, threads, true);
+        }
+    }
+
+    private static void run(String mode, Driver[] fleet, int threads, boolean report) throws InterruptedException {
+        RideMatchingSystem system = new RideMatchingSystem();
+        List<Driver> available = new ArrayList<>();
+        for(Driver driver : fleet){
+            system.addDriver(driver);
+            available.add(driver);
+        }
+        ConcurrentHashMap<Driver, AtomicInteger> holders = new ConcurrentHashMap<>();
+        for(Driver driver : fleet){
+            holders.put(driver, new AtomicInteger());
+        }
+
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder rides = new LongAdder();
+        LongAdder doubleBooked = new LongAdder();
+        List<Thread> workers = new ArrayList<>();
+
+        for(int t = 0; t < threads; t++){
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while(!stop.get()){
+                    Location at = new Location(12.85 + random.nextDouble() * 0.25, 77.45 + random.nextDouble() * 0.25);
+                    Driver driver;
+                    DriverPool.Lease lease = null;
+                    if(mode.equals("pool")){
+                        lease = system.matchDriver(at);
+                        driver = lease == null ? null : lease.driver;
+                    } else {
+                        synchronized(available){
+                            driver = nearest(available, at);
+                            if(driver != null) available.remove(driver);
+                        }
+                    }
+                    if(driver == null){
+                        continue;
+                    }
+                    if(holders.get(driver).incrementAndGet() != 1){
+                        doubleBooked.increment();
+                    }
+                    DriverPool.Lease accepted = lease == null ? null : system.pool().confirm(lease);
+                    ride();
+                    holders.get(driver).decrementAndGet();
+                    if(accepted != null){
+                        system.pool().release(accepted);
+                    } else {
+                        synchronized(available){
+                            available.add(driver);
+                        }
+                    }
+                    rides.increment();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+
+        Thread.sleep(RUN_MILLIS);
+        stop.set(true);
+        for(Thread worker : workers){
+            worker.join();
+        }
+
+        if(report){
+            System.out.printf("%s  threads %d  %,9.0f rides/s  double-booked %d%n",
+                    mode, threads, rides.sum() * 1000.0 / RUN_MILLIS, doubleBooked.sum());
+        }
+    }
+
+    // An offer nobody confirms must free the driver after the lease, and the stale lease
+    // must not be able to confirm or release the driver's next ride.
+    private static void checkLeaseExpiry(Driver driver) throws InterruptedException {
+        DriverPool pool = new DriverPool(20);
+        pool.register(driver);
+
+        DriverPool.Lease unanswered = pool.checkout(driver);
+        check(unanswered != null, "first checkout failed");
+        check(!pool.isAvailable(driver), "leased driver shown as available");
+        check(pool.checkout(driver) == null, "driver leased twice");
+
+        Thread.sleep(40);
+
+        check(pool.isAvailable(driver), "expired lease still holds the driver");
+        DriverPool.Lease next = pool.checkout(driver);
+        check(next != null, "expired lease could not be re-leased");
+        check(pool.confirm(unanswered) == null, "expired lease was confirmed");
+        check(!pool.release(unanswered), "expired lease released the new one");
+
+        DriverPool.Lease accepted = pool.confirm(next);
+        check(accepted != null, "new lease could not be confirmed");
+        Thread.sleep(40);
+        check(!pool.isAvailable(driver), "confirmed lease expired");
+        check(pool.release(accepted) && pool.isAvailable(driver), "confirmed lease not released");
+
+        System.out.println("lease expiry: unconfirmed offer expired and was re-leased, OK");
+    }
+
+    private static void check(boolean ok, String failure){
+        if(!ok){
+            throw new IllegalStateException(failure);
+        }
+    }
+
+    // the old findNearestDriver over the list (cheap distance, to be fair to it)
+    private static Driver nearest(List<Driver> drivers, Location from){
+        Driver best = null;
+        double bestKm = Double.MAX_VALUE;
+        for(Driver driver : drivers){
+            double km = from.approxDistance(driver.getLocation());
+            if(km < bestKm){
+                bestKm = km;
+                best = driver;
+            }
+        }
+        return best;
+    }
+
+    private static void ride(){
+        // stand-in for the time a driver is held (notifications, fare, trip state)
+        long x = 0;
+        for(int i = 0; i < RIDE_SPINS; i++){
+            x += i * 31L;
+        }
+        if(x == 42) System.out.print("");
+    }
+
+    private static Driver[] fleet(){
+        Random random = new Random(5);
+        Driver[] fleet = new Driver[FLEET];
+        for(int i = 0; i < FLEET; i++){
+            Location at = new Location(12.85 + random.nextDouble() * 0.25, 77.45 + random.nextDouble() * 0.25);
+            fleet[i] = new Driver("d" + i, "d" + i + "@fleet", at, new Bike("KA" + i));
+        }
+        return fleet;
+    }
+}
@@ -0,0 +1,8 @@
+package p04_Design_Question.P1_Ride_Sharing_App_Simple.V2;
+
+//*************************************************
+// Fare Strategy calculation
+//*************************************************
+interface FareStrategy {
+    double calcFare(Vehicle vehicle,double distance);
+}
@@ -0,0 +1,223 @@
+package p04_Design_Question.P1_Ride_Sharing_App_Simple.V2;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+//*************************************************
+// Geohash bucket index of available drivers
+//*************************************************
+// Each driver sits in the bucket of its geohash cell (default 6 chars, ~1.2 km x 0.6 km).
+// The bucket key is the geohash itself as bits (longitude bit first), so a shorter geohash
+// is just key >> (5 * dropped chars).
+// nearest() searches rings of cells around the passenger outwards:
+// - candidates are pruned with the cheap equirectangular distance, only survivors get haversine
+// - it stops once the closest possible point of the next ring is farther than the best driver
+// Meant for city-scale searches; past RING_LIMIT rings it falls back to checking every driver.
+// Buckets are immutable arrays replaced on change (copy-on-write), so any number of threads
+// can search without locks while add/remove (rare: sign-up, moves) serialize on the index.
+class GeohashDriverIndex {
+    static final int DEFAULT_PRECISION = 6;
+    private static final int RING_LIMIT = 100;
+    private static final double KM_PER_DEGREE = Math.toRadians(1) * Location.EARTH_RADIUS_KM;
+    // equirectangular error stays far below this at city scale
+    private static final double APPROX_SLACK = 1.01;
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    private final int lonBits, latBits;
+    private final int lonCells, latCells;
+    private final double cellLonDeg, cellLatDeg;
+    private final ConcurrentHashMap<Long, Driver[]> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Driver, Long> cellOf = new ConcurrentHashMap<>();
+
+    GeohashDriverIndex(){
+        this(DEFAULT_PRECISION);
+    }
+
+    // precision in geohash characters (5 bits each), 1..12
+    GeohashDriverIndex(int precision){
+        if(precision < 1 || precision > 12){
+            throw new IllegalArgumentException("precision must be 1..12: " + precision);
+        }
+        int bits = 5 * precision;
+        this.lonBits = (bits + 1) / 2;
+        this.latBits = bits / 2;
+        this.lonCells = 1 << lonBits;
+        this.latCells = 1 << latBits;
+        this.cellLonDeg = 360.0 / lonCells;
+        this.cellLatDeg = 180.0 / latCells;
+    }
+
+    synchronized void add(Driver driver){
+        if(cellOf.containsKey(driver)){
+            return;
+        }
+        Location at = driver.getLocation();
+        long cell = key(cellX(at.getLongitude()), cellY(at.getLatitude()));
+        Driver[] bucket = buckets.get(cell);
+        Driver[] grown = bucket == null ? new Driver[1] : Arrays.copyOf(bucket, bucket.length + 1);
+        grown[grown.length - 1] = driver;
+        buckets.put(cell, grown);
+        cellOf.put(driver, cell);
+    }
+
+    // @return false if the driver was not in the index
+    synchronized boolean remove(Driver driver){
+        Long cell = cellOf.remove(driver);
+        if(cell == null){
+            return false;
+        }
+        Driver[] bucket = buckets.get(cell);
+        if(bucket.length == 1){
+            buckets.remove(cell);
+            return true;
+        }
+        Driver[] shrunk = new Driver[bucket.length - 1];
+        int n = 0;
+        for(Driver d : bucket){
+            if(d != driver){
+                shrunk[n++] = d;
+            }
+        }
+        buckets.put(cell, shrunk);
+        return true;
+    }
+
+    int size(){
+        return cellOf.size();
+    }
+
+    // nearest driver by great-circle distance, or null if the index is empty
+    Driver nearest(Location from){
+        return nearest(from, d -> true);
+    }
+
+    // nearest driver that passes 'filter' (e.g. not on a ride), or null
+    Driver nearest(Location from, Predicate<Driver> filter){
+        if(cellOf.isEmpty()){
+            return null;
+        }
+        double fx = (from.getLongitude() + 180) / cellLonDeg;
+        double fy = (from.getLatitude() + 90) / cellLatDeg;
+        int cx = clamp((int) Math.floor(fx), lonCells);
+        int cy = clamp((int) Math.floor(fy), latCells);
+        fx -= cx; // position inside the home cell, 0..1
+        fy -= cy;
+
+        Driver best = null;
+        double[] bestKm = {Double.MAX_VALUE};
+
+        for(int r = 0; ; r++){
+            if(best != null && reachOfRing(r, fx, fy, from.getLatitude()) >= bestKm[0]){
+                return best;
+            }
+            if(r > RING_LIMIT){
+                return nearestByScan(from, filter);
+            }
+            for(int dy = -r; dy <= r; dy++){
+                int y = cy + dy;
+                if(y < 0 || y >= latCells){
+                    continue;
+                }
+                // full rows at the ring's top and bottom, only the two side cells in between
+                int step = (dy == -r || dy == r) ? 1 : Math.max(1, 2 * r);
+                for(int dx = -r; dx <= r; dx += step){
+                    int x = Math.floorMod(cx + dx, lonCells); // wraps at the antimeridian
+                    Driver found = nearestIn(buckets.get(key(x, y)), from, filter, bestKm);
+                    if(found != null){
+                        best = found;
+                    }
+                }
+            }
+        }
+    }
+
+    // best driver in 'bucket' closer than bestKm[0] (which is lowered), or null
+    private Driver nearestIn(Driver[] bucket, Location from, Predicate<Driver> filter, double[] bestKm){
+        if(bucket == null){
+            return null;
+        }
+        Driver best = null;
+        for(Driver driver : bucket){
+            Location at = driver.getLocation();
+            if(from.approxDistance(at) > bestKm[0] * APPROX_SLACK || !filter.test(driver)){
+                continue;
+            }
+            double km = from.calcDistance(at);
+            if(km < bestKm[0]){
+                bestKm[0] = km;
+                best = driver;
+            }
+        }
+        return best;
+    }
+
+    private Driver nearestByScan(Location from, Predicate<Driver> filter){
+        Driver best = null;
+        double bestKm = Double.MAX_VALUE;
+        for(Driver driver : cellOf.keySet()){
+            if(!filter.test(driver)){
+                continue;
+            }
+            double km = from.calcDistance(driver.getLocation());
+            if(km < bestKm){
+                bestKm = km;
+                best = driver;
+            }
+        }
+        return best;
+    }
+
+    // Lower bound (km) on the distance from the query to any cell of ring r:
+    // the gap to the nearest inner edge of that ring. Longitude degrees are converted
+    // at the most poleward latitude the ring reaches, where they are shortest.
+    private double reachOfRing(int r, double fx, double fy, double latitude){
+        if(r == 0){
+            return 0;
+        }
+        double north = (r - fy) * cellLatDeg;
+        double south = (r - 1 + fy) * cellLatDeg;
+        double east = (r - fx) * cellLonDeg;
+        double west = (r - 1 + fx) * cellLonDeg;
+        double poleward = Math.min(90, Math.abs(latitude) + (r + 1) * cellLatDeg);
+        double lonKm = KM_PER_DEGREE * Math.cos(Math.toRadians(poleward));
+        return Math.min(Math.min(north, south) * KM_PER_DEGREE, Math.min(east, west) * lonKm);
+    }
+
+    private int cellX(double longitude){
+        return clamp((int) Math.floor((longitude + 180) / cellLonDeg), lonCells);
+    }
+
+    private int cellY(double latitude){
+        return clamp((int) Math.floor((latitude + 90) / cellLatDeg), latCells);
+    }
+
+    private static int clamp(int cell, int cells){
+        return Math.max(0, Math.min(cells - 1, cell));
+    }
+
+    // interleave longitude and latitude bits, longitude first, as geohash does
+    private long key(int x, int y){
+        long key = 0;
+        for(int i = lonBits - 1; i >= 0; i--){
+            key = (key << 1) | ((x >>> i) & 1);
+            int latBit = i - (lonBits - latBits);
+            if(latBit >= 0){
+                key = (key << 1) | ((y >>> latBit) & 1);
+            }
+        }
+        return key;
+    }
+
+    // Geohash string of a location, e.g. "tdr1w" for central Bangalore at 5 chars
+    static String geohash(Location at, int precision){
+        GeohashDriverIndex grid = new GeohashDriverIndex(precision);
+        long key = grid.key(grid.cellX(at.getLongitude()), grid.cellY(at.getLatitude()));
+        char[] chars = new char[precision];
+        for(int i = precision - 1; i >= 0; i--){
+            chars[i] = BASE32.charAt((int) (key & 31));
+            key >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,47 @@
+package p04_Design_Question.P1_Ride_Sharing_App_Simple.V2;
+
+//*************************************************
+// LOCATION
+//*************************************************
+class Location {
+    private double latitude;
+    private double longitude;
+    public Location(double latitude, double longitude) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    //Great-circle (haversine) distance in km
+    public double calcDistance(Location two){
+        double lat1 = Math.toRadians(this.latitude);
+        double lat2 = Math.toRadians(two.latitude);
+        double sinDLat = Math.sin((lat2 - lat1) / 2);
+        double sinDLon = Math.sin(Math.toRadians(two.longitude - this.longitude) / 2);
+        double h = sinDLat * sinDLat + Math.cos(lat1) * Math.cos(lat2) * sinDLon * sinDLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+
+    //Equirectangular approximation in km: one cos, no asin; within ~0.1% at city scale.
+    //Used to prune candidates before the exact calcDistance.
+    public double approxDistance(Location two){
+        double x = Math.toRadians(wrapLongitude(two.longitude - this.longitude))
+                * Math.cos(Math.toRadians((this.latitude + two.latitude) / 2));
+        double y = Math.toRadians(two.latitude - this.latitude);
+        return EARTH_RADIUS_KM * Math.sqrt(x * x + y * y);
+    }
+
+    private static double wrapLongitude(double degrees){
+        if(degrees > 180) return degrees - 360;
+        if(degrees < -180) return degrees + 360;
+        return degrees;
+    }
+}
@@ -0,0 +1,10 @@
+package p04_Design_Question.P1_Ride_Sharing_App_Simple.V2;
+
+class LuxuryStrategy implements FareStrategy{
+
+    @Override
+    public double calcFare(Vehicle vehicle, double distance) {
+        //additional 50% surcharge for luxury ride
+        return vehicle.getFarePerKm()*distance*1.5;
+    }
+}
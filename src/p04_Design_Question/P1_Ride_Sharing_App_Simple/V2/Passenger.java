@@ -0,0 +1,11 @@
+package p04_Design_Question.P1_Ride_Sharing_App_Simple.V2;
+
+class Passenger extends User{
+    public Passenger(String name, String email, Location location) {
+        super(name, email, location);
+    }
+    //any other methods??
+    public void notify(String msg){
+        System.out.println("passenger : " + msg);
+    }
+}
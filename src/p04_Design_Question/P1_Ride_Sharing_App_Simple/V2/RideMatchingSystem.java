@@ -0,0 +1,105 @@
+package p04_Design_Question.P1_Ride_Sharing_App_Simple.V2;
+
+//*************************************************
+// Ride Matching system
+//*************************************************
+class RideMatchingSystem{
+    //how long a driver has to accept an offered ride before it goes to someone else
+    static final long LEASE_MILLIS = 15_000;
+
+    //every registered driver, bucketed by geohash cell; busy drivers stay in and are filtered out
+    private GeohashDriverIndex driverIndex = new GeohashDriverIndex() ;
+    private DriverPool driverPool = new DriverPool(LEASE_MILLIS) ;
+
+    public void addDriver(Driver driver){
+        driverPool.register(driver) ;
+        driverIndex.add(driver) ;
+    }
+
+    //drivers must move through here so the index stays in step
+    public void updateDriverLocation(Driver driver, Location location){
+        boolean registered = driverIndex.remove(driver) ;
+        driver.setLocation(location) ;
+        if(registered){
+            driverIndex.add(driver) ;
+        }
+    }
+
+    //Safe to call from many threads at once
+    public void requestRide(Passenger passenger,double distance,FareStrategy fareStrategy){
+        //find the nearest available driver and hold them
+        DriverPool.Lease offer = matchDriver(passenger.getLocation());
+
+        //base case
+        if(offer == null){
+            //mechanism to notify the passenger
+            passenger.notify("No drivers are unavailable");
+            return;
+        }
+        Driver nearestDriver = offer.driver;
+
+        // passenger.notify("Ride schedule successfully" + nearestDriver);
+        Ride ride = new Ride(passenger,nearestDriver,distance,fareStrategy);
+        //Calc fare
+        ride.calculateFare();
+
+        nearestDriver.notify("You have a new ride request for "+ride.getFare());
+        //Mediator: the driver accepts; an offer left unanswered past the lease is void
+        DriverPool.Lease accepted = driverPool.confirm(offer);
+        if(accepted == null){
+            passenger.notify("Driver did not respond in time, please retry");
+            return;
+        }
+        passenger.notify("Ride schedued with fare + Rs"+ride.getFare());
+
+
+        //Change the Status of the Ride
+        ride.updateStatus(RideStatus.ONGOING);
+
+        //Change the status of ride after ride is finished
+        ride.updateStatus(RideStatus.COMPLETED);
+        driverPool.release(accepted);
+        return;
+    }
+
+    //Nearest available driver, already leased to the caller; null if nobody is free.
+    //Losing a race to another request just moves on to the next nearest.
+    DriverPool.Lease matchDriver(Location passengerLocation){
+        while(true){
+            Driver nearest = findNearestDriver(passengerLocation);
+            if(nearest == null){
+                return null;
+            }
+            DriverPool.Lease lease = driverPool.checkout(nearest);
+            if(lease != null){
+                return lease;
+            }
+        }
+    }
+
+    DriverPool pool(){
+        return driverPool;
+    }
+
+    Driver findNearestDriver(Location passengerLocation){
+        return driverIndex.nearest(passengerLocation, driverPool::isAvailable);
+    }
+
+    //Linear scan over every available driver; reference for the index
+    Driver findNearestDriverByScan(Location passengerLocation){
+        Driver assignedDriver = null;
+        double minDist = Double.MAX_VALUE;
+
+        for(Driver driver:driverPool.drivers()){
+            if(!driverPool.isAvailable(driver)){
+                continue;
+            }
+            double distance = driver.getLocation().calcDistance(passengerLocation);
+            if(distance<minDist){
+                minDist = distance;
+                assignedDriver = driver;
+            }
+        }
+        return assignedDriver;
+    }
+}
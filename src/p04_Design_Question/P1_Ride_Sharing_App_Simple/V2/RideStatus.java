@@ -0,0 +1,5 @@
+package p04_Design_Question.P1_Ride_Sharing_App_Simple.V2;
+
+enum RideStatus{
+    SCHEDULED, ONGOING, COMPLETED;
+}
@@ -0,0 +1,9 @@
+package p04_Design_Question.P1_Ride_Sharing_App_Simple.V2;
+
+class SharedFareStrategy implements FareStrategy{
+
+    @Override
+    public double calcFare(Vehicle vehicle, double distance) {
+        return vehicle.getFarePerKm()*distance*.50;
+    }
+}
@@ -0,0 +1,25 @@
+package p04_Design_Question.P1_Ride_Sharing_App_Simple.V2;
+
+//*************************************************
+// USER : deriver and passenger both extend user
+//*************************************************
+class User{
+    protected String name ;
+    protected  String email ;
+    protected Location location ;
+
+    public User(String name , String email , Location location){
+        this.name = name ;
+        this.name = name ;
+        this.location = location ;
+    }
+
+    // Setter
+    public Location getLocation(){
+        return location ;
+    }
+
+    public void setLocation(Location location){
+        this.location = location ;
+    }
+}
@@ -0,0 +1,14 @@
+package p04_Design_Question.P1_Ride_Sharing_App_Simple.V2;
+
+//*************************************************
+// Vehicle : driver have vehicle different type
+//*************************************************
+abstract class Vehicle {
+    protected String numberPlate;
+
+    public Vehicle(String numberPlate){
+        this.numberPlate = numberPlate;
+    }
+    //Fare Calc
+    public abstract double getFarePerKm();
+}
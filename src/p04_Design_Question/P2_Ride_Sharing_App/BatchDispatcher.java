@@ -0,0 +1,257 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BatchDispatcher
+ * Sits on top of DispatchCenter. Instead of giving each passenger the nearest driver the
+ * moment they ask (greedy), requests are collected for a short window (e.g. 200 ms) and then
+ * matched together, one assignment problem per VehicleType:
+ *
+ *   rows    = pending passengers of that type
+ *   columns = union of the k nearest available drivers of every passenger in the batch
+ *   cost    = pickup distance
+ *
+ * The Hungarian algorithm gives the assignment with the lowest total pickup distance.
+ * Drivers are still claimed with Driver.tryReserve(), so greedy requests running at the same
+ * time are safe; if a planned driver was taken meanwhile, that passenger falls back to greedy.
+ */
+class BatchDispatcher implements AutoCloseable {
+
+    static final long DEFAULT_WINDOW_MILLIS = 200;
+    static final int DEFAULT_CANDIDATES_PER_REQUEST = 5;
+    // Hungarian is O(n^2 * m); bigger batches are solved in chunks of this many passengers
+    private static final int MAX_ROWS_PER_SOLVE = 300;
+
+    private static class PendingRequest {
+        final Passenger passenger;
+        final Location from;
+        final Location to;
+        final VehicleType type;
+        final FareStrategy strategy;
+        final long requestedAt = System.nanoTime();
+        final CompletableFuture<Optional<Ride>> result = new CompletableFuture<>();
+
+        PendingRequest(Passenger passenger, Location from, Location to, VehicleType type, FareStrategy strategy) {
+            this.passenger = passenger;
+            this.from = from;
+            this.to = to;
+            this.type = type;
+            this.strategy = strategy;
+        }
+    }
+
+    private final DispatchCenter dispatch;
+    private final int candidatesPerRequest;
+    private final ConcurrentLinkedQueue<PendingRequest> pending = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean closed;
+
+    // batch-only stats; ride-level numbers live in dispatch.metrics()
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedRequests = new LongAdder();
+    private final LongAdder solveNanos = new LongAdder();
+    private final LongAdder plannedDriverLost = new LongAdder();
+
+    BatchDispatcher(DispatchCenter dispatch) {
+        this(dispatch, DEFAULT_WINDOW_MILLIS, DEFAULT_CANDIDATES_PER_REQUEST);
+    }
+
+    BatchDispatcher(DispatchCenter dispatch, long windowMillis, int candidatesPerRequest) {
+        if (windowMillis <= 0) throw new IllegalArgumentException("windowMillis must be positive: " + windowMillis);
+        if (candidatesPerRequest <= 0) throw new IllegalArgumentException("candidatesPerRequest must be positive: " + candidatesPerRequest);
+        this.dispatch = dispatch;
+        this.candidatesPerRequest = candidatesPerRequest;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "batch-dispatcher");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(this::flush, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queue a ride request for the next batch.
+     * The future completes when the batch is matched - empty if no driver could be assigned.
+     * After close() it completes exceptionally with IllegalStateException.
+     */
+    public CompletableFuture<Optional<Ride>> submit(Passenger passenger, Location from, Location to, VehicleType type, FareStrategy strategy) {
+        PendingRequest req = new PendingRequest(passenger, from, to, type, strategy);
+        if (closed) {
+            req.result.completeExceptionally(new IllegalStateException("BatchDispatcher is closed"));
+            return req.result;
+        }
+        pending.add(req);
+        // close() may have run its final flush between the check and the add
+        if (closed && pending.remove(req)) {
+            req.result.completeExceptionally(new IllegalStateException("BatchDispatcher is closed"));
+        }
+        return req.result;
+    }
+
+    // Runs on the scheduler thread once per window
+    void flush() {
+        List<PendingRequest> batch = new ArrayList<>();
+        for (PendingRequest r; (r = pending.poll()) != null; ) batch.add(r);
+        if (batch.isEmpty()) return;
+        batches.increment();
+        batchedRequests.add(batch.size());
+
+        Map<VehicleType, List<PendingRequest>> byType = new EnumMap<>(VehicleType.class);
+        for (PendingRequest r : batch) byType.computeIfAbsent(r.type, t -> new ArrayList<>()).add(r);
+
+        for (Map.Entry<VehicleType, List<PendingRequest>> e : byType.entrySet()) {
+            List<PendingRequest> requests = e.getValue();
+            // sweep order keeps each chunk spatially close, so chunks rarely compete for the same drivers
+            if (requests.size() > MAX_ROWS_PER_SOLVE) requests.sort(Comparator.comparingDouble(r -> r.from.x));
+            for (int from = 0; from < requests.size(); from += MAX_ROWS_PER_SOLVE) {
+                List<PendingRequest> chunk = requests.subList(from, Math.min(requests.size(), from + MAX_ROWS_PER_SOLVE));
+                try {
+                    matchChunk(e.getKey(), chunk);
+                } catch (RuntimeException ex) {
+                    for (PendingRequest r : chunk) r.result.completeExceptionally(ex);
+                }
+            }
+        }
+    }
+
+    private void matchChunk(VehicleType type, List<PendingRequest> requests) {
+        // Candidate drivers: union of each passenger's k nearest, in first-seen order
+        Map<Driver, Integer> column = new LinkedHashMap<>();
+        for (PendingRequest r : requests) {
+            for (Driver d : dispatch.findNearestK(r.from, type, candidatesPerRequest)) {
+                column.putIfAbsent(d, column.size());
+            }
+        }
+        Driver[] drivers = column.keySet().toArray(new Driver[0]);
+
+        int[] plan = new int[requests.size()];
+        Arrays.fill(plan, -1);
+        if (drivers.length > 0) {
+            long t0 = System.nanoTime();
+            double[][] cost = new double[requests.size()][drivers.length];
+            for (int i = 0; i < requests.size(); i++) {
+                Location from = requests.get(i).from;
+                for (int j = 0; j < drivers.length; j++) {
+                    cost[i][j] = drivers[j].getLocation().distanceTo(from);
+                }
+            }
+            plan = solveAssignment(cost);
+            solveNanos.add(System.nanoTime() - t0);
+        }
+
+        // Claim every planned driver first, so fallbacks below cannot steal another row's match
+        Driver[] reserved = new Driver[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            if (plan[i] < 0) continue;
+            if (drivers[plan[i]].tryReserve()) reserved[i] = drivers[plan[i]];
+            else plannedDriverLost.increment(); // a greedy request grabbed it after we planned
+        }
+
+        for (int i = 0; i < requests.size(); i++) {
+            PendingRequest r = requests.get(i);
+            Driver driver = reserved[i];
+            if (driver == null) driver = dispatch.reserveNearest(r.from, type);
+
+            if (driver == null) {
+                dispatch.metrics().recordUnmatched();
+                r.result.complete(Optional.empty());
+            } else {
+                r.result.complete(Optional.of(dispatch.assign(r.passenger, driver, r.from, r.to, r.strategy, r.requestedAt)));
+            }
+        }
+    }
+
+    /**
+     * Hungarian algorithm (potentials / shortest augmenting path), O(n^2 * m) for n <= m.
+     * @param cost rows x cols matrix
+     * @return for every row the assigned column, or -1 when there are more rows than columns
+     */
+    static int[] solveAssignment(double[][] cost) {
+        int rows = cost.length;
+        int cols = rows == 0 ? 0 : cost[0].length;
+        int[] result = new int[rows];
+        Arrays.fill(result, -1);
+        if (rows == 0 || cols == 0) return result;
+
+        if (rows > cols) {
+            // solve the transposed problem so that n <= m holds
+            double[][] t = new double[cols][rows];
+            for (int i = 0; i < rows; i++) for (int j = 0; j < cols; j++) t[j][i] = cost[i][j];
+            int[] colToRow = solveAssignment(t);
+            for (int j = 0; j < cols; j++) if (colToRow[j] >= 0) result[colToRow[j]] = j;
+            return result;
+        }
+
+        int n = rows, m = cols;
+        // 1-indexed as in the textbook formulation; p[j] = row matched to column j (0 = none)
+        double[] u = new double[n + 1];
+        double[] v = new double[m + 1];
+        int[] p = new int[m + 1];
+        int[] way = new int[m + 1];
+        double[] minv = new double[m + 1];
+        boolean[] used = new boolean[m + 1];
+
+        for (int i = 1; i <= n; i++) {
+            p[0] = i;
+            int j0 = 0;
+            Arrays.fill(minv, Double.MAX_VALUE);
+            Arrays.fill(used, false);
+            do {
+                used[j0] = true;
+                int i0 = p[j0], j1 = 0;
+                double delta = Double.MAX_VALUE;
+                for (int j = 1; j <= m; j++) {
+                    if (used[j]) continue;
+                    double cur = cost[i0 - 1][j - 1] - u[i0] - v[j];
+                    if (cur < minv[j]) { minv[j] = cur; way[j] = j0; }
+                    if (minv[j] < delta) { delta = minv[j]; j1 = j; }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) { u[p[j]] += delta; v[j] -= delta; }
+                    else minv[j] -= delta;
+                }
+                j0 = j1;
+            } while (p[j0] != 0);
+            do {
+                int j1 = way[j0];
+                p[j0] = p[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        for (int j = 1; j <= m; j++) if (p[j] != 0) result[p[j] - 1] = j - 1;
+        return result;
+    }
+
+    long batches() { return batches.sum(); }
+
+    double avgBatchSize() {
+        long b = batches.sum();
+        return b == 0 ? 0 : (double) batchedRequests.sum() / b;
+    }
+
+    double avgSolveMillis() {
+        long b = batches.sum();
+        return b == 0 ? 0 : solveNanos.sum() / 1e6 / b;
+    }
+
+    long plannedDriverLost() { return plannedDriverLost.sum(); }
+
+    // Stop the window timer and match whatever is still queued
+    @Override
+    public void close() {
+        closed = true;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+}
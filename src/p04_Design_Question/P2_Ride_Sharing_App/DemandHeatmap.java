@@ -0,0 +1,136 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.Location;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * DemandHeatmap
+ * Fixed grid of cells over a rectangular city area. Each cell counts ride requests (demand) and
+ * drivers becoming available (supply) over a sliding window made of 'buckets' time slices.
+ *
+ * Everything lives in flat AtomicLongArrays indexed by (cell, bucket):
+ * - updates are a single atomic increment (plus a rare CAS when a bucket rolls over)
+ * - reads sum the live buckets of one cell: no locks, no allocation
+ * - pressureAt() (the pricing hot path) caches the ratio per cell for a tenth of a bucket, in arrays
+ *   separate from the counters, so fare lookups mostly read one cache line writers never touch
+ * Bucket roll-over is best effort: an increment racing with the reset may be lost, which is fine
+ * for a pricing signal.
+ */
+class DemandHeatmap {
+
+    private final double originX, originY, cellSize;
+    private final int cols, rows;
+    private final int buckets;
+    private final long bucketMillis;
+    private final LongSupplier clock;
+
+    // [cell * buckets + slot]
+    private final AtomicLongArray demand;
+    private final AtomicLongArray supply;
+    private final AtomicLongArray slotEpoch; // which time slice each slot currently holds
+
+    // [cell]: last computed demand/supply ratio (as double bits) and when it was computed
+    private final long refreshMillis;
+    private final AtomicLongArray cachedPressure;
+    private final AtomicLongArray cachedAt;
+
+    /**
+     * @param originX      left edge of the covered area
+     * @param originY      bottom edge of the covered area
+     * @param cellSize     cell side, same unit as Location
+     * @param cols         cells along x
+     * @param rows         cells along y
+     * @param windowMillis length of the sliding window
+     * @param buckets      time slices per window (more = smoother sliding, slightly slower reads)
+     */
+    DemandHeatmap(double originX, double originY, double cellSize, int cols, int rows, long windowMillis, int buckets) {
+        this(originX, originY, cellSize, cols, rows, windowMillis, buckets, System::currentTimeMillis);
+    }
+
+    DemandHeatmap(double originX, double originY, double cellSize, int cols, int rows, long windowMillis, int buckets, LongSupplier clock) {
+        if (cellSize <= 0 || cols <= 0 || rows <= 0) throw new IllegalArgumentException("grid must be non-empty");
+        if (buckets <= 0 || windowMillis < buckets) throw new IllegalArgumentException("window must hold at least one ms per bucket");
+        this.originX = originX;
+        this.originY = originY;
+        this.cellSize = cellSize;
+        this.cols = cols;
+        this.rows = rows;
+        this.buckets = buckets;
+        this.bucketMillis = windowMillis / buckets;
+        this.clock = clock;
+        int slots = cols * rows * buckets;
+        this.demand = new AtomicLongArray(slots);
+        this.supply = new AtomicLongArray(slots);
+        this.slotEpoch = new AtomicLongArray(slots);
+        this.refreshMillis = Math.max(1, bucketMillis / 10);
+        this.cachedPressure = new AtomicLongArray(cols * rows);
+        this.cachedAt = new AtomicLongArray(cols * rows);
+        for (int i = 0; i < cols * rows; i++) cachedAt.set(i, Long.MIN_VALUE / 2); // forces first computation
+    }
+
+    void recordRequest(Location at) { record(demand, at); }
+
+    void recordAvailableDriver(Location at) { record(supply, at); }
+
+    /** @return requests in the window for the cell holding 'at' (0 outside the grid) */
+    long demandAt(Location at) { return windowSum(demand, cellOf(at), clock.getAsLong() / bucketMillis); }
+
+    /** @return drivers that became available in the window for the cell holding 'at' (0 outside the grid) */
+    long supplyAt(Location at) { return windowSum(supply, cellOf(at), clock.getAsLong() / bucketMillis); }
+
+    /**
+     * Demand / supply ratio used by SurgeFareStrategy. Allocation-free; at most refreshMillis stale.
+     * @return 0 outside the grid or with no demand; demand itself when there is no supply at all
+     */
+    double pressureAt(Location at) {
+        int cell = cellOf(at);
+        if (cell < 0) return 0;
+        long nowMillis = clock.getAsLong();
+        if (nowMillis - cachedAt.get(cell) < refreshMillis) {
+            return Double.longBitsToDouble(cachedPressure.get(cell));
+        }
+        // stale: recompute; racing readers may both do it, the result is the same
+        long now = nowMillis / bucketMillis;
+        long d = windowSum(demand, cell, now);
+        double pressure = (d == 0) ? 0 : (double) d / Math.max(1, windowSum(supply, cell, now));
+        cachedPressure.set(cell, Double.doubleToRawLongBits(pressure));
+        cachedAt.set(cell, nowMillis);
+        return pressure;
+    }
+
+    /* ----------------------------- internals ----------------------------- */
+
+    private void record(AtomicLongArray counters, Location at) {
+        int cell = cellOf(at);
+        if (cell < 0) return;
+        long epoch = clock.getAsLong() / bucketMillis;
+        int idx = cell * buckets + (int) (epoch % buckets);
+        long seen = slotEpoch.get(idx);
+        if (seen < epoch && slotEpoch.compareAndSet(idx, seen, epoch)) {
+            // first writer of a new time slice clears what the slot held a full window ago
+            demand.set(idx, 0);
+            supply.set(idx, 0);
+        }
+        counters.incrementAndGet(idx);
+    }
+
+    private long windowSum(AtomicLongArray counters, int cell, long now) {
+        if (cell < 0) return 0;
+        long total = 0;
+        int base = cell * buckets;
+        for (int i = 0; i < buckets; i++) {
+            // only slots written during the last 'buckets' slices count
+            if (now - slotEpoch.get(base + i) < buckets) total += counters.get(base + i);
+        }
+        return total;
+    }
+
+    private int cellOf(Location at) {
+        int cx = (int) Math.floor((at.x - originX) / cellSize);
+        int cy = (int) Math.floor((at.y - originY) / cellSize);
+        if (cx < 0 || cy < 0 || cx >= cols || cy >= rows) return -1;
+        return cy * cols + cx;
+    }
+}
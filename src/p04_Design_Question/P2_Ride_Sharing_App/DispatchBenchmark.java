@@ -0,0 +1,82 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.DispatchCenter;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.Driver;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.Location;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.Vehicle;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.VehicleType;
+
+import java.util.Random;
+
+/**
+ * DispatchBenchmark
+ * Compares nearest-driver lookup: linear scan over every driver vs DriverGridIndex.
+ * Drivers are spread uniformly over a CITY_KM x CITY_KM city, split across all VehicleTypes.
+ *
+ * Run: java p04_Design_Question.P2_Ride_Sharing_App.DispatchBenchmark
+ * (1M drivers needs roughly -Xmx2g)
+ */
+public class DispatchBenchmark {
+
+    private static final double CITY_KM = 50.0;
+    private static final int[] FLEET_SIZES = {1_000, 100_000, 1_000_000};
+
+    public static void main(String[] args) {
+        System.out.println("=== Nearest-driver lookup: scan vs grid ===");
+        System.out.printf("%-10s %15s %15s %10s%n", "drivers", "scan ns/op", "grid ns/op", "speedup");
+
+        for (int n : FLEET_SIZES) {
+            Random rnd = new Random(42);
+            DispatchCenter dispatch = new DispatchCenter(0.5);
+            VehicleType[] types = VehicleType.values();
+            for (int i = 0; i < n; i++) {
+                VehicleType type = types[i % types.length];
+                dispatch.registerDriver(new Driver(i, "D" + i, new Vehicle(type, "PL" + i, 10.0), randomLocation(rnd)));
+            }
+
+            // Fewer scan queries on big fleets, otherwise the baseline alone takes minutes
+            int scanQueries = Math.max(50, 20_000_000 / n);
+            int gridQueries = 200_000;
+            Location[] queries = new Location[Math.max(scanQueries, gridQueries)];
+            for (int i = 0; i < queries.length; i++) queries[i] = randomLocation(rnd);
+
+            // Sanity check: both paths must agree on the distance of the winner
+            for (int i = 0; i < Math.min(scanQueries, 100); i++) {
+                VehicleType type = types[i % types.length];
+                Driver a = dispatch.findNearestByScan(queries[i], type);
+                Driver b = dispatch.findNearest(queries[i], type);
+                if (a.getLocation().squaredDistanceTo(queries[i]) != b.getLocation().squaredDistanceTo(queries[i])) {
+                    throw new IllegalStateException("grid disagrees with scan for query " + queries[i]);
+                }
+            }
+
+            double scanNs = time(dispatch, queries, scanQueries, true);
+            double gridNs = time(dispatch, queries, gridQueries, false);
+            System.out.printf("%-10d %15.0f %15.0f %9.1fx%n", n, scanNs, gridNs, scanNs / gridNs);
+        }
+    }
+
+    private static double time(DispatchCenter dispatch, Location[] queries, int count, boolean scan) {
+        VehicleType[] types = VehicleType.values();
+        long sink = 0;
+        // warm-up pass so the JIT has compiled the lookup before we measure
+        for (int i = 0; i < Math.min(count, 10_000); i++) {
+            Driver d = scan ? dispatch.findNearestByScan(queries[i], types[i % types.length])
+                            : dispatch.findNearest(queries[i], types[i % types.length]);
+            sink += d.id;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            Driver d = scan ? dispatch.findNearestByScan(queries[i], types[i % types.length])
+                            : dispatch.findNearest(queries[i], types[i % types.length]);
+            sink += d.id;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) System.out.print(""); // keep the results alive
+        return (double) elapsed / count;
+    }
+
+    private static Location randomLocation(Random rnd) {
+        return new Location(rnd.nextDouble() * CITY_KM, rnd.nextDouble() * CITY_KM);
+    }
+}
@@ -0,0 +1,107 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DispatchStressHarness
+ * Many request threads hammer one DispatchCenter while a churn thread keeps registering
+ * and removing drivers. Every assigned driver carries an "in ride" counter; if it ever
+ * goes above 1 the same driver was handed to two passengers at once.
+ *
+ * Run: java p04_Design_Question.P2_Ride_Sharing_App.DispatchStressHarness
+ */
+public class DispatchStressHarness {
+
+    private static final int THREADS = 16;
+    private static final int DRIVERS = 200;          // few drivers -> lots of CAS contention
+    private static final int REQUESTS_PER_THREAD = 50_000;
+
+    // Silent observers: the stress run is about dispatch, not console output
+    static class QuietPassenger extends Passenger {
+        QuietPassenger(int id) { super(id, "P" + id); }
+        @Override public void update(Ride ride, RideStatus status, String message) { }
+    }
+
+    static class QuietDriver extends Driver {
+        final AtomicInteger inRide = new AtomicInteger();
+        QuietDriver(int id, Location loc) { super(id, "D" + id, new Vehicle(VehicleType.CAR, "KA" + id, 10.0), loc); }
+        @Override public void update(Ride ride, RideStatus status, String message) { }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== DispatchCenter concurrent stress ===");
+        DispatchCenter dispatch = new DispatchCenter();
+        Random seed = new Random(7);
+        for (int i = 0; i < DRIVERS; i++) {
+            dispatch.registerDriver(new QuietDriver(i, new Location(seed.nextDouble() * 10, seed.nextDouble() * 10)));
+        }
+
+        AtomicLong rides = new AtomicLong();
+        AtomicLong misses = new AtomicLong();
+        AtomicLong doubleBookings = new AtomicLong();
+        FareStrategy fare = new StandardFareStrategy();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            final int threadId = t;
+            workers.add(pool.submit(() -> {
+                Random rnd = new Random(threadId);
+                Passenger p = new QuietPassenger(1000 + threadId);
+                start.await();
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    Location from = new Location(rnd.nextDouble() * 10, rnd.nextDouble() * 10);
+                    Location to = new Location(rnd.nextDouble() * 10, rnd.nextDouble() * 10);
+                    Optional<Ride> r = dispatch.requestRide(p, from, to, VehicleType.CAR, fare);
+                    if (!r.isPresent()) { misses.incrementAndGet(); continue; }
+
+                    Ride ride = r.get();
+                    QuietDriver d = (QuietDriver) ride.driver;
+                    if (d.inRide.incrementAndGet() != 1) doubleBookings.incrementAndGet();
+                    ride.startRide();
+                    ride.completeRide();
+                    d.inRide.decrementAndGet(); // must drop before the driver is released again
+                    dispatch.finishRide(ride);
+                    rides.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        // Churn: keep adding and removing extra drivers while requests run
+        AtomicInteger nextId = new AtomicInteger(DRIVERS);
+        Future<?> churn = pool.submit(() -> {
+            Random rnd = new Random(99);
+            Deque<QuietDriver> extra = new ArrayDeque<>();
+            start.await();
+            while (!Thread.currentThread().isInterrupted()) {
+                QuietDriver d = new QuietDriver(nextId.getAndIncrement(), new Location(rnd.nextDouble() * 10, rnd.nextDouble() * 10));
+                dispatch.registerDriver(d);
+                extra.add(d);
+                if (extra.size() > 50) dispatch.removeDriver(extra.poll());
+            }
+            return null;
+        });
+
+        long t0 = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : workers) f.get();
+        long elapsedMs = (System.nanoTime() - t0) / 1_000_000;
+        churn.cancel(true);
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        System.out.printf("threads=%d rides=%d no-driver=%d churned drivers=%d time=%d ms (%.0f rides/s)%n",
+                THREADS, rides.get(), misses.get(), nextId.get() - DRIVERS, elapsedMs, rides.get() * 1000.0 / Math.max(1, elapsedMs));
+        System.out.println("Double bookings: " + doubleBookings.get());
+        if (doubleBookings.get() != 0) throw new IllegalStateException("driver double-booked!");
+        System.out.println("OK - no driver was ever assigned to two rides at once");
+    }
+}
@@ -0,0 +1,221 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.Driver;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.DriverMoveListener;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.Location;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.VehicleType;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * DriverGridIndex
+ * Uniform grid over Location space, one grid per VehicleType.
+ * - Every registered driver sits in exactly one square cell of side 'cellSize'
+ * - nearest() searches outward ring by ring from the passenger's cell and stops once
+ *   no unvisited ring can contain anything closer than the best match so far
+ * - Moves are incremental: only the old and new cell are touched
+ *
+ * Concurrency: each cell is an immutable Driver[] inside a ConcurrentHashMap and is replaced
+ * copy-on-write, so nearest() never takes a lock and never sees a half-updated cell.
+ * A lookup racing with a move may miss that one driver; callers re-check availability anyway.
+ */
+class DriverGridIndex implements DriverMoveListener {
+
+    static final double DEFAULT_CELL_SIZE = 1.0; // km
+
+    private static final Driver[] EMPTY = new Driver[0];
+
+    private static class Grid {
+        final ConcurrentHashMap<Long, Driver[]> cells = new ConcurrentHashMap<>();
+        final AtomicInteger size = new AtomicInteger();
+        // Bounding box of every cell ever used (grow-only); caps how far a ring search can go
+        final AtomicInteger minCx = new AtomicInteger(Integer.MAX_VALUE);
+        final AtomicInteger maxCx = new AtomicInteger(Integer.MIN_VALUE);
+        final AtomicInteger minCy = new AtomicInteger(Integer.MAX_VALUE);
+        final AtomicInteger maxCy = new AtomicInteger(Integer.MIN_VALUE);
+    }
+
+    private final double cellSize;
+    private final Map<VehicleType, Grid> grids = new EnumMap<>(VehicleType.class); // filled once, read-only after
+    private final ConcurrentHashMap<Driver, Long> cellOf = new ConcurrentHashMap<>();
+
+    DriverGridIndex(double cellSize) {
+        if (cellSize <= 0) throw new IllegalArgumentException("cellSize must be positive: " + cellSize);
+        this.cellSize = cellSize;
+        for (VehicleType type : VehicleType.values()) grids.put(type, new Grid());
+    }
+
+    void add(Driver driver) {
+        Location loc = driver.getLocation();
+        int cx = cellCoord(loc.x);
+        int cy = cellCoord(loc.y);
+        if (cellOf.putIfAbsent(driver, key(cx, cy)) != null) return; // already indexed
+        Grid grid = grids.get(driver.vehicle.type);
+        insert(grid, driver, cx, cy);
+        grid.size.incrementAndGet();
+    }
+
+    void remove(Driver driver) {
+        Long key = cellOf.remove(driver);
+        if (key == null) return;
+        Grid grid = grids.get(driver.vehicle.type);
+        removeFromCell(grid, key, driver);
+        grid.size.decrementAndGet();
+    }
+
+    @Override
+    public void onDriverMoved(Driver driver, Location oldLocation, Location newLocation) {
+        Long oldKey = cellOf.get(driver);
+        if (oldKey == null) return; // not indexed (e.g. removed from dispatch)
+        int cx = cellCoord(newLocation.x);
+        int cy = cellCoord(newLocation.y);
+        long newKey = key(cx, cy);
+        if (oldKey == newKey) return; // still in the same cell, nothing to do
+        if (!cellOf.replace(driver, oldKey, newKey)) return; // removed or moved concurrently
+
+        // Insert before removing so a concurrent lookup never finds the driver in neither cell
+        Grid grid = grids.get(driver.vehicle.type);
+        insert(grid, driver, cx, cy);
+        removeFromCell(grid, oldKey, driver);
+    }
+
+    /**
+     * @param from   passenger location
+     * @param type   requested vehicle type
+     * @param filter extra condition a driver must meet (e.g. availability)
+     * @return nearest matching driver, or null if none
+     */
+    Driver nearest(Location from, VehicleType type, Predicate<Driver> filter) {
+        Grid grid = grids.get(type);
+        if (grid.size.get() == 0) return null;
+
+        // Snapshot the bounds once; they only ever grow
+        int minCx = grid.minCx.get(), maxCx = grid.maxCx.get();
+        int minCy = grid.minCy.get(), maxCy = grid.maxCy.get();
+        int cx = cellCoord(from.x);
+        int cy = cellCoord(from.y);
+        int maxRing = Math.max(Math.max(cx - minCx, maxCx - cx), Math.max(cy - minCy, maxCy - cy));
+
+        Driver best = null;
+        double bestSq = Double.MAX_VALUE;
+        for (int r = 0; r <= maxRing; r++) {
+            if (best != null && r > 0) {
+                // Closest any point of ring r can be: distance from 'from' to the inner edge of that ring
+                double reach = Math.min(
+                        Math.min(from.x - (cx - r + 1) * cellSize, (cx + r) * cellSize - from.x),
+                        Math.min(from.y - (cy - r + 1) * cellSize, (cy + r) * cellSize - from.y));
+                if (reach * reach >= bestSq) break;
+            }
+
+            for (int x = Math.max(cx - r, minCx); x <= Math.min(cx + r, maxCx); x++) {
+                boolean edgeColumn = (x == cx - r || x == cx + r);
+                // edge columns of the ring cover every row; interior columns only the top and bottom row
+                int yStep = edgeColumn ? 1 : Math.max(2 * r, 1);
+                for (int y = cy - r; y <= cy + r; y += yStep) {
+                    if (y < minCy || y > maxCy) continue;
+                    Driver[] cell = grid.cells.get(key(x, y));
+                    if (cell == null) continue;
+                    for (Driver d : cell) {
+                        double dist = d.getLocation().squaredDistanceTo(from);
+                        if (dist < bestSq && filter.test(d)) { bestSq = dist; best = d; }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Same ring search as nearest(), but keeps the k closest matches (closest first).
+     * Used by BatchDispatcher to build the candidate set for an assignment round.
+     */
+    List<Driver> nearestK(Location from, VehicleType type, int k, Predicate<Driver> filter) {
+        Grid grid = grids.get(type);
+        if (k <= 0 || grid.size.get() == 0) return Collections.emptyList();
+
+        int minCx = grid.minCx.get(), maxCx = grid.maxCx.get();
+        int minCy = grid.minCy.get(), maxCy = grid.maxCy.get();
+        int cx = cellCoord(from.x);
+        int cy = cellCoord(from.y);
+        int maxRing = Math.max(Math.max(cx - minCx, maxCx - cx), Math.max(cy - minCy, maxCy - cy));
+
+        // small sorted arrays: k is tiny, insertion sort beats a heap here
+        Driver[] found = new Driver[k];
+        double[] foundSq = new double[k];
+        int count = 0;
+        for (int r = 0; r <= maxRing; r++) {
+            if (count == k && r > 0) {
+                double reach = Math.min(
+                        Math.min(from.x - (cx - r + 1) * cellSize, (cx + r) * cellSize - from.x),
+                        Math.min(from.y - (cy - r + 1) * cellSize, (cy + r) * cellSize - from.y));
+                if (reach * reach >= foundSq[k - 1]) break;
+            }
+
+            for (int x = Math.max(cx - r, minCx); x <= Math.min(cx + r, maxCx); x++) {
+                boolean edgeColumn = (x == cx - r || x == cx + r);
+                int yStep = edgeColumn ? 1 : Math.max(2 * r, 1);
+                for (int y = cy - r; y <= cy + r; y += yStep) {
+                    if (y < minCy || y > maxCy) continue;
+                    Driver[] cell = grid.cells.get(key(x, y));
+                    if (cell == null) continue;
+                    for (Driver d : cell) {
+                        double dist = d.getLocation().squaredDistanceTo(from);
+                        if (count == k && dist >= foundSq[k - 1]) continue;
+                        if (!filter.test(d)) continue;
+                        int i = (count < k) ? count++ : k - 1;
+                        while (i > 0 && foundSq[i - 1] > dist) {
+                            found[i] = found[i - 1];
+                            foundSq[i] = foundSq[i - 1];
+                            i--;
+                        }
+                        found[i] = d;
+                        foundSq[i] = dist;
+                    }
+                }
+            }
+        }
+        return Arrays.asList(found).subList(0, count);
+    }
+
+    int size() { return cellOf.size(); }
+
+    /* ----------------------------- helpers ----------------------------- */
+
+    private void insert(Grid grid, Driver driver, int cx, int cy) {
+        // Grow bounds first so a reader that can see the new cell also searches far enough to reach it
+        grid.minCx.accumulateAndGet(cx, Math::min);
+        grid.maxCx.accumulateAndGet(cx, Math::max);
+        grid.minCy.accumulateAndGet(cy, Math::min);
+        grid.maxCy.accumulateAndGet(cy, Math::max);
+        grid.cells.compute(key(cx, cy), (k, cell) -> {
+            if (cell == null) cell = EMPTY;
+            Driver[] next = Arrays.copyOf(cell, cell.length + 1);
+            next[cell.length] = driver;
+            return next;
+        });
+    }
+
+    private void removeFromCell(Grid grid, long key, Driver driver) {
+        grid.cells.computeIfPresent(key, (k, cell) -> {
+            int i = 0;
+            while (i < cell.length && cell[i] != driver) i++;
+            if (i == cell.length) return cell;
+            if (cell.length == 1) return null; // drop empty cells
+            // swap-remove: order inside a cell does not matter
+            Driver[] next = Arrays.copyOf(cell, cell.length - 1);
+            if (i < next.length) next[i] = cell[cell.length - 1];
+            return next;
+        });
+    }
+
+    private int cellCoord(double v) {
+        return (int) Math.floor(v / cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+}
@@ -0,0 +1,73 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * FareStats
+ * Running aggregate for one slice of completed rides (one VehicleType or one FareStrategy).
+ * - count / revenue / distance are adders: O(1) to record and to read
+ * - p50 / p99 come from a fixed log-scale histogram (1% wide buckets), so a percentile
+ *   query walks a constant number of buckets and never touches ride history
+ */
+class FareStats {
+
+    private static final double GROWTH = 1.01;
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+    // bucket 0 = [0, 1); bucket i = [1.01^(i-1), 1.01^i); the last bucket also takes everything above ~1.1M
+    private static final int BUCKETS = 1400;
+
+    private final LongAdder count = new LongAdder();
+    private final DoubleAdder revenue = new DoubleAdder();
+    private final DoubleAdder distanceKm = new DoubleAdder();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    void record(double fare, double distance) {
+        count.increment();
+        revenue.add(fare);
+        distanceKm.add(distance);
+        histogram.incrementAndGet(bucketOf(fare));
+    }
+
+    long count() { return count.sum(); }
+    double revenue() { return revenue.sum(); }
+    double distanceKm() { return distanceKm.sum(); }
+
+    double avgFare() {
+        long n = count.sum();
+        return n == 0 ? 0 : revenue.sum() / n;
+    }
+
+    double p50() { return percentile(0.50); }
+    double p99() { return percentile(0.99); }
+
+    /** @param q quantile in (0, 1]; accurate to about 1% of the value */
+    double percentile(double q) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) total += histogram.get(i);
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram.get(i);
+            if (seen >= rank) return midpoint(i);
+        }
+        return midpoint(BUCKETS - 1);
+    }
+
+    private static int bucketOf(double fare) {
+        if (fare < 1) return 0;
+        return Math.min(BUCKETS - 1, 1 + (int) (Math.log(fare) / LOG_GROWTH));
+    }
+
+    private static double midpoint(int bucket) {
+        if (bucket == 0) return 0.5;
+        return Math.pow(GROWTH, bucket - 0.5);
+    }
+
+    @Override public String toString() {
+        return String.format("count=%d revenue=%.2f avgFare=%.2f p50=%.2f p99=%.2f distance=%.1f km",
+                count(), revenue(), avgFare(), p50(), p99(), distanceKm());
+    }
+}
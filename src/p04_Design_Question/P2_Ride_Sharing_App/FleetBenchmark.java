@@ -0,0 +1,118 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * FleetBenchmark
+ * Object graph (one Driver + Vehicle + Location + name per driver, scanned via List<Driver>)
+ * vs FleetStore (parallel primitive arrays, scanned via per-type availability bitsets).
+ * - memory: heap used after building each fleet (after GC), plus FleetStore's raw array bytes
+ * - throughput: nearest-available-driver scans per second, with 100% and 10% of drivers available
+ *
+ * Run: java -Xmx3g p04_Design_Question.P2_Ride_Sharing_App.FleetBenchmark
+ */
+public class FleetBenchmark {
+
+    private static final int DRIVERS = 1_000_000;
+    private static final int QUERIES = 200;
+    private static final double CITY_KM = 50.0;
+
+    public static void main(String[] args) {
+        System.out.printf("=== Fleet layout: objects vs struct-of-arrays (%,d drivers) ===%n", DRIVERS);
+        VehicleType[] types = VehicleType.values();
+
+        long before = usedHeap();
+        List<Driver> objects = new ArrayList<>(DRIVERS);
+        Random rnd = new Random(3);
+        for (int i = 0; i < DRIVERS; i++) {
+            VehicleType t = types[i % types.length];
+            objects.add(new Driver(i, "D" + i, new Vehicle(t, "PL" + i, 10.0), new Location(rnd.nextDouble() * CITY_KM, rnd.nextDouble() * CITY_KM)));
+        }
+        long objectBytes = usedHeap() - before;
+
+        Driver[] views = new Driver[DRIVERS]; // allocated before measuring: FleetStore already holds the views
+        before = usedHeap();
+        FleetStore fleet = new FleetStore(DRIVERS);
+        rnd = new Random(3);
+        for (int i = 0; i < DRIVERS; i++) {
+            VehicleType t = types[i % types.length];
+            views[i] = fleet.register(i, "D" + i, new Vehicle(t, "PL" + i, 10.0), new Location(rnd.nextDouble() * CITY_KM, rnd.nextDouble() * CITY_KM));
+        }
+        long fleetBytes = usedHeap() - before;
+        long arrayBytes = (long) DRIVERS * (8 + 8 + 1) + (long) types.length * DRIVERS / 8;
+
+        System.out.printf("object graph          : %6.1f MB%n", objectBytes / 1e6);
+        System.out.printf("FleetStore incl. views: %6.1f MB%n", fleetBytes / 1e6);
+        System.out.printf("FleetStore scan arrays: %6.1f MB  (what a nearest scan actually touches)%n", arrayBytes / 1e6);
+
+        Location[] queries = new Location[QUERIES];
+        for (int i = 0; i < QUERIES; i++) queries[i] = new Location(rnd.nextDouble() * CITY_KM, rnd.nextDouble() * CITY_KM);
+
+        for (int pct : new int[]{100, 10}) {
+            // mark the same drivers busy in both layouts
+            Random busy = new Random(pct);
+            for (int i = 0; i < DRIVERS; i++) {
+                boolean avail = busy.nextInt(100) < pct;
+                objects.get(i).setAvailable(avail);
+                views[i].setAvailable(avail);
+            }
+            double objNs = timeObjects(objects, queries);
+            double soaNs = timeFleet(fleet, queries);
+            System.out.printf("%3d%% available: objects %8.2f ms/scan, arrays %8.2f ms/scan (%.1fx)%n",
+                    pct, objNs / 1e6, soaNs / 1e6, objNs / soaNs);
+        }
+    }
+
+    private static double timeObjects(List<Driver> drivers, Location[] queries) {
+        VehicleType[] types = VehicleType.values();
+        long sink = 0;
+        for (int round = 0; round < 2; round++) { // round 0 is warm-up
+            long t0 = System.nanoTime();
+            for (int q = 0; q < queries.length; q++) {
+                VehicleType type = types[q % types.length];
+                Driver best = null;
+                double bestD = Double.MAX_VALUE;
+                for (Driver d : drivers) {
+                    if (!d.isAvailable() || d.vehicle.type != type) continue;
+                    double dist = d.getLocation().squaredDistanceTo(queries[q]);
+                    if (dist < bestD) { bestD = dist; best = d; }
+                }
+                if (best != null) sink += best.id;
+            }
+            if (round == 1) {
+                if (sink == 42) System.out.print("");
+                return (double) (System.nanoTime() - t0) / queries.length;
+            }
+        }
+        throw new AssertionError();
+    }
+
+    private static double timeFleet(FleetStore fleet, Location[] queries) {
+        VehicleType[] types = VehicleType.values();
+        long sink = 0;
+        for (int round = 0; round < 2; round++) {
+            long t0 = System.nanoTime();
+            for (int q = 0; q < queries.length; q++) {
+                sink += fleet.nearestAvailableSlot(queries[q].x, queries[q].y, types[q % types.length]);
+            }
+            if (round == 1) {
+                if (sink == 42) System.out.print("");
+                return (double) (System.nanoTime() - t0) / queries.length;
+            }
+        }
+        throw new AssertionError();
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try { Thread.sleep(100); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
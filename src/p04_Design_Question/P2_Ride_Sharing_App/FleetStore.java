@@ -0,0 +1,190 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.Driver;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.Location;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.Vehicle;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.VehicleType;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * FleetStore
+ * Struct-of-arrays fleet: one slot per driver, spread over parallel primitive arrays
+ *   xs[], ys[]        coordinates
+ *   types[]           VehicleType ordinal
+ *   available[type]   one bitset per VehicleType, bit = slot is available
+ * so a nearest-driver scan walks contiguous memory instead of chasing Driver -> Location pointers.
+ *
+ * Drivers returned by register() are thin views: their getLocation / isAvailable / tryReserve
+ * read and write these arrays. Reservation is a CAS on the bitset word, same contract as
+ * Driver.tryReserve on standalone drivers.
+ * remove() detaches the view before its slot can be reused: the removed Driver keeps its last
+ * location / availability in its own fields. Writes through a view check views[slot] == view under
+ * the store's monitor, the same one register() and remove() hold, so a removed driver finishing a
+ * ride never moves, frees or reserves the slot's next occupant. Scans take no lock; reserveNearest
+ * only locks to claim the slot it picked.
+ *
+ * Capacity is fixed at construction so readers never see arrays being swapped out.
+ * x and y are two plain writes; a scan racing with a move may pair the new x with the old y.
+ */
+class FleetStore {
+
+    // Words with at least this many available drivers use the branch-free block loop
+    private static final int DENSE_WORD_BITS = 16;
+
+    private final double[] xs;
+    private final double[] ys;
+    private final byte[] types;
+    private final AtomicLongArray[] available;
+    private final Driver[] views;       // only touched for the winner of a scan
+    private final int[] freeSlots;      // slots released by remove(), reused first
+    private int freeCount;
+    private volatile int highWater;     // slots [0, highWater) have ever been used
+    private final int capacity;
+
+    FleetStore(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        this.capacity = capacity;
+        int padded = (capacity + 63) & ~63; // whole 64-slot blocks, so block loops never bounds-check the tail
+        this.xs = new double[padded];
+        this.ys = new double[padded];
+        this.types = new byte[padded];
+        this.views = new Driver[padded];
+        this.freeSlots = new int[capacity];
+        this.available = new AtomicLongArray[VehicleType.values().length];
+        for (int t = 0; t < available.length; t++) available[t] = new AtomicLongArray(padded >>> 6);
+    }
+
+    /** Add a driver to the fleet (available) and return its view. */
+    synchronized Driver register(int id, String name, Vehicle vehicle, Location location) {
+        int slot;
+        if (freeCount > 0) slot = freeSlots[--freeCount];
+        else if (highWater < capacity) slot = highWater++;
+        else throw new IllegalStateException("fleet is full (capacity " + capacity + ")");
+
+        xs[slot] = location.x;
+        ys[slot] = location.y;
+        types[slot] = (byte) vehicle.type.ordinal();
+        Driver view = new Driver(id, name, vehicle, this, slot);
+        views[slot] = view;
+        setBit(slot, true);
+        return view;
+    }
+
+    synchronized void remove(Driver view) {
+        int slot = view.fleetSlot();
+        if (slot < 0 || views[slot] != view) return;
+        view.detachFromFleet(new Location(xs[slot], ys[slot]), isAvailable(slot));
+        setBit(slot, false);
+        views[slot] = null;
+        freeSlots[freeCount++] = slot;
+    }
+
+    int size() { return highWater - freeCount; }
+
+    double x(int slot) { return xs[slot]; }
+    double y(int slot) { return ys[slot]; }
+
+    // false if 'view' no longer owns the slot (it was removed)
+    synchronized boolean setLocation(Driver view, int slot, double x, double y) {
+        if (views[slot] != view) return false;
+        xs[slot] = x;
+        ys[slot] = y;
+        return true;
+    }
+
+    boolean isAvailable(int slot) {
+        return (available[types[slot]].get(slot >>> 6) & (1L << slot)) != 0;
+    }
+
+    // false if 'view' no longer owns the slot (it was removed)
+    synchronized boolean setAvailable(Driver view, int slot, boolean value) {
+        if (views[slot] != view) return false;
+        setBit(slot, value);
+        return true;
+    }
+
+    synchronized boolean tryReserve(Driver view, int slot) {
+        if (views[slot] != view) return false;
+        return tryReserve(slot);
+    }
+
+    private boolean tryReserve(int slot) {
+        AtomicLongArray bits = available[types[slot]];
+        int w = slot >>> 6;
+        long mask = 1L << slot; // shift uses the low 6 bits only
+        while (true) {
+            long word = bits.get(w);
+            if ((word & mask) == 0) return false;
+            if (bits.compareAndSet(w, word, word & ~mask)) return true;
+        }
+    }
+
+    /** Nearest available driver of 'type', or null. Scans the arrays; no per-driver objects touched. */
+    Driver nearestAvailable(Location from, VehicleType type) {
+        int slot = nearestAvailableSlot(from.x, from.y, type);
+        return slot < 0 ? null : views[slot];
+    }
+
+    /** Same as nearestAvailable but also reserves; retries with the next-nearest if the slot was taken. */
+    Driver reserveNearest(Location from, VehicleType type) {
+        while (true) {
+            int slot = nearestAvailableSlot(from.x, from.y, type);
+            if (slot < 0) return null;
+            // locked so remove()/register() cannot swap the slot's driver between the reserve and the read
+            synchronized (this) {
+                Driver view = views[slot];
+                if (view != null && tryReserve(slot)) return view;
+            }
+        }
+    }
+
+    int nearestAvailableSlot(double qx, double qy, VehicleType type) {
+        AtomicLongArray bits = available[type.ordinal()];
+        int words = (highWater + 63) >>> 6;
+        double[] block = new double[64];
+        double best = Double.MAX_VALUE;
+        int bestSlot = -1;
+
+        for (int w = 0; w < words; w++) {
+            long word = bits.get(w);
+            if (word == 0) continue; // 64 busy / other-type drivers skipped with one load
+            int base = w << 6;
+            if (Long.bitCount(word) >= DENSE_WORD_BITS) {
+                // dense block: straight-line loop over 64 contiguous slots, which C2 can vectorize
+                for (int i = 0; i < 64; i++) {
+                    double dx = xs[base + i] - qx;
+                    double dy = ys[base + i] - qy;
+                    block[i] = dx * dx + dy * dy;
+                }
+                while (word != 0) {
+                    int b = Long.numberOfTrailingZeros(word);
+                    if (block[b] < best) { best = block[b]; bestSlot = base + b; }
+                    word &= word - 1;
+                }
+            } else {
+                // sparse block: visit only the set bits
+                while (word != 0) {
+                    int s = base + Long.numberOfTrailingZeros(word);
+                    double dx = xs[s] - qx;
+                    double dy = ys[s] - qy;
+                    double d = dx * dx + dy * dy;
+                    if (d < best) { best = d; bestSlot = s; }
+                    word &= word - 1;
+                }
+            }
+        }
+        return bestSlot;
+    }
+
+    private void setBit(int slot, boolean value) {
+        AtomicLongArray bits = available[types[slot]];
+        int w = slot >>> 6;
+        long mask = 1L << slot;
+        while (true) {
+            long word = bits.get(w);
+            long next = value ? (word | mask) : (word & ~mask);
+            if (word == next || bits.compareAndSet(w, word, next)) return;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import p04_Design_Question.P2_Ride_Sharing_App.DispatchStressHarness.QuietDriver;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * LocationIngestBenchmark
+ * Replays a SyntheticGpsFeed through LocationIngestor into a DispatchCenter (grid index updates
+ * included) from several producer threads, then checks every driver ended at its last pinged
+ * position and prints ingest rate, coalescing ratio and staleness.
+ *
+ * Run: java -Xmx2g p04_Design_Question.P2_Ride_Sharing_App.LocationIngestBenchmark
+ */
+public class LocationIngestBenchmark {
+
+    private static final int DRIVERS = 100_000;
+    private static final int PINGS = 4_000_000;
+    private static final int REPLAYS = 3;
+    private static final int PRODUCERS = 4;
+    private static final int BATCH = 256;
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("=== GPS ingestion: %,d drivers, %,d-ping feed x %d replays, %d producers ===%n", DRIVERS, PINGS, REPLAYS, PRODUCERS);
+        SyntheticGpsFeed feed = new SyntheticGpsFeed(DRIVERS, PINGS, 30.0, 0.05, 17);
+
+        DispatchCenter dispatch = new DispatchCenter();
+        Driver[] fleet = new Driver[DRIVERS];
+        for (int i = 0; i < DRIVERS; i++) {
+            fleet[i] = new QuietDriver(i, new Location(feed.xs[0], feed.ys[0]));
+            dispatch.registerDriver(fleet[i]);
+        }
+
+        try (LocationIngestor ingestor = new LocationIngestor(LocationIngestor.DEFAULT_FLUSH_MILLIS)) {
+            for (int replay = 0; replay < REPLAYS; replay++) {
+                ingestor.resetMetrics();
+                ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+                List<Future<?>> done = new ArrayList<>();
+                // each producer owns a contiguous slice of the feed, so per-driver order only matters at slice edges
+                int slice = (PINGS + PRODUCERS - 1) / PRODUCERS;
+                for (int p = 0; p < PRODUCERS; p++) {
+                    int from = p * slice, to = Math.min(PINGS, from + slice);
+                    done.add(producers.submit(() -> feed.replay(fleet, ingestor, from, to, BATCH)));
+                }
+                for (Future<?> f : done) f.get();
+                producers.shutdown();
+                ingestor.flush();
+                System.out.printf("replay %d: %s%n", replay + 1, ingestor);
+            }
+        }
+
+        // single-threaded replay is the reference for "last ping wins"
+        try (LocationIngestor check = new LocationIngestor()) {
+            feed.replay(fleet, check, 0, PINGS, BATCH);
+            check.flush();
+            int[] lastPing = new int[DRIVERS];
+            for (int i = 0; i < PINGS; i++) lastPing[feed.driverIndex[i]] = i;
+            int wrong = 0;
+            for (int d = 0; d < DRIVERS; d++) {
+                Location at = fleet[d].getLocation();
+                if (at.x != feed.xs[lastPing[d]] || at.y != feed.ys[lastPing[d]]) wrong++;
+            }
+            System.out.println("single-producer replay, drivers not at their last ping: " + wrong);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.Driver;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.Location;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LocationIngestor
+ * High-rate GPS ping intake in front of Driver.setLocation (and so in front of DispatchCenter's index).
+ * - A ping only overwrites the driver's pending slot: many pings for one driver between two
+ *   flushes coalesce into the latest one, with no allocation per ping
+ * - The first ping that dirties a slot queues the driver once; a flusher thread applies all
+ *   dirty drivers in one pass every flush interval
+ * - Metrics: ingest rate, coalescing ratio (pings per applied update), staleness (receipt of the
+ *   oldest ping a driver's update covers, to the moment it is applied; average and max)
+ */
+class LocationIngestor implements AutoCloseable {
+
+    static final long DEFAULT_FLUSH_MILLIS = 50;
+
+    /** Latest not-yet-applied position of one driver; reused for the driver's whole lifetime. */
+    private static final class Pending {
+        final Driver driver;
+        private double x, y;
+        private long dirtySinceNanos; // receipt time of the first ping not yet applied
+        private boolean dirty;
+
+        Pending(Driver driver) { this.driver = driver; }
+
+        // @return true if this ping made the slot dirty, i.e. the caller must queue it
+        synchronized boolean offer(double x, double y, long receivedNanos) {
+            this.x = x;
+            this.y = y;
+            if (dirty) return false;
+            dirty = true;
+            dirtySinceNanos = receivedNanos;
+            return true;
+        }
+    }
+
+    private final ConcurrentHashMap<Driver, Pending> pendingByDriver = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Pending> dirtyQueue = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService flusher;
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder stalenessNanos = new LongAdder();
+    private final AtomicLong maxStalenessNanos = new AtomicLong();
+    private volatile long startNanos = System.nanoTime();
+
+    LocationIngestor() { this(DEFAULT_FLUSH_MILLIS); }
+
+    LocationIngestor(long flushMillis) {
+        if (flushMillis <= 0) throw new IllegalArgumentException("flushMillis must be positive: " + flushMillis);
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "location-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** One GPS ping, stamped with the time it arrived. */
+    void ping(Driver driver, double x, double y) {
+        ping(driver, x, y, System.nanoTime());
+    }
+
+    /** Lets batch callers stamp a whole batch with one clock read. */
+    void ping(Driver driver, double x, double y, long receivedNanos) {
+        received.increment();
+        Pending p = pendingByDriver.get(driver);
+        if (p == null) p = pendingByDriver.computeIfAbsent(driver, Pending::new);
+        if (p.offer(x, y, receivedNanos)) dirtyQueue.add(p);
+    }
+
+    /** A batch of pings as parallel arrays, e.g. one network frame from a GPS gateway. */
+    void pingBatch(Driver[] drivers, double[] xs, double[] ys, int from, int to) {
+        long now = System.nanoTime();
+        for (int i = from; i < to; i++) ping(drivers[i], xs[i], ys[i], now);
+    }
+
+    /** Apply every pending position. Runs on the flusher thread; safe to call directly too. */
+    synchronized void flush() {
+        long flushStart = System.nanoTime();
+        long count = 0;
+        long staleSum = 0;
+        long staleMax = 0;
+        for (Pending p; (p = dirtyQueue.poll()) != null; ) {
+            double x, y;
+            long dirtySince;
+            synchronized (p) {
+                x = p.x;
+                y = p.y;
+                dirtySince = p.dirtySinceNanos;
+                p.dirty = false;
+            }
+            p.driver.setLocation(new Location(x, y));
+            long stale = System.nanoTime() - dirtySince;
+            staleSum += stale;
+            if (stale > staleMax) staleMax = stale;
+            count++;
+            // producers keep queueing while we drain; what arrived after we started waits for the next flush
+            if (dirtySince > flushStart) break;
+        }
+        if (count == 0) return;
+        flushes.increment();
+        applied.add(count);
+        stalenessNanos.add(staleSum);
+        maxStalenessNanos.accumulateAndGet(staleMax, Math::max);
+    }
+
+    /** Stop tracking a driver (e.g. removed from dispatch); a pending ping for it may still be applied once. */
+    void forget(Driver driver) { pendingByDriver.remove(driver); }
+
+    long received() { return received.sum(); }
+    long applied() { return applied.sum(); }
+
+    double ingestRatePerSec() {
+        double secs = (System.nanoTime() - startNanos) / 1e9;
+        return secs <= 0 ? 0 : received.sum() / secs;
+    }
+
+    // pings received per position actually applied; 1.0 = nothing coalesced
+    double coalescingRatio() {
+        long a = applied.sum();
+        return a == 0 ? 0 : (double) received.sum() / a;
+    }
+
+    double avgStalenessMillis() {
+        long a = applied.sum();
+        return a == 0 ? 0 : stalenessNanos.sum() / 1e6 / a;
+    }
+
+    double maxStalenessMillis() { return maxStalenessNanos.get() / 1e6; }
+
+    void resetMetrics() {
+        received.reset();
+        applied.reset();
+        flushes.reset();
+        stalenessNanos.reset();
+        maxStalenessNanos.set(0);
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    @Override public String toString() {
+        return String.format("received=%d applied=%d flushes=%d ingest=%.2f M pings/s coalescing=%.1fx staleness avg=%.1f ms max=%.1f ms",
+                received(), applied(), flushes.sum(), ingestRatePerSec() / 1e6, coalescingRatio(), avgStalenessMillis(), maxStalenessMillis());
+    }
+}
@@ -0,0 +1,97 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import p04_Design_Question.P2_Ride_Sharing_App.DispatchStressHarness.QuietDriver;
+import p04_Design_Question.P2_Ride_Sharing_App.DispatchStressHarness.QuietPassenger;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * MatchingLoadGenerator
+ * Synthetic peak-hour load to compare greedy dispatch with BatchDispatcher.
+ * - Same fleet (same seed) for both modes, all CARs spread over a CITY_KM x CITY_KM city
+ * - Requests arrive at REQUESTS_PER_SEC for RUN_SECONDS
+ * - Each ride keeps its driver busy for RIDE_MILLIS, then the driver is freed at the drop-off
+ * - "off-peak" has plenty of idle drivers; at "peak" ~85% of the fleet is busy, which is
+ *   where matching a whole window at once pays off over first-come nearest
+ *
+ * Run: java p04_Design_Question.P2_Ride_Sharing_App.MatchingLoadGenerator
+ */
+public class MatchingLoadGenerator {
+
+    private static final double CITY_KM = 20.0;
+    private static final int OFF_PEAK_DRIVERS = 20_000;
+    private static final int PEAK_DRIVERS = 14_000;
+    private static final int REQUESTS_PER_SEC = 4_000;
+    private static final int RUN_SECONDS = 8;
+    private static final long RIDE_MILLIS = 4_000; // long next to the 200 ms window, like real trips
+    private static final int TICK_MILLIS = 10;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Greedy vs batched matching ===");
+        System.out.printf("load=%d req/s for %d s, ride length=%d ms%n", REQUESTS_PER_SEC, RUN_SECONDS, RIDE_MILLIS);
+
+        for (int drivers : new int[]{OFF_PEAK_DRIVERS, PEAK_DRIVERS}) {
+            System.out.printf("%n--- %s: %d drivers ---%n", drivers == PEAK_DRIVERS ? "peak" : "off-peak", drivers);
+            MatchingMetrics greedy = run(false, drivers);
+            System.out.println("greedy : " + greedy);
+            MatchingMetrics batched = run(true, drivers);
+            System.out.println("batched: " + batched);
+        }
+    }
+
+    private static MatchingMetrics run(boolean batch, int drivers) throws Exception {
+        DispatchCenter dispatch = new DispatchCenter();
+        Random rnd = new Random(2024);
+        for (int i = 0; i < drivers; i++) dispatch.registerDriver(new QuietDriver(i, randomLocation(rnd)));
+        Passenger passenger = new QuietPassenger(1);
+        FareStrategy fare = new StandardFareStrategy();
+
+        ScheduledExecutorService rideClock = Executors.newScheduledThreadPool(2);
+        BatchDispatcher batcher = batch ? new BatchDispatcher(dispatch) : null;
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+        dispatch.metrics().reset();
+
+        int perTick = REQUESTS_PER_SEC * TICK_MILLIS / 1000;
+        long ticks = RUN_SECONDS * 1000L / TICK_MILLIS;
+        long next = System.nanoTime();
+        for (long t = 0; t < ticks; t++) {
+            for (int i = 0; i < perTick; i++) {
+                Location from = randomLocation(rnd);
+                Location to = randomLocation(rnd);
+                if (batch) {
+                    inFlight.add(batcher.submit(passenger, from, to, VehicleType.CAR, fare)
+                            .thenAccept(r -> r.ifPresent(ride -> scheduleFinish(rideClock, dispatch, ride))));
+                } else {
+                    dispatch.requestRide(passenger, from, to, VehicleType.CAR, fare)
+                            .ifPresent(ride -> scheduleFinish(rideClock, dispatch, ride));
+                }
+            }
+            next += TICK_MILLIS * 1_000_000L;
+            long sleep = next - System.nanoTime();
+            if (sleep > 0) TimeUnit.NANOSECONDS.sleep(sleep);
+        }
+
+        if (batcher != null) {
+            batcher.close();
+            CompletableFuture.allOf(inFlight.toArray(new CompletableFuture<?>[0])).get();
+            System.out.printf("         batches=%d avgBatch=%.1f avgSolve=%.2f ms plannedDriverLost=%d%n",
+                    batcher.batches(), batcher.avgBatchSize(), batcher.avgSolveMillis(), batcher.plannedDriverLost());
+        }
+        rideClock.shutdownNow();
+        return dispatch.metrics();
+    }
+
+    private static void scheduleFinish(ScheduledExecutorService clock, DispatchCenter dispatch, Ride ride) {
+        clock.schedule(() -> {
+            ride.startRide();
+            ride.completeRide();
+            dispatch.finishRide(ride);
+        }, RIDE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private static Location randomLocation(Random rnd) {
+        return new Location(rnd.nextDouble() * CITY_KM, rnd.nextDouble() * CITY_KM);
+    }
+}
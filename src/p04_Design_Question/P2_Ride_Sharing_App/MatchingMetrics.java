@@ -0,0 +1,61 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MatchingMetrics
+ * Counters shared by greedy (DispatchCenter.requestRide) and batched (BatchDispatcher) matching,
+ * so both modes can be compared on the same numbers:
+ * - throughput        : rides assigned per second since the metrics were created / reset
+ * - avg pickup        : mean driver -> passenger distance of assigned rides
+ * - avg wait          : mean time from request to assignment (includes the batch window)
+ *
+ * Adders keep the hot path contention-free when many request threads record at once.
+ */
+class MatchingMetrics {
+    private final LongAdder assigned = new LongAdder();
+    private final LongAdder unmatched = new LongAdder();
+    private final DoubleAdder pickupKm = new DoubleAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private volatile long startNanos = System.nanoTime();
+
+    void recordAssigned(double pickupDistanceKm, long waitedNanos) {
+        assigned.increment();
+        pickupKm.add(pickupDistanceKm);
+        waitNanos.add(waitedNanos);
+    }
+
+    void recordUnmatched() { unmatched.increment(); }
+
+    long assigned() { return assigned.sum(); }
+    long unmatched() { return unmatched.sum(); }
+
+    double throughputPerSec() {
+        double secs = (System.nanoTime() - startNanos) / 1e9;
+        return secs <= 0 ? 0 : assigned.sum() / secs;
+    }
+
+    double avgPickupKm() {
+        long n = assigned.sum();
+        return n == 0 ? 0 : pickupKm.sum() / n;
+    }
+
+    double avgWaitMillis() {
+        long n = assigned.sum();
+        return n == 0 ? 0 : waitNanos.sum() / 1e6 / n;
+    }
+
+    void reset() {
+        assigned.reset();
+        unmatched.reset();
+        pickupKm.reset();
+        waitNanos.reset();
+        startNanos = System.nanoTime();
+    }
+
+    @Override public String toString() {
+        return String.format("assigned=%d unmatched=%d throughput=%.1f rides/s avgPickup=%.3f km avgWait=%.1f ms",
+                assigned(), unmatched(), throughputPerSec(), avgPickupKm(), avgWaitMillis());
+    }
+}
@@ -0,0 +1,243 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.Observer;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.Ride;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.RideStatus;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * RideEventBus
+ * Moves Observer.update calls off the ride lifecycle thread.
+ * - Ride.startRide/completeRide/cancelRide only enqueue an event; a small pool of worker threads
+ *   delivers it (Passenger/Driver printing happens there, not on the caller)
+ * - Each observer is pinned to one worker, so one observer always sees its events in publish order
+ * - Each worker owns a bounded ring buffer; what happens when it is full is the BackPressure policy
+ * - Workers drain up to 'maxBatch' events per wake-up, so one lock round-trip delivers many events
+ */
+class RideEventBus implements AutoCloseable {
+
+    enum BackPressure {
+        DROP,     // ring full -> the new event is discarded (counted in dropped())
+        BLOCK,    // ring full -> publisher waits for space
+        COALESCE  // ring full -> keep only the latest pending event per (observer, ride)
+    }
+
+    static final class RideEvent {
+        final Observer observer;
+        final Ride ride;
+        final RideStatus status;
+        final String message;
+
+        RideEvent(Observer observer, Ride ride, RideStatus status, String message) {
+            this.observer = observer;
+            this.ride = ride;
+            this.status = status;
+            this.message = message;
+        }
+    }
+
+    // Coalescing key: same observer (identity) watching the same ride
+    private static final class PairKey {
+        final Observer observer;
+        final int rideId;
+
+        PairKey(Observer observer, int rideId) { this.observer = observer; this.rideId = rideId; }
+
+        @Override public boolean equals(Object o) {
+            if (!(o instanceof PairKey)) return false;
+            PairKey k = (PairKey) o;
+            return k.observer == observer && k.rideId == rideId;
+        }
+
+        @Override public int hashCode() { return 31 * System.identityHashCode(observer) + rideId; }
+    }
+
+    /** One bounded ring + its worker thread. */
+    private final class Mailbox implements Runnable {
+        private final RideEvent[] ring;
+        private int head, tail, count;
+        // COALESCE only: events that did not fit, latest per pair, in publish order
+        private final LinkedHashMap<PairKey, RideEvent> overflow = new LinkedHashMap<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+
+        Mailbox(int capacity) { ring = new RideEvent[capacity]; }
+
+        void offer(RideEvent e) throws InterruptedException {
+            lock.lock();
+            try {
+                if (closed) { dropped.increment(); return; } // worker may already be gone
+                if (policy == BackPressure.COALESCE && !overflow.isEmpty()) {
+                    // once spilling, keep spilling until the worker catches up, or order would break
+                    coalesce(e);
+                    return;
+                }
+                while (count == ring.length) {
+                    if (closed) { dropped.increment(); return; }
+                    switch (policy) {
+                        case DROP:
+                            dropped.increment();
+                            return;
+                        case COALESCE:
+                            coalesce(e);
+                            return;
+                        case BLOCK:
+                            notFull.await();
+                            break;
+                    }
+                }
+                ring[tail] = e;
+                tail = (tail + 1) % ring.length;
+                count++;
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void coalesce(RideEvent e) {
+            PairKey key = new PairKey(e.observer, e.ride.rideId);
+            // remove + put moves the pair to the end, keeping the surviving events in publish order
+            if (overflow.remove(key) != null) coalesced.increment();
+            overflow.put(key, e);
+            notEmpty.signal();
+        }
+
+        @Override
+        public void run() {
+            RideEvent[] batch = new RideEvent[maxBatch];
+            while (true) {
+                int n = 0;
+                lock.lock();
+                try {
+                    while (count == 0 && overflow.isEmpty()) {
+                        if (closed) return;
+                        notEmpty.await(100, TimeUnit.MILLISECONDS);
+                    }
+                    // ring first: everything in the overflow map was published after it
+                    while (n < maxBatch && count > 0) {
+                        batch[n++] = ring[head];
+                        ring[head] = null;
+                        head = (head + 1) % ring.length;
+                        count--;
+                    }
+                    if (count == 0) {
+                        Iterator<RideEvent> it = overflow.values().iterator();
+                        while (n < maxBatch && it.hasNext()) {
+                            batch[n++] = it.next();
+                            it.remove();
+                        }
+                    }
+                    notFull.signalAll();
+                } catch (InterruptedException ie) {
+                    return;
+                } finally {
+                    lock.unlock();
+                }
+
+                batches.increment();
+                for (int i = 0; i < n; i++) {
+                    RideEvent e = batch[i];
+                    batch[i] = null;
+                    try {
+                        e.observer.update(e.ride, e.status, e.message);
+                    } catch (RuntimeException ex) {
+                        failed.increment(); // one bad observer must not stop delivery to the others
+                    }
+                    delivered.increment();
+                }
+            }
+        }
+    }
+
+    private final BackPressure policy;
+    private final int maxBatch;
+    private final Mailbox[] mailboxes;
+    private final Thread[] workers;
+    private volatile boolean closed;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    RideEventBus() { this(2, 1024, 64, BackPressure.BLOCK); }
+
+    RideEventBus(int workerCount, int ringCapacity, int maxBatch, BackPressure policy) {
+        if (workerCount <= 0) throw new IllegalArgumentException("workerCount must be positive: " + workerCount);
+        if (ringCapacity <= 0) throw new IllegalArgumentException("ringCapacity must be positive: " + ringCapacity);
+        if (maxBatch <= 0) throw new IllegalArgumentException("maxBatch must be positive: " + maxBatch);
+        this.policy = Objects.requireNonNull(policy);
+        this.maxBatch = maxBatch;
+        this.mailboxes = new Mailbox[workerCount];
+        this.workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            mailboxes[i] = new Mailbox(ringCapacity);
+            workers[i] = new Thread(mailboxes[i], "ride-events-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    /** Called by Ride on the lifecycle thread: enqueue one event per observer, no I/O here. */
+    void publish(Ride ride, RideStatus status, String message, List<Observer> observers) {
+        for (Observer o : observers) {
+            published.increment();
+            Mailbox box = mailboxes[(System.identityHashCode(o) & Integer.MAX_VALUE) % mailboxes.length];
+            try {
+                box.offer(new RideEvent(o, ride, status, message));
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                dropped.increment();
+                return;
+            }
+        }
+    }
+
+    long published() { return published.sum(); }
+    long delivered() { return delivered.sum(); }
+    long dropped() { return dropped.sum(); }
+    long coalesced() { return coalesced.sum(); }
+    long failed() { return failed.sum(); }
+
+    double avgBatchSize() {
+        long b = batches.sum();
+        return b == 0 ? 0 : (double) delivered.sum() / b;
+    }
+
+    /** Deliver what is already queued, then stop the workers. */
+    @Override
+    public void close() {
+        closed = true;
+        for (Mailbox box : mailboxes) {
+            box.lock.lock();
+            try {
+                box.notEmpty.signalAll();
+                box.notFull.signalAll();
+            } finally {
+                box.lock.unlock();
+            }
+        }
+        for (Thread t : workers) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override public String toString() {
+        return String.format("policy=%s published=%d delivered=%d dropped=%d coalesced=%d failed=%d avgBatch=%.1f",
+                policy, published(), delivered(), dropped(), coalesced(), failed(), avgBatchSize());
+    }
+}
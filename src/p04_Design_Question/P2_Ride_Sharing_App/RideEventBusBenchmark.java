@@ -0,0 +1,73 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import p04_Design_Question.P2_Ride_Sharing_App.DispatchStressHarness.QuietDriver;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.*;
+import p04_Design_Question.P2_Ride_Sharing_App.RideEventBus.BackPressure;
+
+import java.util.Optional;
+
+/**
+ * RideEventBusBenchmark
+ * How long does the ride lifecycle thread spend in startRide + completeRide when observers are slow?
+ * SlowPassenger burns ~SLOW_UPDATE_MICROS per update to stand in for console / network I/O.
+ * - sync     : old behaviour, observers run on the caller
+ * - BLOCK    : async, caller only waits when the ring is full
+ * - DROP     : async, overflow discarded
+ * - COALESCE : async, overflow collapsed to the latest status per (observer, ride)
+ *
+ * Run: java p04_Design_Question.P2_Ride_Sharing_App.RideEventBusBenchmark
+ */
+public class RideEventBusBenchmark {
+
+    private static final int RIDES = 20_000;
+    private static final long SLOW_UPDATE_MICROS = 20;
+
+    static class SlowPassenger extends Passenger {
+        volatile RideStatus lastSeen;
+        SlowPassenger(int id) { super(id, "P" + id); }
+
+        @Override public void update(Ride ride, RideStatus status, String message) {
+            long until = System.nanoTime() + SLOW_UPDATE_MICROS * 1_000;
+            while (System.nanoTime() < until) { Thread.onSpinWait(); }
+            lastSeen = status;
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== Ride lifecycle cost with slow observers ===");
+        System.out.printf("%d rides, each observer update takes ~%d us%n%n", RIDES, SLOW_UPDATE_MICROS);
+
+        run("sync", null);
+        for (BackPressure policy : BackPressure.values()) {
+            run(policy.name(), new RideEventBus(2, 1024, 64, policy));
+        }
+    }
+
+    private static void run(String label, RideEventBus bus) {
+        DispatchCenter dispatch = new DispatchCenter();
+        dispatch.setEventBus(bus);
+        Driver driver = new QuietDriver(1, new Location(0, 0));
+        dispatch.registerDriver(driver);
+        SlowPassenger[] passengers = new SlowPassenger[64];
+        for (int i = 0; i < passengers.length; i++) passengers[i] = new SlowPassenger(i);
+        FareStrategy fare = new StandardFareStrategy();
+
+        long lifecycleNanos = 0;
+        for (int i = 0; i < RIDES; i++) {
+            Optional<Ride> r = dispatch.requestRide(passengers[i % passengers.length], new Location(0, 0), new Location(1, 1), VehicleType.CAR, fare);
+            Ride ride = r.orElseThrow(IllegalStateException::new);
+            long t0 = System.nanoTime();
+            ride.startRide();
+            ride.completeRide();
+            lifecycleNanos += System.nanoTime() - t0;
+            dispatch.finishRide(ride);
+        }
+
+        long drainStart = System.nanoTime();
+        if (bus != null) bus.close();
+        long drainMs = (System.nanoTime() - drainStart) / 1_000_000;
+
+        System.out.printf("%-9s lifecycle=%6.2f us/ride  drain after run=%5d ms%n", label, lifecycleNanos / 1e3 / RIDES, drainMs);
+        if (bus != null) System.out.println("          " + bus);
+    }
+}
@@ -0,0 +1,135 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import p04_Design_Question.P2_Ride_Sharing_App.RideStore.RideRecord;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * RideLog
+ * Append-only, memory-mapped log of finished rides, used by RideStore to rebuild after a restart.
+ *
+ * File layout (all slots are RECORD_SIZE bytes):
+ *   slot 0        header: magic (8 bytes) + committed record count (8 bytes)
+ *   slot 1..n     one fixed-width record per finished ride
+ *
+ * A record is written first and the count is bumped after, so a crash mid-append leaves at most
+ * one half-written slot past the committed count, which replay ignores.
+ * The file is mapped in SEGMENT_SIZE pieces so it can grow without remapping what is already there.
+ */
+class RideLog implements AutoCloseable {
+
+    static final int RECORD_SIZE = 64;
+    private static final long MAGIC = 0x52494445_4C4F4731L; // "RIDELOG1"
+    private static final int SEGMENT_SIZE = RECORD_SIZE * (1 << 20); // 64 MB
+    private static final int NAME_BYTES = 32;
+
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private long count;
+
+    RideLog(Path file) {
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer first = segment(0);
+            long magic = first.getLong(0);
+            if (magic == 0) {
+                first.putLong(0, MAGIC);
+                first.putLong(8, 0);
+            } else if (magic != MAGIC) {
+                throw new IllegalStateException("not a ride log: " + file);
+            }
+            count = first.getLong(8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Strategy names are stored as at most NAME_BYTES UTF-8 bytes; longer ones would come back truncated. */
+    static void checkStrategyName(String name) {
+        int bytes = name.getBytes(StandardCharsets.UTF_8).length;
+        if (bytes > NAME_BYTES) {
+            throw new IllegalArgumentException("strategy name longer than " + NAME_BYTES + " UTF-8 bytes: " + name);
+        }
+    }
+
+    synchronized void append(RideRecord r) {
+        checkStrategyName(r.strategyName);
+        long slot = count + 1; // slot 0 is the header
+        MappedByteBuffer seg = segment((int) (slot * RECORD_SIZE / SEGMENT_SIZE));
+        int pos = (int) (slot * RECORD_SIZE % SEGMENT_SIZE);
+
+        seg.putInt(pos, r.rideId);
+        seg.putInt(pos + 4, r.passengerId);
+        seg.putInt(pos + 8, r.driverId);
+        seg.put(pos + 12, (byte) r.vehicleType.ordinal());
+        seg.put(pos + 13, (byte) r.status.ordinal());
+        byte[] name = r.strategyName.getBytes(StandardCharsets.UTF_8);
+        int len = name.length;
+        seg.putShort(pos + 14, (short) len);
+        for (int i = 0; i < len; i++) seg.put(pos + 16 + i, name[i]);
+        seg.putDouble(pos + 48, r.distanceKm);
+        seg.putDouble(pos + 56, r.fare);
+
+        count++;
+        segments.get(0).putLong(8, count); // commit point
+    }
+
+    /** Feed every committed record, oldest first, to 'sink'. */
+    synchronized void replay(Consumer<RideRecord> sink) {
+        RideSharingApp.VehicleType[] types = RideSharingApp.VehicleType.values();
+        RideSharingApp.RideStatus[] statuses = RideSharingApp.RideStatus.values();
+        byte[] name = new byte[NAME_BYTES];
+        for (long slot = 1; slot <= count; slot++) {
+            MappedByteBuffer seg = segment((int) (slot * RECORD_SIZE / SEGMENT_SIZE));
+            int pos = (int) (slot * RECORD_SIZE % SEGMENT_SIZE);
+            int len = seg.getShort(pos + 14);
+            for (int i = 0; i < len; i++) name[i] = seg.get(pos + 16 + i);
+            sink.accept(new RideRecord(
+                    seg.getInt(pos),
+                    seg.getInt(pos + 4),
+                    seg.getInt(pos + 8),
+                    types[seg.get(pos + 12)],
+                    statuses[seg.get(pos + 13)],
+                    new String(name, 0, len, StandardCharsets.UTF_8),
+                    seg.getDouble(pos + 48),
+                    seg.getDouble(pos + 56)));
+        }
+    }
+
+    synchronized long size() { return count; }
+
+    // Flush dirty pages to disk (the OS does this eventually anyway)
+    synchronized void force() {
+        for (MappedByteBuffer seg : segments) seg.force();
+    }
+
+    private MappedByteBuffer segment(int index) {
+        try {
+            while (segments.size() <= index) {
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) segments.size() * SEGMENT_SIZE, SEGMENT_SIZE));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return segments.get(index);
+    }
+
+    @Override
+    public synchronized void close() {
+        force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package p04_Design_Question.P2_Ride_Sharing_App;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -11,6 +13,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  * - Uses Strategy pattern for fare calculation
  * - Uses Observer pattern for ride status notifications
  * - Uses a Mediator-like DispatchCenter for coordinating ride requests
+ * - DispatchCenter is safe to call from many request threads (drivers are reserved with a CAS)
  *
  * Note: This is a demonstration / teaching style implementation focusing on design.
  */
@@ -30,6 +33,13 @@ public class RideSharingApp {
             return Math.sqrt(dx * dx + dy * dy);
         }
 
+        // Cheaper comparison key for "who is closer" checks; take sqrt only for the winner
+        public double squaredDistanceTo(Location other) {
+            double dx = this.x - other.x;
+            double dy = this.y - other.y;
+            return dx * dx + dy * dy;
+        }
+
         @Override public String toString() { return String.format("(%.2f, %.2f)", x, y); }
     }
 
@@ -47,6 +57,11 @@ public class RideSharingApp {
         void update(Ride ride, RideStatus status, String message);
     }
 
+    // Lets DispatchCenter keep its spatial index in sync when a driver moves
+    interface DriverMoveListener {
+        void onDriverMoved(Driver driver, Location oldLocation, Location newLocation);
+    }
+
     /* ----------------------------- Users / Entities ----------------------------- */
 
     static abstract class User implements Observer {
@@ -68,21 +83,70 @@ public class RideSharingApp {
     }
 
     static class Driver extends User {
-        private boolean available = true;
+        // CAS target: the request that flips true -> false owns the driver
+        private final AtomicBoolean available = new AtomicBoolean(true);
         final Vehicle vehicle;
-        Location location;
+        volatile Location location;
+        private volatile DriverMoveListener moveListener;
+        // When fleetSlot >= 0, position and availability live in the FleetStore arrays and this object is only a view.
+        // FleetStore.remove() detaches the view (fleetSlot = -1) so it can never write into a reused slot.
+        private final FleetStore fleet;
+        private volatile int fleetSlot;
 
         public Driver(int id, String name, Vehicle vehicle, Location location) {
             super(id, name);
             this.vehicle = vehicle;
             this.location = location;
+            this.fleet = null;
+            this.fleetSlot = -1;
+        }
+
+        // Used by FleetStore.register
+        Driver(int id, String name, Vehicle vehicle, FleetStore fleet, int fleetSlot) {
+            super(id, name);
+            this.vehicle = vehicle;
+            this.fleet = fleet;
+            this.fleetSlot = fleetSlot;
+        }
+
+        public boolean isAvailable() {
+            int slot = fleetSlot;
+            return slot >= 0 ? fleet.isAvailable(slot) : available.get();
+        }
+
+        public void setAvailable(boolean available) {
+            int slot = fleetSlot;
+            if (slot < 0 || !fleet.setAvailable(this, slot, available)) this.available.set(available);
+        }
+
+        // Atomically claim this driver; false means someone else got there first
+        public boolean tryReserve() {
+            int slot = fleetSlot;
+            return slot >= 0 ? fleet.tryReserve(this, slot) : available.compareAndSet(true, false);
+        }
+
+        public Location getLocation() {
+            int slot = fleetSlot;
+            return slot >= 0 ? new Location(fleet.x(slot), fleet.y(slot)) : location;
+        }
+
+        public void setLocation(Location loc) {
+            Location old = getLocation();
+            int slot = fleetSlot;
+            if (slot < 0 || !fleet.setLocation(this, slot, loc.x, loc.y)) this.location = loc;
+            if (moveListener != null) moveListener.onDriverMoved(this, old, loc);
+        }
+
+        // Called by FleetStore.remove: keep the last fleet state here and stop using the slot
+        void detachFromFleet(Location last, boolean wasAvailable) {
+            this.location = last;
+            this.available.set(wasAvailable);
+            this.fleetSlot = -1;
         }
 
-        public boolean isAvailable() { return available; }
-        public void setAvailable(boolean available) { this.available = available; }
+        int fleetSlot() { return fleetSlot; }
 
-        public Location getLocation() { return location; }
-        public void setLocation(Location loc) { this.location = loc; }
+        void setMoveListener(DriverMoveListener listener) { this.moveListener = listener; }
 
         @Override
         public void update(Ride ride, RideStatus status, String message) {
@@ -120,6 +184,14 @@ public class RideSharingApp {
 
         double calculateFare(double distanceKm, Vehicle vehicle);
         String name();
+
+        /**
+         * Location-aware variant, used by Ride. Strategies that price by place (e.g. SurgeFareStrategy)
+         * override this; everyone else ignores the pickup point.
+         */
+        default double calculateFare(double distanceKm, Vehicle vehicle, Location pickup) {
+            return calculateFare(distanceKm, vehicle);
+        }
     }
 
     static class StandardFareStrategy implements FareStrategy {
@@ -151,6 +223,44 @@ public class RideSharingApp {
         @Override public String name() { return "Luxury"; }
     }
 
+    /**
+     * Decorator over any FareStrategy: multiplies its fare by a surge factor read from a DemandHeatmap
+     * at the pickup point. Lookup is allocation-free (name is built once).
+     * multiplier = clamp(1 + sensitivity * (demand/supply - 1), 1, maxMultiplier)
+     */
+    static class SurgeFareStrategy implements FareStrategy {
+        private final FareStrategy base;
+        private final DemandHeatmap heatmap;
+        private final double sensitivity;
+        private final double maxMultiplier;
+        private final String name;
+
+        public SurgeFareStrategy(FareStrategy base, DemandHeatmap heatmap, double sensitivity, double maxMultiplier) {
+            if (maxMultiplier < 1) throw new IllegalArgumentException("maxMultiplier must be >= 1: " + maxMultiplier);
+            this.base = base;
+            this.heatmap = heatmap;
+            this.sensitivity = sensitivity;
+            this.maxMultiplier = maxMultiplier;
+            this.name = "Surge(" + base.name() + ")";
+        }
+
+        public double multiplierAt(Location pickup) {
+            double m = 1 + sensitivity * (heatmap.pressureAt(pickup) - 1);
+            return Math.max(1, Math.min(maxMultiplier, m));
+        }
+
+        @Override public double calculateFare(double distanceKm, Vehicle vehicle, Location pickup) {
+            return base.calculateFare(distanceKm, vehicle) * multiplierAt(pickup);
+        }
+
+        // No pickup known: no surge
+        @Override public double calculateFare(double distanceKm, Vehicle vehicle) {
+            return base.calculateFare(distanceKm, vehicle);
+        }
+
+        @Override public String name() { return name; }
+    }
+
     /* ----------------------------- Ride (Subject in Observer Pattern) ----------------------------- */
 
     static class Ride {
@@ -163,9 +273,10 @@ public class RideSharingApp {
         final Location to;
         final FareStrategy fareStrategy;
         final double distanceKm;
-        private RideStatus status;
+        private volatile RideStatus status;
         private final List<Observer> observers = new ArrayList<>();
         private double finalFare = 0.0;
+        private RideEventBus eventBus; // null -> notify synchronously on the caller's thread
 
         public Ride(Passenger p, Driver d, Location from, Location to, FareStrategy strategy) {
             this.rideId = ID_GEN.getAndIncrement();
@@ -183,7 +294,16 @@ public class RideSharingApp {
         public void subscribe(Observer o) { observers.add(o); }
         public void unsubscribe(Observer o) { observers.remove(o); }
 
+        void setEventBus(RideEventBus bus) { this.eventBus = bus; }
+
+        // After rebuilding from a RideStore log, keep new ids clear of the ones already used
+        static void ensureIdsAbove(int usedId) { ID_GEN.accumulateAndGet(usedId + 1, Math::max); }
+
         private void notifyAllObservers(String message) {
+            if (eventBus != null) {
+                eventBus.publish(this, status, message, observers);
+                return;
+            }
             for (Observer o : observers) {
                 o.update(this, status, message);
             }
@@ -197,7 +317,7 @@ public class RideSharingApp {
         public void completeRide() {
             this.status = RideStatus.COMPLETED;
             // compute final fare
-            finalFare = fareStrategy.calculateFare(distanceKm, driver.vehicle);
+            finalFare = fareStrategy.calculateFare(distanceKm, driver.vehicle, from);
             notifyAllObservers(String.format("Ride completed. Fare = %.2f (strategy=%s, distance=%.2f km)",
                     finalFare, fareStrategy.name(), distanceKm));
         }
@@ -218,14 +338,29 @@ public class RideSharingApp {
     ------------------------------------------------------------------------------- */
 
     static class DispatchCenter {
-        private final List<Driver> drivers = new ArrayList<>();
+        private final Set<Driver> drivers = ConcurrentHashMap.newKeySet();
+        private final DriverGridIndex index;
+        private final MatchingMetrics metrics = new MatchingMetrics();
+        private volatile RideEventBus eventBus; // optional async delivery for ride notifications
+        private volatile RideStore rideStore;   // optional history + fare analytics
+        private volatile DemandHeatmap heatmap; // optional demand / supply signal for surge pricing
+
+        public DispatchCenter() { this(DriverGridIndex.DEFAULT_CELL_SIZE); }
+
+        public DispatchCenter(double cellSize) { this.index = new DriverGridIndex(cellSize); }
 
         public void registerDriver(Driver driver) {
             drivers.add(driver);
+            index.add(driver);
+            driver.setMoveListener(index);
+            DemandHeatmap h = heatmap;
+            if (h != null && driver.isAvailable()) h.recordAvailableDriver(driver.getLocation());
         }
 
         public void removeDriver(Driver driver) {
             drivers.remove(driver);
+            index.remove(driver);
+            driver.setMoveListener(null);
         }
 
         /**
@@ -233,34 +368,93 @@ public class RideSharingApp {
          * Returns an Optional<Ride> - empty if no driver available
          */
         public Optional<Ride> requestRide(Passenger passenger, Location from, Location to, VehicleType requestedType, FareStrategy strategy) {
+            long requestedAt = System.nanoTime();
+            DemandHeatmap h = heatmap;
+            if (h != null) h.recordRequest(from);
+            Driver nearest = reserveNearest(from, requestedType);
+            if (nearest == null) {
+                metrics.recordUnmatched();
+                return Optional.empty();
+            }
+            return Optional.of(assign(passenger, nearest, from, to, strategy, requestedAt));
+        }
+
+        /**
+         * Create the Ride for a driver the caller has already reserved (tryReserve succeeded).
+         * Shared by greedy requestRide and BatchDispatcher.
+         */
+        Ride assign(Passenger passenger, Driver reserved, Location from, Location to, FareStrategy strategy, long requestedAtNanos) {
+            double pickupDist = reserved.getLocation().distanceTo(from);
+            metrics.recordAssigned(pickupDist, System.nanoTime() - requestedAtNanos);
+
+            Ride ride = new Ride(passenger, reserved, from, to, strategy);
+            ride.setEventBus(eventBus);
+            RideStore store = rideStore;
+            if (store != null) store.save(ride);
+            // Notify both passenger & driver that ride is pending/assigned
+            ride.notifyAllObservers(String.format("Driver %s assigned. Distance to passenger: %.2f km", reserved, pickupDist));
+            return ride;
+        }
+
+        MatchingMetrics metrics() { return metrics; }
+
+        // Rides created after this call publish their status changes through the bus
+        public void setEventBus(RideEventBus bus) { this.eventBus = bus; }
+
+        // Assigned rides are tracked, completed ones are aggregated and logged
+        public void setRideStore(RideStore store) { this.rideStore = store; }
+
+        // Requests and freed drivers feed the heatmap that SurgeFareStrategy reads
+        public void setDemandHeatmap(DemandHeatmap heatmap) { this.heatmap = heatmap; }
+
+        /**
+         * Find and reserve the nearest available driver without locking.
+         * If another request wins the CAS on our candidate, that driver is no longer available,
+         * so searching again yields the next-nearest one.
+         */
+        Driver reserveNearest(Location from, VehicleType type) {
+            while (true) {
+                Driver candidate = findNearest(from, type);
+                if (candidate == null) return null;
+                if (candidate.tryReserve()) return candidate;
+            }
+        }
+
+        // Grid lookup: only the cells around 'from' are visited
+        Driver findNearest(Location from, VehicleType type) {
+            return index.nearest(from, type, Driver::isAvailable);
+        }
+
+        // Up to k closest available drivers (not reserved), closest first
+        List<Driver> findNearestK(Location from, VehicleType type, int k) {
+            return index.nearestK(from, type, k, Driver::isAvailable);
+        }
+
+        // Original linear scan over every registered driver, kept as the baseline for DispatchBenchmark
+        Driver findNearestByScan(Location from, VehicleType type) {
             Driver nearest = null;
             double bestDist = Double.MAX_VALUE;
             for (Driver d : drivers) {
                 if (!d.isAvailable()) continue;
-                if (d.vehicle.type != requestedType) continue;
-                double dist = d.getLocation().distanceTo(from);
+                if (d.vehicle.type != type) continue;
+                double dist = d.getLocation().squaredDistanceTo(from);
                 if (dist < bestDist) {
                     bestDist = dist;
                     nearest = d;
                 }
             }
-
-            if (nearest == null) return Optional.empty();
-
-            // Reserve the driver
-            nearest.setAvailable(false);
-
-            Ride ride = new Ride(passenger, nearest, from, to, strategy);
-            // Notify both passenger & driver that ride is pending/assigned
-            ride.notifyAllObservers(String.format("Driver %s assigned. Distance to passenger: %.2f km", nearest, bestDist));
-            return Optional.of(ride);
+            return nearest;
         }
 
         // After completion, free driver and optionally update driver location to destination
         public void finishRide(Ride ride) {
             Driver d = ride.driver;
             d.setLocation(ride.to); // driver ends at destination
-            d.setAvailable(true);
+            d.setAvailable(true);   // release last, so the driver is only matchable at the new location
+            DemandHeatmap h = heatmap;
+            if (h != null) h.recordAvailableDriver(ride.to);
+            RideStore store = rideStore;
+            if (store != null && ride.getStatus() == RideStatus.COMPLETED) store.recordCompleted(ride);
         }
     }
 
@@ -381,6 +575,13 @@ Extensibility
     - Add more VehicleType values and base fares — drivers with that vehicle type will be considered.
     - Add new FareStrategy implementations (e.g., SurgePricingStrategy) and pass them to requestRide.
     - Add richer matching: filter drivers by rating, capacity, or custom rules inside DispatchCenter without changing Ride.
+    - Concurrent requests: Driver.tryReserve() is a compare-and-set, so two passengers can never get the same driver; see DispatchStressHarness.
+    - BatchDispatcher collects requests over a short window and solves one assignment problem per VehicleType (Hungarian algorithm) instead of first-come nearest; MatchingLoadGenerator compares it with greedy dispatch.
+    - RideEventBus (optional) delivers Observer updates on worker threads with a bounded ring buffer and DROP/BLOCK/COALESCE back-pressure, so startRide/completeRide never wait on console I/O.
+    - RideStore (optional) keeps rides sharded by rideId, maintains per-VehicleType / per-FareStrategy FareStats (count, revenue, p50/p99, distance) and appends completed rides to a memory-mapped RideLog for restart.
+    - SurgeFareStrategy decorates any FareStrategy with a multiplier from DemandHeatmap (lock-free sliding-window demand/supply counters per grid cell), read at the pickup location.
+    - FleetStore keeps a whole fleet in parallel primitive arrays (coordinates, per-type availability bitsets, type bytes) for cache-friendly scans; Drivers it registers are views over those arrays. See FleetBenchmark.
+    - Matching uses DriverGridIndex (uniform grid per VehicleType) instead of scanning every driver; see DispatchBenchmark for scan vs grid numbers.
     - Test cases (what the main demonstrates)
     - The main method shows four test scenarios:
     - Standard Car Ride — finds nearest CAR driver, starts & completes ride, prints calculated fare.
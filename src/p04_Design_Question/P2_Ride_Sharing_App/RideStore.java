@@ -0,0 +1,185 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.Ride;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.RideStatus;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.VehicleType;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * RideStore
+ * In-memory repository of rides, sharded by rideId (Ride.ID_GEN) with one lock per shard,
+ * so writers on different shards never contend.
+ * - Completed rides also update FareStats per VehicleType and per FareStrategy name;
+ *   those are O(1) to query and never scan history
+ * - Completed rides are appended to a RideLog (optional); open(path) replays it to rebuild
+ *   the shards and aggregates after a restart
+ */
+class RideStore implements AutoCloseable {
+
+    /** Immutable snapshot of a ride; survives a restart (unlike Ride, which references live users). */
+    static final class RideRecord {
+        final int rideId;
+        final int passengerId;
+        final int driverId;
+        final VehicleType vehicleType;
+        final RideStatus status;
+        final String strategyName;
+        final double distanceKm;
+        final double fare;
+
+        RideRecord(int rideId, int passengerId, int driverId, VehicleType vehicleType, RideStatus status,
+                   String strategyName, double distanceKm, double fare) {
+            this.rideId = rideId;
+            this.passengerId = passengerId;
+            this.driverId = driverId;
+            this.vehicleType = vehicleType;
+            this.status = status;
+            this.strategyName = strategyName;
+            this.distanceKm = distanceKm;
+            this.fare = fare;
+        }
+
+        static RideRecord of(Ride ride) {
+            return new RideRecord(ride.rideId, ride.passenger.id, ride.driver.id, ride.driver.vehicle.type,
+                    ride.getStatus(), ride.fareStrategy.name(), ride.distanceKm, Math.max(0, ride.getFinalFare()));
+        }
+
+        @Override public String toString() {
+            return String.format("Ride#%d %s %s fare=%.2f (%s, %.2f km)", rideId, vehicleType, status, fare, strategyName, distanceKm);
+        }
+    }
+
+    private static final class Shard {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<Integer, RideRecord> rides = new HashMap<>();
+    }
+
+    static final int DEFAULT_SHARDS = 64;
+
+    private final Shard[] shards;
+    private final int mask;
+    private final Map<VehicleType, FareStats> byVehicle = new EnumMap<>(VehicleType.class); // filled once, read-only after
+    private final ConcurrentHashMap<String, FareStats> byStrategy = new ConcurrentHashMap<>();
+    private final RideLog log; // null = memory only
+
+    RideStore() { this(DEFAULT_SHARDS, null); }
+
+    /**
+     * @param shardCount rounded up to a power of two
+     * @param log        where completed rides are appended; null for a memory-only store
+     */
+    RideStore(int shardCount, RideLog log) {
+        int n = Integer.highestOneBit(Math.max(1, shardCount - 1)) << 1;
+        this.shards = new Shard[n];
+        for (int i = 0; i < n; i++) shards[i] = new Shard();
+        this.mask = n - 1;
+        this.log = log;
+        for (VehicleType t : VehicleType.values()) byVehicle.put(t, new FareStats());
+    }
+
+    /** Open (or create) a log-backed store and rebuild it from whatever the log already holds. */
+    static RideStore open(Path logFile) {
+        RideLog log = new RideLog(logFile);
+        RideStore store = new RideStore(DEFAULT_SHARDS, log);
+        int[] maxId = {0};
+        log.replay(r -> {
+            store.index(r);
+            if (r.rideId > maxId[0]) maxId[0] = r.rideId;
+        });
+        // new rides must not reuse ids that are already in the log
+        Ride.ensureIdsAbove(maxId[0]);
+        return store;
+    }
+
+    /**
+     * Track a ride in any state (e.g. right after assignment). Later saves of the same id overwrite it,
+     * except that a completed record is never replaced. Saving a ride that is already completed
+     * counts and logs it just like recordCompleted.
+     */
+    void save(Ride ride) {
+        store(RideRecord.of(ride));
+    }
+
+    /**
+     * Record a finished ride: store it, update aggregates and append it to the log.
+     * Recording the same ride again is a no-op, so the log never holds it twice.
+     */
+    void recordCompleted(Ride ride) {
+        if (ride.getStatus() != RideStatus.COMPLETED) {
+            throw new IllegalStateException(ride + " is not completed: " + ride.getStatus());
+        }
+        store(RideRecord.of(ride));
+    }
+
+    private void store(RideRecord r) {
+        if (r.status == RideStatus.COMPLETED && log != null) RideLog.checkStrategyName(r.strategyName);
+        if (index(r) && log != null) log.append(r);
+    }
+
+    // true if this is the first time the ride is counted as completed
+    private boolean index(RideRecord r) {
+        Shard shard = shardFor(r.rideId);
+        shard.lock.lock();
+        try {
+            RideRecord previous = shard.rides.put(r.rideId, r);
+            if (previous != null && previous.status == RideStatus.COMPLETED) {
+                shard.rides.put(r.rideId, previous); // already counted; keep the record that was
+                return false;
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+        if (r.status != RideStatus.COMPLETED) return false;
+        byVehicle.get(r.vehicleType).record(r.fare, r.distanceKm);
+        byStrategy.computeIfAbsent(r.strategyName, k -> new FareStats()).record(r.fare, r.distanceKm);
+        return true;
+    }
+
+    Optional<RideRecord> find(int rideId) {
+        Shard shard = shardFor(rideId);
+        shard.lock.lock();
+        try {
+            return Optional.ofNullable(shard.rides.get(rideId));
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    FareStats statsFor(VehicleType type) { return byVehicle.get(type); }
+
+    // Strategies that have no completed ride yet report an empty FareStats
+    FareStats statsFor(String strategyName) {
+        FareStats stats = byStrategy.get(strategyName);
+        return stats != null ? stats : new FareStats();
+    }
+
+    Set<String> strategyNames() { return Collections.unmodifiableSet(byStrategy.keySet()); }
+
+    int size() {
+        int total = 0;
+        for (Shard s : shards) {
+            s.lock.lock();
+            try {
+                total += s.rides.size();
+            } finally {
+                s.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    private Shard shardFor(int rideId) {
+        // spread sequential ids so neighbours land on different shards
+        int h = rideId * 0x9E3779B9;
+        return shards[(h ^ (h >>> 16)) & mask];
+    }
+
+    @Override
+    public void close() {
+        if (log != null) log.close();
+    }
+}
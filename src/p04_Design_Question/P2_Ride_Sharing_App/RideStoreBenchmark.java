@@ -0,0 +1,66 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import p04_Design_Question.P2_Ride_Sharing_App.DispatchStressHarness.QuietDriver;
+import p04_Design_Question.P2_Ride_Sharing_App.DispatchStressHarness.QuietPassenger;
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * RideStoreBenchmark
+ * - records RIDES completed rides (mixed vehicle types and fare strategies) into a log-backed RideStore
+ * - prints the O(1) aggregates
+ * - closes the store and times how long open() takes to rebuild it from the memory-mapped log
+ *
+ * Run: java p04_Design_Question.P2_Ride_Sharing_App.RideStoreBenchmark
+ */
+public class RideStoreBenchmark {
+
+    private static final int RIDES = 1_000_000;
+
+    public static void main(String[] args) throws Exception {
+        Path file = Files.createTempFile("rides", ".log");
+        try {
+            System.out.println("=== RideStore: record, aggregate, rebuild ===");
+            Random rnd = new Random(5);
+            Passenger p = new QuietPassenger(1);
+            Driver[] drivers = {
+                    new QuietDriver(1, new Location(0, 0)),
+                    new QuietDriver(2, new Location(0, 0)) };
+            Driver bike = new Driver(3, "B", new Vehicle(VehicleType.BIKE, "BK3", 5.0), new Location(0, 0)) {
+                @Override public void update(Ride ride, RideStatus status, String message) { }
+            };
+            FareStrategy[] strategies = { new StandardFareStrategy(), new SharedFareStrategy(0.7), new LuxuryFareStrategy(1.8) };
+
+            long t0 = System.nanoTime();
+            try (RideStore store = RideStore.open(file)) {
+                for (int i = 0; i < RIDES; i++) {
+                    Driver d = (i % 3 == 0) ? bike : drivers[i & 1];
+                    Ride ride = new Ride(p, d, new Location(0, 0), new Location(rnd.nextDouble() * 20, rnd.nextDouble() * 20), strategies[i % 3]);
+                    ride.startRide();
+                    ride.completeRide();
+                    store.recordCompleted(ride);
+                }
+                long recordMs = (System.nanoTime() - t0) / 1_000_000;
+                System.out.printf("recorded %d rides in %d ms (%.0f rides/s)%n", RIDES, recordMs, RIDES * 1000.0 / Math.max(1, recordMs));
+                printStats(store);
+            }
+
+            long t1 = System.nanoTime();
+            try (RideStore rebuilt = RideStore.open(file)) {
+                long rebuildMs = (System.nanoTime() - t1) / 1_000_000;
+                System.out.printf("%nrebuilt %d rides from %d MB log in %d ms%n", rebuilt.size(), Files.size(file) >> 20, rebuildMs);
+                printStats(rebuilt);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void printStats(RideStore store) {
+        for (VehicleType t : VehicleType.values()) System.out.printf("  %-10s %s%n", t, store.statsFor(t));
+        for (String s : store.strategyNames()) System.out.printf("  %-10s %s%n", s, store.statsFor(s));
+    }
+}
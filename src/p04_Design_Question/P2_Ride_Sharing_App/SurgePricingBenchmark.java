@@ -0,0 +1,100 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SurgePricingBenchmark
+ * SurgeFareStrategy.calculateFare under contention: WRITERS threads flood the DemandHeatmap with
+ * request / driver events while READERS threads price rides. Reports per-thread lookup cost
+ * (thread CPU time, so it stays meaningful when threads outnumber cores), bytes allocated per
+ * lookup (HotSpot per-thread allocation counter) and the update rate.
+ * (No JMH in this tree, so this is a plain timed harness with a warm-up phase.)
+ *
+ * Run: java p04_Design_Question.P2_Ride_Sharing_App.SurgePricingBenchmark
+ */
+public class SurgePricingBenchmark {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final long WARMUP_MILLIS = 1_000;
+    private static final long MEASURE_MILLIS = 3_000;
+    private static final int LOCATIONS = 4_096; // power of two, used as a mask
+
+    public static void main(String[] args) throws Exception {
+        DemandHeatmap heatmap = new DemandHeatmap(0, 0, 0.5, 40, 40, 60_000, 6); // 20x20 km, 60 s window
+        SurgeFareStrategy surge = new SurgeFareStrategy(new StandardFareStrategy(), heatmap, 0.5, 3.0);
+        Vehicle car = new Vehicle(VehicleType.CAR, "KA01", 10.0);
+
+        Random rnd = new Random(11);
+        Location[] spots = new Location[LOCATIONS];
+        for (int i = 0; i < LOCATIONS; i++) spots[i] = new Location(rnd.nextDouble() * 20, rnd.nextDouble() * 20);
+
+        AtomicBoolean measuring = new AtomicBoolean(false);
+        AtomicBoolean stop = new AtomicBoolean(false);
+        AtomicLong updates = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(WRITERS + READERS);
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int w = 0; w < WRITERS; w++) {
+            final int seed = w;
+            new Thread(() -> {
+                long n = 0;
+                int i = seed * 997;
+                while (!stop.get()) {
+                    Location at = spots[i++ & (LOCATIONS - 1)];
+                    if ((i & 3) == 0) heatmap.recordAvailableDriver(at); else heatmap.recordRequest(at);
+                    if (measuring.get()) n++;
+                }
+                updates.addAndGet(n);
+                done.countDown();
+            }, "heatmap-writer-" + w).start();
+        }
+
+        double[] nsPerOp = new double[READERS];
+        double[] bytesPerOp = new double[READERS];
+        for (int r = 0; r < READERS; r++) {
+            final int id = r;
+            new Thread(() -> {
+                int i = id * 131;
+                double sink = 0;
+                // warm-up until the main thread flips 'measuring'
+                while (!measuring.get()) sink += surge.calculateFare(5.0, car, spots[i++ & (LOCATIONS - 1)]);
+                long ops = 0;
+                long bytes0 = mx.getThreadAllocatedBytes(Thread.currentThread().getId());
+                long t0 = mx.getCurrentThreadCpuTime();
+                while (!stop.get()) {
+                    sink += surge.calculateFare(5.0, car, spots[i++ & (LOCATIONS - 1)]);
+                    ops++;
+                }
+                long elapsed = mx.getCurrentThreadCpuTime() - t0;
+                long bytes = mx.getThreadAllocatedBytes(Thread.currentThread().getId()) - bytes0;
+                nsPerOp[id] = (double) elapsed / ops;
+                bytesPerOp[id] = (double) bytes / ops;
+                if (sink == 42) System.out.print(""); // keep results alive
+                done.countDown();
+            }, "fare-reader-" + r).start();
+        }
+
+        Thread.sleep(WARMUP_MILLIS);
+        measuring.set(true);
+        Thread.sleep(MEASURE_MILLIS);
+        stop.set(true);
+        done.await();
+
+        System.out.println("=== SurgeFareStrategy.calculateFare under heatmap contention ===");
+        System.out.printf("cores=%d writers=%d readers=%d heatmap updates=%.1f M/s%n",
+                Runtime.getRuntime().availableProcessors(), WRITERS, READERS, updates.get() / (MEASURE_MILLIS / 1000.0) / 1e6);
+        for (int r = 0; r < READERS; r++) {
+            System.out.printf("  reader %d: %.1f cpu-ns/op, %.3f bytes/op%n", r, nsPerOp[r], bytesPerOp[r]);
+        }
+        Location center = spots[0];
+        System.out.printf("sample: demand=%d supply=%d multiplier=%.2f at %s%n",
+                heatmap.demandAt(center), heatmap.supplyAt(center), surge.multiplierAt(center), center);
+    }
+}
@@ -0,0 +1,61 @@
+package p04_Design_Question.P2_Ride_Sharing_App;
+
+import p04_Design_Question.P2_Ride_Sharing_App.RideSharingApp.Driver;
+
+import java.util.Random;
+
+/**
+ * SyntheticGpsFeed
+ * Deterministic (seeded) GPS ping stream for benchmarks: every driver does a random walk through
+ * the city and pings in shuffled round-robin order. Pings are pre-generated into parallel arrays,
+ * so replaying costs nothing but the ingestion itself, and the same seed always replays the same feed.
+ */
+class SyntheticGpsFeed {
+
+    final int[] driverIndex;
+    final double[] xs;
+    final double[] ys;
+
+    /**
+     * @param drivers  fleet size (ping i belongs to driver driverIndex[i])
+     * @param pings    number of pings to generate
+     * @param cityKm   side of the square city
+     * @param stepKm   max movement between two pings of the same driver
+     */
+    SyntheticGpsFeed(int drivers, int pings, double cityKm, double stepKm, long seed) {
+        Random rnd = new Random(seed);
+        double[] posX = new double[drivers];
+        double[] posY = new double[drivers];
+        for (int d = 0; d < drivers; d++) {
+            posX[d] = rnd.nextDouble() * cityKm;
+            posY[d] = rnd.nextDouble() * cityKm;
+        }
+        driverIndex = new int[pings];
+        xs = new double[pings];
+        ys = new double[pings];
+        for (int i = 0; i < pings; i++) {
+            // mostly round-robin with some randomness, like devices on slightly different clocks
+            int d = (i + rnd.nextInt(64)) % drivers;
+            posX[d] = clamp(posX[d] + (rnd.nextDouble() * 2 - 1) * stepKm, cityKm);
+            posY[d] = clamp(posY[d] + (rnd.nextDouble() * 2 - 1) * stepKm, cityKm);
+            driverIndex[i] = d;
+            xs[i] = posX[d];
+            ys[i] = posY[d];
+        }
+    }
+
+    int size() { return driverIndex.length; }
+
+    /** Push pings [from, to) into the ingestor in frames of 'batchSize', like a gateway would. */
+    void replay(Driver[] fleet, LocationIngestor ingestor, int from, int to, int batchSize) {
+        for (int start = from; start < to; start += batchSize) {
+            int end = Math.min(to, start + batchSize);
+            long now = System.nanoTime();
+            for (int i = start; i < end; i++) ingestor.ping(fleet[driverIndex[i]], xs[i], ys[i], now);
+        }
+    }
+
+    private static double clamp(double v, double max) {
+        return v < 0 ? 0 : (v > max ? max : v);
+    }
+}
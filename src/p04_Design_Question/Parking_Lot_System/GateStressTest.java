@@ -0,0 +1,142 @@
+package p04_Design_Question.Parking_Lot_System;
+
+import p04_Design_Question.Parking_Lot_System.Basic.Bike;
+import p04_Design_Question.Parking_Lot_System.Basic.Car;
+import p04_Design_Question.Parking_Lot_System.Basic.Vehicle;
+import p04_Design_Question.Parking_Lot_System.Spot.BikeSpot;
+import p04_Design_Question.Parking_Lot_System.Spot.CarSpot;
+import p04_Design_Question.Parking_Lot_System.Spot.ParkingSpot;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Many gates parking and unparking on one small, nearly full lot at the same time.
+// Each gate is a worker that parks through ParkingLot.parkVehicle and later lets its own cars leave.
+// Every spot has a holder counter: a park that finds it already held is a double allocation.
+// Prints throughput per gate count so scaling can be compared with the number of cores.
+public class GateStressTest {
+
+    private static final int FLOORS = 4 ;
+    private static final int SPOTS_PER_FLOOR = 500 ;
+    private static final int OPS_PER_GATE = 200_000 ;
+    // share of the lot the gates keep parked between them
+    private static final double OCCUPANCY = 0.95 ;
+
+    public static void main(String[] args) throws InterruptedException {
+
+        System.out.println(
+                "cores: " + Runtime.getRuntime().availableProcessors()
+        );
+
+        // warm-up so the 1-gate row is not measuring the JIT
+        boolean clean = run(4, false) ;
+
+        for(int gates : new int[]{1, 2, 4, 8}) {
+            clean &= run(gates, true) ;
+        }
+
+        System.out.println(
+                clean ? "OK: no spot was ever given to two vehicles" : "FAILED: double allocation seen"
+        );
+    }
+
+    private static boolean run(int gates, boolean report) throws InterruptedException {
+
+        List<ParkingFloor> floors = new ArrayList<>() ;
+        int id = 0 ;
+
+        for(int f = 0; f < FLOORS; f++) {
+            List<ParkingSpot> spots = new ArrayList<>() ;
+            for(int s = 0; s < SPOTS_PER_FLOOR; s++) {
+                spots.add(s % 5 == 4 ? new BikeSpot(id++) : new CarSpot(id++)) ;
+            }
+            floors.add(new ParkingFloor(spots)) ;
+        }
+
+        ParkingLot lot = new ParkingLot(floors) ;
+        int capacity = id ;
+        int heldPerGate = (int) (capacity * OCCUPANCY / gates) ;
+
+        AtomicIntegerArray holders = new AtomicIntegerArray(capacity) ;
+        LongAdder doubleAllocations = new LongAdder() ;
+        LongAdder wrongVehicle = new LongAdder() ;
+        LongAdder parked = new LongAdder() ;
+        LongAdder full = new LongAdder() ;
+
+        // platform threads: JDK 17 has no virtual threads; each gate is one worker
+        ExecutorService pool = Executors.newFixedThreadPool(gates) ;
+        CountDownLatch start = new CountDownLatch(1) ;
+        CountDownLatch done = new CountDownLatch(gates) ;
+
+        for(int g = 0; g < gates; g++) {
+
+            int gate = g ;
+
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current() ;
+                ArrayDeque<Ticket> mine = new ArrayDeque<>() ;
+                try {
+                    start.await() ;
+                    for(int i = 0; i < OPS_PER_GATE; i++) {
+
+                        if(mine.size() >= heldPerGate) {
+                            // exit gate: oldest of this gate's cars leaves
+                            Ticket leaving = mine.poll() ;
+                            holders.decrementAndGet(leaving.getSpot().getSpotId()) ;
+                            leaving.getSpot().removeVehicle() ;
+                        }
+
+                        Vehicle vehicle = random.nextInt(5) == 0
+                                ? new Bike("G" + gate + "B" + i)
+                                : new Car("G" + gate + "C" + i) ;
+
+                        Ticket ticket = lot.parkVehicle(vehicle) ;
+                        if(ticket == null) {
+                            full.increment() ;
+                            continue ;
+                        }
+
+                        if(holders.incrementAndGet(ticket.getSpot().getSpotId()) != 1) {
+                            doubleAllocations.increment() ;
+                        }
+                        if(ticket.getSpot().getVehicle() != vehicle) {
+                            wrongVehicle.increment() ;
+                        }
+                        parked.increment() ;
+                        mine.add(ticket) ;
+                    }
+                } catch(InterruptedException e) {
+                    Thread.currentThread().interrupt() ;
+                } finally {
+                    done.countDown() ;
+                }
+            }) ;
+        }
+
+        long begin = System.nanoTime() ;
+        start.countDown() ;
+        done.await() ;
+        long elapsed = System.nanoTime() - begin ;
+        pool.shutdown() ;
+
+        int occupied = 0 ;
+        for(ParkingFloor floor : floors) {
+            occupied += floor.totalSpots() - floor.freeSpotCount() ;
+        }
+
+        if(report) System.out.printf(
+                "gates %d  parks %,9d  full %,7d  %,10.0f parks/s  occupied at end %d/%d  double=%d wrongVehicle=%d%n",
+                gates, parked.sum(), full.sum(), parked.sum() / (elapsed / 1e9),
+                occupied, capacity, doubleAllocations.sum(), wrongVehicle.sum()
+        ) ;
+
+        return doubleAllocations.sum() == 0 && wrongVehicle.sum() == 0 ;
+    }
+}
@@ -0,0 +1,128 @@
+package p04_Design_Question.Parking_Lot_System;
+
+import p04_Design_Question.Parking_Lot_System.Basic.VehicleType;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Pushes occupancy snapshots to display boards at a fixed rate.
+// Gates never see this class: they only bump the striped counters in each floor's
+// FreeSpotPool. A publisher thread reads those counters every period and, if anything
+// changed, hands one snapshot to every subscriber, however many parks happened in between.
+public class OccupancyFeed implements AutoCloseable {
+
+    private static final VehicleType[] TYPES = VehicleType.values() ;
+
+    private final List<ParkingFloor> floors ;
+    private final int[] capacity ;
+    private final List<Consumer<OccupancySnapshot>> subscribers = new CopyOnWriteArrayList<>() ;
+    private final ScheduledExecutorService publisher ;
+
+    private volatile OccupancySnapshot latest ;
+    private long sequence ;
+    private long published ;
+
+    public OccupancyFeed(List<ParkingFloor> floors, long periodMillis) {
+
+        if(periodMillis <= 0) {
+            throw new IllegalArgumentException("periodMillis must be positive: " + periodMillis) ;
+        }
+
+        this.floors = floors ;
+        this.capacity = new int[floors.size() * TYPES.length] ;
+
+        for(int f = 0 ; f < floors.size() ; f++) {
+            for(VehicleType type : TYPES) {
+                capacity[f * TYPES.length + type.ordinal()] = floors.get(f).capacity(type) ;
+            }
+        }
+
+        this.latest = read(0) ;
+
+        this.publisher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "occupancy-feed") ;
+            t.setDaemon(true) ;
+            return t ;
+        }) ;
+        publisher.scheduleAtFixedRate(this::publish, periodMillis, periodMillis, TimeUnit.MILLISECONDS) ;
+    }
+
+    // The subscriber gets the current snapshot right away, then every change (at most one per period).
+    // Callbacks run on the feed thread, so they should be quick. Synchronized with publish,
+    // so a new subscriber never sees a snapshot older than the one it was given first.
+    public synchronized void subscribe(Consumer<OccupancySnapshot> subscriber) {
+
+        subscribers.add(subscriber) ;
+        subscriber.accept(latest) ;
+    }
+
+    public void unsubscribe(Consumer<OccupancySnapshot> subscriber) {
+
+        subscribers.remove(subscriber) ;
+    }
+
+    // Last published snapshot; no counters are read
+    public OccupancySnapshot latest() {
+
+        return latest ;
+    }
+
+    public synchronized long publishedCount() {
+
+        return published ;
+    }
+
+    // Sums the counters now, e.g. for an on-demand board refresh
+    public synchronized OccupancySnapshot take() {
+
+        return read(sequence) ;
+    }
+
+    private synchronized void publish() {
+
+        OccupancySnapshot now = read(sequence + 1) ;
+
+        if(now.sameCountsAs(latest)) {
+            return ; // nothing moved since the last push
+        }
+
+        sequence++ ;
+        latest = now ;
+        published++ ;
+
+        for(Consumer<OccupancySnapshot> subscriber : subscribers) {
+            try {
+                subscriber.accept(now) ;
+            } catch(RuntimeException e) {
+                // one broken board must not stop the feed for the others
+                System.out.println("Occupancy subscriber failed: " + e) ;
+            }
+        }
+    }
+
+    private OccupancySnapshot read(long seq) {
+
+        int[] occupied = new int[capacity.length] ;
+        int[] parked = new int[capacity.length] ;
+
+        for(int f = 0 ; f < floors.size() ; f++) {
+            ParkingFloor floor = floors.get(f) ;
+            for(VehicleType type : TYPES) {
+                occupied[f * TYPES.length + type.ordinal()] = floor.occupiedCount(type) ;
+                parked[f * TYPES.length + type.ordinal()] = floor.parkedCount(type) ;
+            }
+        }
+
+        return new OccupancySnapshot(seq, System.currentTimeMillis(), floors.size(), occupied, parked, capacity) ;
+    }
+
+    @Override
+    public void close() {
+
+        publisher.shutdownNow() ;
+    }
+}
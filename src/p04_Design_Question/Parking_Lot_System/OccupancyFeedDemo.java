@@ -0,0 +1,134 @@
+package p04_Design_Question.Parking_Lot_System;
+
+import p04_Design_Question.Parking_Lot_System.Basic.Bike;
+import p04_Design_Question.Parking_Lot_System.Basic.Car;
+import p04_Design_Question.Parking_Lot_System.Basic.Vehicle;
+import p04_Design_Question.Parking_Lot_System.Basic.VehicleType;
+import p04_Design_Question.Parking_Lot_System.Spot.BikeSpot;
+import p04_Design_Question.Parking_Lot_System.Spot.CarSpot;
+import p04_Design_Question.Parking_Lot_System.Spot.ParkingSpot;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Gates churn on a large lot while a display board subscribes to an OccupancyFeed.
+// Shows how many gate events collapse into each pushed snapshot, checks the final
+// counters against a full isOccupied() scan, and compares the cost of the two reads.
+public class OccupancyFeedDemo {
+
+    private static final int FLOORS = 10 ;
+    private static final int SPOTS_PER_FLOOR = 5_000 ;
+    private static final int GATES = 4 ;
+    private static final long RUN_MILLIS = 2_000 ;
+    private static final long PERIOD_MILLIS = 100 ;
+
+    public static void main(String[] args) throws InterruptedException {
+
+        List<ParkingFloor> floors = new ArrayList<>() ;
+        int id = 0 ;
+        for(int f = 0; f < FLOORS; f++) {
+            List<ParkingSpot> spots = new ArrayList<>() ;
+            for(int s = 0; s < SPOTS_PER_FLOOR; s++) {
+                spots.add(s % 5 == 4 ? new BikeSpot(id++) : new CarSpot(id++)) ;
+            }
+            floors.add(new ParkingFloor(spots)) ;
+        }
+        ParkingLot lot = new ParkingLot(floors) ;
+        lot.setPaymentGateway(batch -> Collections.emptySet()) ; // exits are charged, but quietly
+        int heldPerGate = (int) (id * 0.9 / GATES) ;
+
+        AtomicBoolean stop = new AtomicBoolean() ;
+        LongAdder gateEvents = new LongAdder() ;
+        AtomicLong boardUpdates = new AtomicLong() ;
+
+        try(OccupancyFeed feed = lot.occupancyFeed(PERIOD_MILLIS)) {
+
+            feed.subscribe(snapshot -> {
+                long n = boardUpdates.incrementAndGet() ;
+                if(n % 5 == 1) {
+                    System.out.println("board " + snapshot) ;
+                }
+            }) ;
+
+            List<Thread> gates = new ArrayList<>() ;
+            for(int g = 0; g < GATES; g++) {
+                Thread gate = new Thread(() -> {
+                    ArrayDeque<Ticket> mine = new ArrayDeque<>() ;
+                    ThreadLocalRandom random = ThreadLocalRandom.current() ;
+                    while(!stop.get()) {
+                        if(mine.size() >= heldPerGate || (mine.size() > 0 && random.nextInt(3) == 0)) {
+                            lot.checkout(mine.poll()) ;
+                            gateEvents.increment() ;
+                        }
+                        Vehicle vehicle = random.nextInt(5) == 0 ? new Bike("B") : new Car("C") ;
+                        Ticket ticket = lot.parkVehicle(vehicle) ;
+                        if(ticket != null) {
+                            mine.add(ticket) ;
+                            gateEvents.increment() ;
+                        }
+                    }
+                }, "gate-" + g) ;
+                gates.add(gate) ;
+                gate.start() ;
+            }
+
+            Thread.sleep(RUN_MILLIS) ;
+            stop.set(true) ;
+            for(Thread gate : gates) {
+                gate.join() ;
+            }
+
+            // gates are quiet now, so counters must match a full scan exactly
+            int scanned = 0 ;
+            int scannedBikes = 0 ;
+            long scanStart = System.nanoTime() ;
+            for(int r = 0; r < 100; r++) {
+                scanned = 0 ;
+                scannedBikes = 0 ;
+                for(ParkingFloor floor : lot.getFloors()) {
+                    for(ParkingSpot spot : floor.getSpots()) {
+                        if(spot.isOccupied()) {
+                            scanned++ ;
+                            if(spot.getVehicle().getType() == VehicleType.BIKE) {
+                                scannedBikes++ ;
+                            }
+                        }
+                    }
+                }
+            }
+            long scanNanos = (System.nanoTime() - scanStart) / 100 ;
+
+            OccupancySnapshot snapshot = null ;
+            long takeStart = System.nanoTime() ;
+            for(int r = 0; r < 100; r++) {
+                snapshot = feed.take() ;
+            }
+            long takeNanos = (System.nanoTime() - takeStart) / 100 ;
+
+            System.out.printf(
+                    "%n%,d gate events -> %d board updates (period %d ms)%n",
+                    gateEvents.sum(), boardUpdates.get(), PERIOD_MILLIS
+            ) ;
+            System.out.printf(
+                    "counters %,d occupied, full scan %,d occupied -> %s%n",
+                    snapshot.totalOccupied(), scanned,
+                    snapshot.totalOccupied() == scanned ? "OK" : "MISMATCH"
+            ) ;
+            System.out.printf(
+                    "counters %,d bikes parked (any spot type), full scan %,d -> %s%n",
+                    snapshot.parked(VehicleType.BIKE), scannedBikes,
+                    snapshot.parked(VehicleType.BIKE) == scannedBikes ? "OK" : "MISMATCH"
+            ) ;
+            System.out.printf(
+                    "read cost: full scan %,d ns, counter snapshot %,d ns%n",
+                    scanNanos, takeNanos
+            ) ;
+        }
+    }
+}
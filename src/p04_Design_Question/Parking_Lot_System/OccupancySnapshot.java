@@ -0,0 +1,115 @@
+package p04_Design_Question.Parking_Lot_System;
+
+import p04_Design_Question.Parking_Lot_System.Basic.VehicleType;
+
+// Immutable occupancy of the whole lot at one moment, per floor:
+//   occupied / free / capacity by spot type (what a board shows as free spaces)
+//   parked by vehicle type (a bike in a car spot counts as a BIKE here, as CAR spot occupancy above)
+public class OccupancySnapshot {
+
+    private static final int TYPES = VehicleType.values().length ;
+
+    private final long sequence ;
+    private final long timeMillis ;
+    private final int floors ;
+    // [floor * TYPES + spot type ordinal]
+    private final int[] occupied ;
+    // [floor * TYPES + vehicle type ordinal]
+    private final int[] parked ;
+    private final int[] capacity ;
+
+    OccupancySnapshot(long sequence, long timeMillis, int floors, int[] occupied, int[] parked, int[] capacity) {
+        this.sequence = sequence ;
+        this.timeMillis = timeMillis ;
+        this.floors = floors ;
+        this.occupied = occupied ;
+        this.parked = parked ;
+        this.capacity = capacity ;
+    }
+
+    // increases by one per published snapshot; a gap means nothing changed in between
+    public long getSequence() {
+        return sequence ;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis ;
+    }
+
+    public int floorCount() {
+        return floors ;
+    }
+
+    public int occupied(int floor, VehicleType spotType) {
+        return occupied[floor * TYPES + spotType.ordinal()] ;
+    }
+
+    public int free(int floor, VehicleType spotType) {
+        int i = floor * TYPES + spotType.ordinal() ;
+        return capacity[i] - occupied[i] ;
+    }
+
+    public int occupied(VehicleType spotType) {
+        int total = 0 ;
+        for(int f = 0 ; f < floors ; f++) {
+            total += occupied[f * TYPES + spotType.ordinal()] ;
+        }
+        return total ;
+    }
+
+    public int free(VehicleType spotType) {
+        int total = 0 ;
+        for(int f = 0 ; f < floors ; f++) {
+            total += free(f, spotType) ;
+        }
+        return total ;
+    }
+
+    public int parked(int floor, VehicleType vehicleType) {
+        return parked[floor * TYPES + vehicleType.ordinal()] ;
+    }
+
+    public int parked(VehicleType vehicleType) {
+        int total = 0 ;
+        for(int f = 0 ; f < floors ; f++) {
+            total += parked[f * TYPES + vehicleType.ordinal()] ;
+        }
+        return total ;
+    }
+
+    public int totalOccupied() {
+        int total = 0 ;
+        for(int n : occupied) {
+            total += n ;
+        }
+        return total ;
+    }
+
+    public int totalCapacity() {
+        int total = 0 ;
+        for(int n : capacity) {
+            total += n ;
+        }
+        return total ;
+    }
+
+    boolean sameCountsAs(OccupancySnapshot other) {
+        return other != null
+                && java.util.Arrays.equals(occupied, other.occupied)
+                && java.util.Arrays.equals(parked, other.parked) ;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("#" + sequence + " ") ;
+        for(VehicleType type : VehicleType.values()) {
+            sb.append(type).append(" free ").append(free(type)).append("  ") ;
+        }
+        sb.append("parked") ;
+        for(VehicleType type : VehicleType.values()) {
+            sb.append(' ').append(type).append('=').append(parked(type)) ;
+        }
+        sb.append("  ") ;
+        return sb.append("occupied ").append(totalOccupied()).append('/').append(totalCapacity()).toString() ;
+    }
+}
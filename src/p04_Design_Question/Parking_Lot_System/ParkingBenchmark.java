@@ -0,0 +1,141 @@
+package p04_Design_Question.Parking_Lot_System;
+
+import p04_Design_Question.Parking_Lot_System.Basic.Bike;
+import p04_Design_Question.Parking_Lot_System.Basic.Car;
+import p04_Design_Question.Parking_Lot_System.Basic.Vehicle;
+import p04_Design_Question.Parking_Lot_System.Spot.BikeSpot;
+import p04_Design_Question.Parking_Lot_System.Spot.CarSpot;
+import p04_Design_Question.Parking_Lot_System.Spot.ParkingSpot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Park / leave churn on a large multi-floor lot held at a fixed high occupancy.
+// Compares the old linear scan (findAvailableSpotByScan) with the free-spot pools (claimSpot).
+// Each round: a random parked vehicle leaves, then a new vehicle takes the first spot the lot offers.
+public class ParkingBenchmark {
+
+    private static final int FLOORS = 20 ;
+    private static final int SPOTS_PER_FLOOR = 5_000 ;
+    private static final double BIKE_SPOT_SHARE = 0.2 ;
+    private static final int ROUNDS = 200_000 ;
+
+    public static void main(String[] args) {
+
+        System.out.println(
+                "Lot: " + FLOORS + " floors x " + SPOTS_PER_FLOOR + " spots"
+        );
+
+        for(double occupancy : new double[]{0.50, 0.95, 0.99}) {
+
+            // warm-up pass per variant, then the measured one
+            run(occupancy, true, ROUNDS / 4) ;
+            run(occupancy, false, ROUNDS / 4) ;
+
+            double scanNs = run(occupancy, true, ROUNDS) ;
+            double poolNs = run(occupancy, false, ROUNDS) ;
+
+            System.out.printf(
+                    "occupancy %2.0f%%  scan %,10.0f ns/park   pools %,6.0f ns/park   (%.0fx)%n",
+                    occupancy * 100, scanNs, poolNs, scanNs / poolNs
+            ) ;
+        }
+    }
+
+    // @return average ns per park (find + claim) over 'rounds' leave/park pairs
+    private static double run(double occupancy, boolean scan, int rounds) {
+
+        List<ParkingFloor> floors = buildFloors() ;
+        Random random = new Random(42) ;
+
+        int capacity = FLOORS * SPOTS_PER_FLOOR ;
+        int target = (int) (capacity * occupancy) ;
+
+        List<ParkingSpot> parked = new ArrayList<>(target) ;
+        int plate = 0 ;
+
+        while(parked.size() < target) {
+            ParkingSpot spot = park(floors, nextVehicle(random, plate++), scan) ;
+            if(spot == null) {
+                break ;
+            }
+            parked.add(spot) ;
+        }
+
+        long parkNanos = 0 ;
+
+        for(int i = 0; i < rounds; i++) {
+
+            // someone leaves...
+            int leaving = random.nextInt(parked.size()) ;
+            ParkingSpot freed = parked.get(leaving) ;
+            freed.removeVehicle() ;
+            parked.set(leaving, parked.get(parked.size() - 1)) ;
+            parked.remove(parked.size() - 1) ;
+
+            // ...and someone arrives
+            Vehicle vehicle = nextVehicle(random, plate++) ;
+            long start = System.nanoTime() ;
+            ParkingSpot spot = park(floors, vehicle, scan) ;
+            parkNanos += System.nanoTime() - start ;
+
+            if(spot != null) {
+                parked.add(spot) ;
+            }
+        }
+
+        return (double) parkNanos / rounds ;
+    }
+
+    // same floor loop as ParkingLot.parkVehicle, without the ticket
+    private static ParkingSpot park(List<ParkingFloor> floors, Vehicle vehicle, boolean scan) {
+
+        for(ParkingFloor floor : floors) {
+
+            if(scan) {
+                ParkingSpot spot = floor.findAvailableSpotByScan(vehicle) ;
+                if(spot != null) {
+                    spot.parkVehicle(vehicle) ;
+                    return spot ;
+                }
+            } else {
+                ParkingSpot spot = floor.claimSpot(vehicle) ;
+                if(spot != null) {
+                    return spot ;
+                }
+            }
+        }
+
+        return null ;
+    }
+
+    private static List<ParkingFloor> buildFloors() {
+
+        List<ParkingFloor> floors = new ArrayList<>() ;
+        int id = 1 ;
+        int bikeSpots = (int) (SPOTS_PER_FLOOR * BIKE_SPOT_SHARE) ;
+
+        for(int f = 0; f < FLOORS; f++) {
+
+            List<ParkingSpot> spots = new ArrayList<>() ;
+
+            // car spots first, like a typical layout; bike spots at the back of each floor
+            for(int s = 0; s < SPOTS_PER_FLOOR; s++) {
+                spots.add(s < SPOTS_PER_FLOOR - bikeSpots ? new CarSpot(id++) : new BikeSpot(id++)) ;
+            }
+
+            floors.add(new ParkingFloor(spots)) ;
+        }
+
+        return floors ;
+    }
+
+    // traffic matches the spot mix so the lot can actually reach the target occupancy
+    private static Vehicle nextVehicle(Random random, int plate) {
+
+        return random.nextDouble() < BIKE_SPOT_SHARE
+                ? new Bike("B" + plate)
+                : new Car("C" + plate) ;
+    }
+}
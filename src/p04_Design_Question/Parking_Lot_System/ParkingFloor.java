@@ -1,18 +1,70 @@
 package p04_Design_Question.Parking_Lot_System;
 
 import p04_Design_Question.Parking_Lot_System.Basic.Vehicle;
+import p04_Design_Question.Parking_Lot_System.Basic.VehicleType;
+import p04_Design_Question.Parking_Lot_System.Spot.FreeSpotPool;
 import p04_Design_Question.Parking_Lot_System.Spot.ParkingSpot;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 public class ParkingFloor {
     private List<ParkingSpot> spots ;
 
+    // one free list per spot type, kept in VehicleType order (smallest spot first)
+    private Map<VehicleType, FreeSpotPool> freePools ;
+
     public ParkingFloor(List<ParkingSpot> spots){
         this.spots = spots ;
+
+        Map<VehicleType, List<ParkingSpot>> byType =
+                new EnumMap<>(VehicleType.class) ;
+
+        for(ParkingSpot spot : spots){
+            byType.computeIfAbsent(spot.getSpotType(), t -> new ArrayList<>()).add(spot) ;
+        }
+
+        this.freePools = new EnumMap<>(VehicleType.class) ;
+
+        for(Map.Entry<VehicleType, List<ParkingSpot>> entry : byType.entrySet()){
+            freePools.put(entry.getKey(), new FreeSpotPool(entry.getKey(), entry.getValue())) ;
+        }
+    }
+
+    // Claim a spot of the smallest type that fits; safe from any number of gates at once.
+    // The spot comes back already parked with 'vehicle'; null if the floor has no fitting spot.
+    public ParkingSpot claimSpot(Vehicle vehicle){
+        for(FreeSpotPool pool : freePools.values()){
+            if(pool.canFit(vehicle)){
+                ParkingSpot spot = pool.claim(vehicle) ;
+                if(spot != null){
+                    return spot ;
+                }
+            }
+        }
+
+        return null ;
     }
 
+    // Advisory lookup only: another gate may take the spot before parkVehicle; gates use claimSpot
     public ParkingSpot findAvailableSpot(Vehicle vehicle){
+        for(FreeSpotPool pool : freePools.values()){
+            if(pool.freeCount() > 0 && pool.canFit(vehicle)){
+                ParkingSpot spot = pool.peek() ;
+                if(spot != null){
+                    return spot ;
+                }
+            }
+        }
+
+        return null ;
+    }
+
+    // Original linear scan over every spot; kept as the baseline for ParkingBenchmark
+    public ParkingSpot findAvailableSpotByScan(Vehicle vehicle){
         for(ParkingSpot spot : spots){
             if(!spot.isOccupied() && spot.canFitVehicle(vehicle)){
                 return spot ;
@@ -23,5 +75,45 @@ public class ParkingFloor {
         return null ;
     }
 
+    public int freeSpotCount(){
+        int total = 0 ;
+        for(FreeSpotPool pool : freePools.values()){
+            total += pool.freeCount() ;
+        }
+        return total ;
+    }
+
+    public int freeSpotCount(VehicleType spotType){
+        FreeSpotPool pool = freePools.get(spotType) ;
+        return pool == null ? 0 : pool.freeCount() ;
+    }
+
+    public int occupiedCount(VehicleType spotType){
+        FreeSpotPool pool = freePools.get(spotType) ;
+        return pool == null ? 0 : pool.occupiedCount() ;
+    }
+
+    // Vehicles of 'vehicleType' parked on this floor, in any spot type
+    public int parkedCount(VehicleType vehicleType){
+        int total = 0 ;
+        for(FreeSpotPool pool : freePools.values()){
+            total += pool.parkedCount(vehicleType) ;
+        }
+        return total ;
+    }
+
+    public int capacity(VehicleType spotType){
+        FreeSpotPool pool = freePools.get(spotType) ;
+        return pool == null ? 0 : pool.capacity() ;
+    }
+
+    public List<ParkingSpot> getSpots(){
+        return Collections.unmodifiableList(spots) ;
+    }
+
+    public int totalSpots(){
+        return spots.size() ;
+    }
+
 
 }
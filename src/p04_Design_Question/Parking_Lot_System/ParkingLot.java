@@ -1,38 +1,174 @@
 package p04_Design_Question.Parking_Lot_System;
 
+import p04_Design_Question.Parking_Lot_System.Basic.Bike;
+import p04_Design_Question.Parking_Lot_System.Basic.Car;
+import p04_Design_Question.Parking_Lot_System.Basic.Truck;
 import p04_Design_Question.Parking_Lot_System.Basic.Vehicle;
+import p04_Design_Question.Parking_Lot_System.PriceCalculation.PricingEngine;
+import p04_Design_Question.Parking_Lot_System.Settlement.PaymentGateway;
+import p04_Design_Question.Parking_Lot_System.Settlement.PaymentRequest;
+import p04_Design_Question.Parking_Lot_System.Settlement.PaymentSettler;
 import p04_Design_Question.Parking_Lot_System.Spot.ParkingSpot;
 
+import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ParkingLot {
 
     private List<ParkingFloor> floors;
+    private PricingEngine pricingEngine;
+
+    // null = tickets live in memory only
+    private TicketJournal journal;
+    private final AtomicLong ticketSequence = new AtomicLong();
+    // ticket ids restart with every in-memory lot, so payment keys carry this too
+    private final long epoch;
+    private final Map<Long, Ticket> openTickets = new ConcurrentHashMap<>();
+    private volatile PaymentSettler paymentSettler;
+    private volatile PaymentGateway paymentGateway;
 
     public ParkingLot(List<ParkingFloor> floors) {
 
+        this(floors, PricingEngine.standard());
+    }
+
+    public ParkingLot(List<ParkingFloor> floors,
+                      PricingEngine pricingEngine) {
+
+        this(floors, pricingEngine, null);
+    }
+
+    // journal-backed lots only come from open(), which always replays the journal first
+    private ParkingLot(List<ParkingFloor> floors,
+                       PricingEngine pricingEngine,
+                       TicketJournal journal) {
+
         this.floors = floors;
+        this.pricingEngine = pricingEngine;
+        this.journal = journal;
+        this.epoch = journal != null ? journal.epoch() : TicketJournal.newEpoch();
+    }
+
+    // Open (or create) a journal-backed lot. Vehicles still inside according to
+    // the journal are put back on their spots with their original tickets.
+    public static ParkingLot open(List<ParkingFloor> floors,
+                                  Path journalFile) {
+
+        return open(floors, PricingEngine.standard(), journalFile);
+    }
+
+    // The journal records spots by id only, so spot ids must be unique across all floors.
+    public static ParkingLot open(List<ParkingFloor> floors,
+                                  PricingEngine pricingEngine,
+                                  Path journalFile) {
+
+        ParkingSpot[] spotsById = indexSpots(floors);
+
+        TicketJournal journal = new TicketJournal(journalFile);
+
+        ParkingLot lot =
+                new ParkingLot(floors, pricingEngine, journal);
+
+        lot.recover(spotsById);
+
+        return lot;
     }
 
+    private static ParkingSpot[] indexSpots(List<ParkingFloor> floors) {
+
+        int maxSpotId = 0;
+
+        for(ParkingFloor floor : floors) {
+            for(ParkingSpot spot : floor.getSpots()) {
+                maxSpotId = Math.max(maxSpotId, spot.getSpotId());
+            }
+        }
+
+        ParkingSpot[] spotsById = new ParkingSpot[maxSpotId + 1];
+
+        for(ParkingFloor floor : floors) {
+            for(ParkingSpot spot : floor.getSpots()) {
+
+                if(spotsById[spot.getSpotId()] != null) {
+                    throw new IllegalArgumentException(
+                            "Spot id " + spot.getSpotId() + " is used more than once; "
+                                    + "a journal-backed lot needs unique spot ids across floors"
+                    );
+                }
+
+                spotsById[spot.getSpotId()] = spot;
+            }
+        }
+
+        return spotsById;
+    }
+
+    private void recover(ParkingSpot[] spotsById) {
+
+        TicketJournal.Recovery recovery = journal.replay(spotsById.length - 1);
+
+        for(TicketJournal.OpenTicket open : recovery.openTickets) {
+
+            ParkingSpot spot = spotsById[open.spotId];
+            Vehicle vehicle = vehicleOf(open);
+
+            if(spot != null && spot.tryPark(vehicle)) {
+                openTickets.put(open.ticketId,
+                        new Ticket(open.ticketId, vehicle, spot, open.entryTime));
+            }
+        }
+
+        // new tickets continue after the highest id ever issued
+        ticketSequence.set(recovery.maxTicketId);
+    }
+
+    private static Vehicle vehicleOf(TicketJournal.OpenTicket open) {
+
+        switch(open.vehicleType) {
+            case BIKE:
+                return new Bike(open.vehicleNumber);
+            case TRUCK:
+                return new Truck(open.vehicleNumber);
+            default:
+                return new Car(open.vehicleNumber);
+        }
+    }
+
+    // Each floor answers in O(1) from its free pools, so this is O(floors)
+    // and does not slow down as the lot fills up.
+    // Safe to call from many entry gates at once: claimSpot hands each spot to exactly one gate.
     public Ticket parkVehicle(Vehicle vehicle) {
 
+        // before a spot is taken, so a plate the journal would reject never holds one
+        if(journal != null) {
+            TicketJournal.checkPlate(vehicle.getVehicleNumber());
+        }
+
         for(ParkingFloor floor : floors) {
 
             ParkingSpot spot =
-                    floor.findAvailableSpot(vehicle);
+                    floor.claimSpot(vehicle);
 
             if(spot != null) {
 
-                spot.parkVehicle(vehicle);
-
                 Ticket ticket =
                         new Ticket(
-                                UUID.randomUUID().toString(),
+                                ticketSequence.incrementAndGet(),
                                 vehicle,
                                 spot
                         );
 
+                if(journal != null) {
+                    journal.appendPark(ticket);
+                }
+
+                openTickets.put(ticket.getTicketId(), ticket);
+
                 return ticket;
             }
         }
@@ -40,19 +176,70 @@ public class ParkingLot {
         return null;
     }
 
+    // Ticket of a vehicle still inside, e.g. scanned at an exit gate after a restart
+    public Ticket findTicket(long ticketId) {
+
+        return openTickets.get(ticketId);
+    }
+
+    public List<ParkingFloor> getFloors() {
+
+        return Collections.unmodifiableList(floors);
+    }
+
+    // Live occupancy for display boards, published every periodMillis when it changed
+    public OccupancyFeed occupancyFeed(long periodMillis) {
+
+        return new OccupancyFeed(floors, periodMillis);
+    }
+
+    public long lastTicketId() {
+
+        return ticketSequence.get();
+    }
+
+    public int openTicketCount() {
+
+        return openTickets.size();
+    }
+
+    // Send exit payments to a background settler instead of paying inline; null = inline Payment
+    public void setPaymentSettler(PaymentSettler paymentSettler) {
+
+        this.paymentSettler = paymentSettler;
+    }
+
+    // Charge inline exits through this gateway, on the gate's thread; null = the Payment stub.
+    // Also used when a settler is set but refuses a payment.
+    public void setPaymentGateway(PaymentGateway paymentGateway) {
+
+        this.paymentGateway = paymentGateway;
+    }
+
+    // Unique across restarts: the same ticket id in another epoch is a different charge
+    private String paymentKey(Ticket ticket) {
+
+        return Long.toHexString(epoch) + "-" + ticket.getTicketId();
+    }
+
     public void exitVehicle(Ticket ticket) {
 
+        if(!closeTicket(ticket)) {
+
+            System.out.println(
+                    "\nTicket " + ticket.getTicketId() + " is not open, nothing charged"
+            );
+
+            return;
+        }
+
         ParkingSpot spot = ticket.getSpot();
 
         long exitTime =
                 System.currentTimeMillis();
 
-        long duration =
-                (exitTime -
-                        ticket.getEntryTime())
-                        / 1000;
-
-        double amount = calculateFee(duration);
+        double amount =
+                calculateFee(ticket, exitTime);
 
         System.out.println(
                 "\nVehicle Returning..."
@@ -73,20 +260,126 @@ public class ParkingLot {
                 "Parking Fee : Rs " + amount
         );
 
-        Payment payment =
-                new Payment();
-
-        payment.makePayment(amount);
-
-        spot.removeVehicle();
+        release(ticket, exitTime, amount);
 
         System.out.println(
                 "Spot is now free"
         );
     }
 
-    private double calculateFee(long seconds) {
+    // Same as exitVehicle without the console output; returns the fee charged
+    // (0 if the ticket was already checked out)
+    public double checkout(Ticket ticket) {
+
+        if(!closeTicket(ticket)) {
+            return 0;
+        }
+
+        long exitTime =
+                System.currentTimeMillis();
+
+        double amount =
+                calculateFee(ticket, exitTime);
+
+        release(ticket, exitTime, amount);
+
+        return amount;
+    }
+
+    private double calculateFee(Ticket ticket, long exitTime) {
+
+        return pricingEngine.calculateFee(
+                ticket.getVehicle().getType(),
+                ticket.getEntryTime(),
+                exitTime
+        );
+    }
+
+    // Exactly one exit wins per ticket; a repeated or concurrent exit with the
+    // same ticket gets false and must not journal, free the spot or charge.
+    private boolean closeTicket(Ticket ticket) {
+
+        return openTickets.remove(ticket.getTicketId(), ticket);
+    }
+
+    // Hands the payment off first, then journals the exit and frees the spot,
+    // so a car never leaves without its charge being queued or made.
+    // With a settler the gate only waits for the enqueue, never for the gateway.
+    // Only called after closeTicket() returned true.
+    private void release(Ticket ticket, long exitTime, double amount) {
+
+        if(!handOffPayment(ticket, amount)) {
+            payInline(ticket, amount);
+        }
+
+        // journal the exit before the spot can be handed to someone else,
+        // so a replay never sees the next park before this exit
+        if(journal != null) {
+            journal.appendExit(ticket, exitTime);
+        }
+
+        ticket.getSpot().removeVehicle();
+    }
+
+    private void payInline(Ticket ticket, double amount) {
+
+        PaymentGateway gateway = paymentGateway;
+
+        if(gateway == null) {
+
+            Payment payment =
+                    new Payment();
+
+            payment.makePayment(amount);
+
+            return;
+        }
+
+        String key = paymentKey(ticket);
+
+        try {
+
+            Set<String> failed = gateway.settle(Collections.singletonList(
+                    new PaymentRequest(key, ticket.getVehicle().getVehicleNumber(), amount)
+            ));
+
+            if(failed.contains(key)) {
+                System.err.println("Payment " + key + " declined, needs follow-up");
+            }
+
+        } catch(RuntimeException e) {
+
+            // the car still leaves; the key lets a manual retry charge at most once
+            System.err.println("Payment " + key + " failed (" + e.getMessage() + "), needs follow-up");
+        }
+    }
+
+    // @return false if there is no settler or it did not take the payment
+    // (closed, interrupted, or the key already queued): the caller pays inline
+    private boolean handOffPayment(Ticket ticket, double amount) {
 
-        return seconds * 2;
+        PaymentSettler settler = paymentSettler;
+
+        if(settler == null) {
+            return false;
+        }
+
+        try {
+
+            return settler.submit(
+                    paymentKey(ticket),
+                    ticket.getVehicle().getVehicleNumber(),
+                    amount
+            );
+
+        } catch(IllegalStateException e) {
+
+            System.err.println(
+                    "Settler refused ticket " + ticket.getTicketId()
+                            + " (" + e.getMessage() + "), paying inline"
+            );
+
+            return false;
+        }
     }
 }
@@ -0,0 +1,74 @@
+package p04_Design_Question.Parking_Lot_System.PriceCalculation;
+
+import p04_Design_Question.Parking_Lot_System.Basic.VehicleType;
+
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Picks the PricingStrategy for a vehicle's type; one strategy per VehicleType.
+public class PricingEngine {
+
+    private final PricingStrategy[] byType =
+            new PricingStrategy[VehicleType.values().length];
+
+    public PricingEngine(Map<VehicleType, PricingStrategy> strategies) {
+
+        for(VehicleType type : VehicleType.values()) {
+
+            PricingStrategy strategy = strategies.get(type);
+
+            if(strategy == null) {
+                throw new IllegalArgumentException("no pricing strategy for " + type);
+            }
+
+            byType[type.ordinal()] = strategy;
+        }
+    }
+
+    public double calculateFee(VehicleType type, long entryMillis, long exitMillis) {
+
+        return byType[type.ordinal()].calculateFee(entryMillis, exitMillis);
+    }
+
+    public PricingStrategy strategyFor(VehicleType type) {
+
+        return byType[type.ordinal()];
+    }
+
+    // Default tariffs (Rs, India time): pricier first hours, cheaper nights, daily caps
+    public static PricingEngine standard() {
+
+        ZoneOffset ist = ZoneOffset.ofHoursMinutes(5, 30);
+
+        Map<VehicleType, PricingStrategy> strategies =
+                new EnumMap<>(VehicleType.class);
+
+        strategies.put(VehicleType.BIKE,
+                TieredPricingStrategy.builder()
+                        .band(2, 10, 5)
+                        .thereafter(5, 3)
+                        .dailyCap(80)
+                        .zone(ist)
+                        .build());
+
+        strategies.put(VehicleType.CAR,
+                TieredPricingStrategy.builder()
+                        .band(2, 40, 20)
+                        .band(6, 30, 15)
+                        .thereafter(20, 10)
+                        .dailyCap(300)
+                        .zone(ist)
+                        .build());
+
+        strategies.put(VehicleType.TRUCK,
+                TieredPricingStrategy.builder()
+                        .band(2, 100, 60)
+                        .thereafter(60, 40)
+                        .dailyCap(900)
+                        .zone(ist)
+                        .build());
+
+        return new PricingEngine(strategies);
+    }
+}
@@ -1,6 +0,0 @@
-package p04_Design_Question.Parking_Lot_System.PriceCalculation;
-
-interface PricingStrategy {
-
-    double calculateFee(long hours);
-}
\ No newline at end of file
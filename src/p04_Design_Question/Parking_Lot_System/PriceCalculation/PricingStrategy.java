@@ -0,0 +1,22 @@
+package p04_Design_Question.Parking_Lot_System.PriceCalculation;
+
+public interface PricingStrategy {
+
+    long MILLIS_PER_HOUR = 3_600_000L ;
+
+    double calculateFee(long hours);
+
+    // Fee for a stay given as wall-clock millis; strategies with time-of-day
+    // rates override this. Every started hour is charged, with at least one hour.
+    default double calculateFee(long entryMillis, long exitMillis) {
+
+        return calculateFee(startedHours(entryMillis, exitMillis));
+    }
+
+    static long startedHours(long entryMillis, long exitMillis) {
+
+        long millis = Math.max(0, exitMillis - entryMillis);
+
+        return Math.max(1, (millis + MILLIS_PER_HOUR - 1) / MILLIS_PER_HOUR);
+    }
+}
@@ -0,0 +1,231 @@
+package p04_Design_Question.Parking_Lot_System.PriceCalculation;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+// Tariff made of hourly bands (e.g. first 2 h at 40/h, next 4 h at 30/h, then 20/h),
+// each with a day and a night rate, and a cap per 24 hours of stay.
+//
+// The builder compiles the tariff into lookup tables indexed by
+// (clock hour of entry, hours into the 24 h block), so pricing an exit is
+// a few array reads and no allocation, whatever the length of the stay:
+//   first[e][n]  capped fee of the first n hours of a stay that started at clock hour e
+//   fullDay[e]   capped fee of a later full 24 h block (all hours in the last band)
+//   tail[e][n]   capped fee of the first n hours of a later, partial block
+// Bands must end within the first 24 hours, so every block after the first is priced the same.
+// The clock hour uses a fixed zone offset (no daylight saving shifts).
+public class TieredPricingStrategy
+        implements PricingStrategy {
+
+    private static final int HOURS_PER_DAY = 24;
+    private static final int ROW = HOURS_PER_DAY + 1; // n = 0..24
+
+    private final double[] first;
+    private final double[] fullDay;
+    private final double[] tail;
+    private final long offsetMillis;
+    private final int dayStartHour;
+
+    // kept only for the hour-by-hour reference
+    private final int[] bandEnds;
+    private final double[] dayRates;
+    private final double[] nightRates;
+    private final int nightStartHour;
+    private final double dailyCap;
+
+    private TieredPricingStrategy(Builder builder) {
+
+        int bands = builder.ends.size();
+        this.bandEnds = new int[bands];
+        this.dayRates = new double[bands];
+        this.nightRates = new double[bands];
+        for(int i = 0; i < bands; i++) {
+            bandEnds[i] = builder.ends.get(i);
+            dayRates[i] = builder.dayRates.get(i);
+            nightRates[i] = builder.nightRates.get(i);
+        }
+        this.dayStartHour = builder.dayStartHour;
+        this.nightStartHour = builder.nightStartHour;
+        this.dailyCap = builder.dailyCap;
+        this.offsetMillis = builder.zone.getTotalSeconds() * 1000L;
+
+        this.first = new double[HOURS_PER_DAY * ROW];
+        this.fullDay = new double[HOURS_PER_DAY];
+        this.tail = new double[HOURS_PER_DAY * ROW];
+
+        for(int entryHour = 0; entryHour < HOURS_PER_DAY; entryHour++) {
+
+            double firstSum = 0;
+            double tailSum = 0;
+
+            for(int n = 1; n <= HOURS_PER_DAY; n++) {
+
+                int clockHour = (entryHour + n - 1) % HOURS_PER_DAY;
+
+                firstSum += rate(n - 1, clockHour);
+                tailSum += rate(Integer.MAX_VALUE, clockHour);
+
+                first[entryHour * ROW + n] = Math.min(dailyCap, firstSum);
+                tail[entryHour * ROW + n] = Math.min(dailyCap, tailSum);
+            }
+
+            fullDay[entryHour] = tail[entryHour * ROW + HOURS_PER_DAY];
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Stay of 'hours' starting at the start of the day rate
+    @Override
+    public double calculateFee(long hours) {
+
+        return lookup(dayStartHour, Math.max(1, hours));
+    }
+
+    @Override
+    public double calculateFee(long entryMillis, long exitMillis) {
+
+        return lookup(clockHour(entryMillis), PricingStrategy.startedHours(entryMillis, exitMillis));
+    }
+
+    private double lookup(int entryHour, long hours) {
+
+        int row = entryHour * ROW;
+
+        if(hours <= HOURS_PER_DAY) {
+            return first[row + (int) hours];
+        }
+
+        long later = hours - HOURS_PER_DAY;
+
+        return first[row + HOURS_PER_DAY]
+                + (later / HOURS_PER_DAY) * fullDay[entryHour]
+                + tail[row + (int) (later % HOURS_PER_DAY)];
+    }
+
+    // Walks the stay hour by hour, with no tables; reference for checking lookups
+    public double calculateFeeHourByHour(long entryMillis, long exitMillis) {
+
+        long hours = PricingStrategy.startedHours(entryMillis, exitMillis);
+        int entryHour = clockHour(entryMillis);
+
+        double total = 0;
+        double block = 0;
+
+        for(long k = 0; k < hours; k++) {
+
+            if(k > 0 && k % HOURS_PER_DAY == 0) {
+                total += Math.min(dailyCap, block);
+                block = 0;
+            }
+
+            int bandIndex = k >= Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) k;
+            block += rate(bandIndex, (int) ((entryHour + k) % HOURS_PER_DAY));
+        }
+
+        return total + Math.min(dailyCap, block);
+    }
+
+    // rate of the hour that is 'hourOfStay' hours into the stay and starts at 'clockHour'
+    private double rate(int hourOfStay, int clockHour) {
+
+        int band = 0;
+        while(band < bandEnds.length - 1 && hourOfStay >= bandEnds[band]) {
+            band++;
+        }
+
+        return isDay(clockHour) ? dayRates[band] : nightRates[band];
+    }
+
+    private boolean isDay(int clockHour) {
+
+        if(dayStartHour <= nightStartHour) {
+            return clockHour >= dayStartHour && clockHour < nightStartHour;
+        }
+
+        return clockHour >= dayStartHour || clockHour < nightStartHour;
+    }
+
+    private int clockHour(long epochMillis) {
+
+        return (int) Math.floorMod(
+                Math.floorDiv(epochMillis + offsetMillis, MILLIS_PER_HOUR),
+                (long) HOURS_PER_DAY
+        );
+    }
+
+    public static class Builder {
+
+        private final List<Integer> ends = new ArrayList<>();
+        private final List<Double> dayRates = new ArrayList<>();
+        private final List<Double> nightRates = new ArrayList<>();
+        private int dayStartHour = 7;
+        private int nightStartHour = 22;
+        private double dailyCap = Double.MAX_VALUE;
+        private ZoneOffset zone = ZoneOffset.UTC;
+
+        // Hours of the stay before 'untilHour' (not yet covered by an earlier band) at these rates
+        public Builder band(int untilHour, double dayRate, double nightRate) {
+
+            int previous = ends.isEmpty() ? 0 : ends.get(ends.size() - 1);
+
+            if(untilHour <= previous || untilHour > HOURS_PER_DAY) {
+                throw new IllegalArgumentException(
+                        "band must end after hour " + previous + " and within 24 hours: " + untilHour
+                );
+            }
+
+            ends.add(untilHour);
+            dayRates.add(dayRate);
+            nightRates.add(nightRate);
+            return this;
+        }
+
+        // Rates for every hour after the last band
+        public Builder thereafter(double dayRate, double nightRate) {
+
+            ends.add(Integer.MAX_VALUE);
+            dayRates.add(dayRate);
+            nightRates.add(nightRate);
+            return this;
+        }
+
+        public Builder dayHours(int dayStartHour, int nightStartHour) {
+
+            if(dayStartHour < 0 || dayStartHour >= HOURS_PER_DAY
+                    || nightStartHour < 0 || nightStartHour >= HOURS_PER_DAY) {
+                throw new IllegalArgumentException(
+                        "hours must be 0..23: " + dayStartHour + ", " + nightStartHour
+                );
+            }
+
+            this.dayStartHour = dayStartHour;
+            this.nightStartHour = nightStartHour;
+            return this;
+        }
+
+        public Builder dailyCap(double dailyCap) {
+
+            this.dailyCap = dailyCap;
+            return this;
+        }
+
+        public Builder zone(ZoneOffset zone) {
+
+            this.zone = zone;
+            return this;
+        }
+
+        public TieredPricingStrategy build() {
+
+            if(ends.isEmpty() || ends.get(ends.size() - 1) != Integer.MAX_VALUE) {
+                throw new IllegalStateException("tariff needs a thereafter(...) rate");
+            }
+
+            return new TieredPricingStrategy(this);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package p04_Design_Question.Parking_Lot_System;
+
+import p04_Design_Question.Parking_Lot_System.Basic.VehicleType;
+import p04_Design_Question.Parking_Lot_System.PriceCalculation.PricingEngine;
+import p04_Design_Question.Parking_Lot_System.PriceCalculation.TieredPricingStrategy;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+// Prices synthetic exits through PricingEngine.standard().
+// First checks every table lookup against TieredPricingStrategy's hour-by-hour walk,
+// then reports exits priced per second and bytes allocated per exit.
+public class PricingBenchmark {
+
+    private static final int EXITS = 1 << 20 ; // power of two, used as a mask
+    private static final long HOUR = 3_600_000L ;
+    private static final long ROUNDS = 50_000_000L ;
+
+    public static void main(String[] args) {
+
+        PricingEngine engine = PricingEngine.standard() ;
+        VehicleType[] types = VehicleType.values() ;
+        Random random = new Random(7) ;
+
+        long now = System.currentTimeMillis() ;
+        byte[] type = new byte[EXITS] ;
+        long[] entry = new long[EXITS] ;
+        long[] exit = new long[EXITS] ;
+
+        for(int i = 0; i < EXITS; i++) {
+
+            type[i] = (byte) random.nextInt(types.length) ;
+            entry[i] = now - (long) (random.nextDouble() * 30 * 24 * HOUR) ;
+
+            // mostly short stays, some multi-day ones
+            long stay = random.nextInt(10) == 0
+                    ? (long) (random.nextDouble() * 96 * HOUR)
+                    : (long) (random.nextDouble() * 8 * HOUR) ;
+
+            exit[i] = entry[i] + stay ;
+        }
+
+        // correctness: tables agree with the slow walk
+        int mismatches = 0 ;
+        for(int i = 0; i < 200_000; i++) {
+
+            TieredPricingStrategy strategy =
+                    (TieredPricingStrategy) engine.strategyFor(types[type[i]]) ;
+
+            double fast = strategy.calculateFee(entry[i], exit[i]) ;
+            double slow = strategy.calculateFeeHourByHour(entry[i], exit[i]) ;
+
+            if(Math.abs(fast - slow) > 1e-6) {
+                mismatches++ ;
+            }
+        }
+
+        System.out.println(
+                "table vs hour-by-hour mismatches: " + mismatches
+        );
+
+        com.sun.management.ThreadMXBean mx =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean() ;
+        long thread = Thread.currentThread().getId() ;
+
+        double sink = price(engine, types, type, entry, exit, ROUNDS / 5) ; // warm-up
+
+        long bytes0 = mx.getThreadAllocatedBytes(thread) ;
+        long start = System.nanoTime() ;
+
+        sink += price(engine, types, type, entry, exit, ROUNDS) ;
+
+        long elapsed = System.nanoTime() - start ;
+        long bytes = mx.getThreadAllocatedBytes(thread) - bytes0 ;
+
+        System.out.printf(
+                "%,d exits in %.2f s  ->  %.1f M exits/s, %.1f ns/exit, %.3f bytes/exit  (checksum %.0f)%n",
+                ROUNDS, elapsed / 1e9, ROUNDS / (elapsed / 1e3), (double) elapsed / ROUNDS,
+                (double) bytes / ROUNDS, sink
+        );
+    }
+
+    private static double price(PricingEngine engine, VehicleType[] types,
+                                byte[] type, long[] entry, long[] exit, long rounds) {
+
+        double total = 0 ;
+
+        for(long n = 0; n < rounds; n++) {
+            int i = (int) n & (EXITS - 1) ;
+            total += engine.calculateFee(types[type[i]], entry[i], exit[i]) ;
+        }
+
+        return total ;
+    }
+}
@@ -0,0 +1,12 @@
+package p04_Design_Question.Parking_Lot_System.Settlement;
+
+import java.util.List;
+import java.util.Set;
+
+public interface PaymentGateway {
+
+    // Charge every request in the batch, at most once per idempotency key.
+    // Returns the keys that failed and may be retried; throws if the whole call failed
+    // (e.g. timed out), in which case some requests may or may not have been charged.
+    Set<String> settle(List<PaymentRequest> batch);
+}
@@ -0,0 +1,47 @@
+package p04_Design_Question.Parking_Lot_System.Settlement;
+
+// One exit's payment, waiting to be settled.
+// The idempotency key is the lot's epoch plus the ticket id: a retry of the same request can
+// never charge twice, and a ticket id reused after a restart is still a new charge.
+public class PaymentRequest {
+
+    private final String idempotencyKey;
+    private final String vehicleNumber;
+    private final double amount;
+    private final long queuedAtNanos;
+    private int attempts; // only touched by the settlement worker
+
+    public PaymentRequest(String idempotencyKey,
+                          String vehicleNumber,
+                          double amount) {
+
+        this.idempotencyKey = idempotencyKey;
+        this.vehicleNumber = vehicleNumber;
+        this.amount = amount;
+        this.queuedAtNanos = System.nanoTime();
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getVehicleNumber() {
+        return vehicleNumber;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public long getQueuedAtNanos() {
+        return queuedAtNanos;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    void attempted() {
+        attempts++;
+    }
+}
@@ -0,0 +1,240 @@
+package p04_Design_Question.Parking_Lot_System.Settlement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Settles exit payments in the background, so an exit gate never waits on the gateway.
+// - submit() only enqueues; one worker drains up to maxBatch requests per gateway call
+// - failed requests are retried with exponential backoff, up to maxAttempts, then parked
+//   in a dead-letter list for manual follow-up
+// - a ticket can only be queued once at a time, and the gateway dedupes by the same key
+// - the queue is bounded: if the gateway falls behind for long, submit() blocks (back-pressure)
+//   instead of piling up unsettled payments in memory
+// - submit() runs under the read side of 'lifecycle' and close() flips 'running' under the
+//   write side, so every accepted payment is queued before the worker can see it is closed
+public class PaymentSettler implements AutoCloseable {
+
+    private final PaymentGateway gateway;
+    private final int maxBatch;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    private final LinkedBlockingQueue<PaymentRequest> queue;
+    // retries whose backoff has passed; unbounded so a retry can never be dropped by a full queue
+    private final ConcurrentLinkedQueue<PaymentRequest> retryReady = new ConcurrentLinkedQueue<>();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<PaymentRequest> deadLetters = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService retryTimer;
+    private final Thread worker;
+    private volatile boolean running = true;
+    private final ReadWriteLock lifecycle = new ReentrantReadWriteLock();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder settled = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder settleNanos = new LongAdder(); // queued -> settled, summed
+
+    public PaymentSettler(PaymentGateway gateway) {
+        this(gateway, 256, 5, 100, 10_000);
+    }
+
+    public PaymentSettler(PaymentGateway gateway,
+                          int maxBatch,
+                          int maxAttempts,
+                          long backoffMillis,
+                          int queueCapacity) {
+
+        if(maxBatch <= 0 || maxAttempts <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("maxBatch, maxAttempts and queueCapacity must be positive");
+        }
+
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+
+        this.gateway = gateway;
+        this.maxBatch = maxBatch;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+
+        this.retryTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "payment-retry");
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.worker = new Thread(this::run, "payment-settler");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // @param idempotencyKey must stay unique across restarts (see ParkingLot's payment key)
+    // @return false if a payment with this key is already queued or retrying
+    // Blocks while the queue is full.
+    public boolean submit(String idempotencyKey, String vehicleNumber, double amount) {
+
+        lifecycle.readLock().lock();
+        try {
+            if(!running) {
+                throw new IllegalStateException("settler is closed");
+            }
+
+            if(!pending.add(idempotencyKey)) {
+                return false;
+            }
+
+            try {
+                queue.put(new PaymentRequest(idempotencyKey, vehicleNumber, amount));
+            } catch(InterruptedException e) {
+                pending.remove(idempotencyKey);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while queueing payment " + idempotencyKey, e);
+            }
+
+            submitted.increment();
+            return true;
+        } finally {
+            lifecycle.readLock().unlock();
+        }
+    }
+
+    private void run() {
+
+        List<PaymentRequest> batch = new ArrayList<>(maxBatch);
+
+        while(running || !queue.isEmpty() || !pending.isEmpty()) {
+
+            PaymentRequest first = retryReady.poll();
+            if(first == null) {
+                try {
+                    first = queue.poll(20, TimeUnit.MILLISECONDS);
+                } catch(InterruptedException e) {
+                    return;
+                }
+            }
+            if(first == null) {
+                continue;
+            }
+
+            batch.add(first);
+            for(PaymentRequest retry; batch.size() < maxBatch && (retry = retryReady.poll()) != null; ) {
+                batch.add(retry);
+            }
+            queue.drainTo(batch, maxBatch - batch.size());
+            settleBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void settleBatch(List<PaymentRequest> batch) {
+
+        batches.increment();
+
+        Set<String> failed;
+        try {
+            failed = gateway.settle(batch);
+        } catch(RuntimeException e) {
+            failed = null; // outcome unknown: retry all, the idempotency key stops double charges
+        }
+
+        long now = System.nanoTime();
+
+        for(PaymentRequest request : batch) {
+
+            request.attempted();
+
+            if(failed != null && !failed.contains(request.getIdempotencyKey())) {
+                settled.increment();
+                settleNanos.add(now - request.getQueuedAtNanos());
+                pending.remove(request.getIdempotencyKey());
+            } else if(request.getAttempts() >= maxAttempts) {
+                deadLetters.add(request);
+                pending.remove(request.getIdempotencyKey());
+            } else {
+                retries.increment();
+                long delay = backoffMillis << (request.getAttempts() - 1);
+                retryTimer.schedule(() -> retryReady.add(request), delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    // Wait until nothing is queued or retrying; true if that happened within the timeout
+    public boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+
+        while(!pending.isEmpty()) {
+            if(System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+
+        return true;
+    }
+
+    public long submittedCount() {
+        return submitted.sum();
+    }
+
+    public long settledCount() {
+        return settled.sum();
+    }
+
+    public long pendingCount() {
+        return pending.size();
+    }
+
+    public List<PaymentRequest> deadLetters() {
+        return new ArrayList<>(deadLetters);
+    }
+
+    public double averageBatchSize() {
+        long b = batches.sum();
+        return b == 0 ? 0 : (double) (settled.sum() + retries.sum() + deadLetters.size()) / b;
+    }
+
+    public double averageSettleMillis() {
+        long s = settled.sum();
+        return s == 0 ? 0 : settleNanos.sum() / 1e6 / s;
+    }
+
+    // Stops taking payments and finishes (or dead-letters) everything already queued
+    @Override
+    public void close() {
+
+        // waits for submits in flight (a full queue keeps draining meanwhile)
+        lifecycle.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycle.writeLock().unlock();
+        }
+
+        try {
+            worker.join();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        retryTimer.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "submitted=%d settled=%d retries=%d dead=%d pending=%d batches=%d avgBatch=%.1f avgSettle=%.1f ms",
+                submitted.sum(), settled.sum(), retries.sum(), deadLetters.size(), pending.size(),
+                batches.sum(), averageBatchSize(), averageSettleMillis()
+        );
+    }
+}
@@ -0,0 +1,99 @@
+package p04_Design_Question.Parking_Lot_System.Settlement;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Local stand-in for a card processor.
+// - every call costs 'latencyMillis', whatever the batch size (one network round trip)
+// - each request fails on its own with 'declineRate' (retryable)
+// - with 'lostResponseRate' the whole call throws AFTER charging, like a timeout
+//   on the way back; the idempotency keys make the retry harmless
+public class StubPaymentGateway
+        implements PaymentGateway {
+
+    private volatile long latencyMillis;
+    private final double declineRate;
+    private final double lostResponseRate;
+
+    private final Set<String> charged = ConcurrentHashMap.newKeySet();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+
+    public StubPaymentGateway(long latencyMillis) {
+        this(latencyMillis, 0, 0);
+    }
+
+    public StubPaymentGateway(long latencyMillis,
+                              double declineRate,
+                              double lostResponseRate) {
+
+        this.latencyMillis = latencyMillis;
+        this.declineRate = declineRate;
+        this.lostResponseRate = lostResponseRate;
+    }
+
+    @Override
+    public Set<String> settle(List<PaymentRequest> batch) {
+
+        calls.increment();
+        pause();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Set<String> failed = new HashSet<>();
+
+        for(PaymentRequest request : batch) {
+
+            if(charged.contains(request.getIdempotencyKey())) {
+                duplicates.increment(); // already charged on an earlier attempt
+                continue;
+            }
+
+            if(random.nextDouble() < declineRate) {
+                failed.add(request.getIdempotencyKey());
+                continue;
+            }
+
+            charged.add(request.getIdempotencyKey());
+        }
+
+        if(random.nextDouble() < lostResponseRate) {
+            throw new IllegalStateException("gateway response lost");
+        }
+
+        return failed;
+    }
+
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    public long chargedCount() {
+        return charged.size();
+    }
+
+    public long callCount() {
+        return calls.sum();
+    }
+
+    // retries of requests that had already gone through; ignored thanks to the key
+    public long duplicateCount() {
+        return duplicates.sum();
+    }
+
+    private void pause() {
+
+        if(latencyMillis <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(latencyMillis);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
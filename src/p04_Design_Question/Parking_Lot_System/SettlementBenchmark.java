@@ -0,0 +1,106 @@
+package p04_Design_Question.Parking_Lot_System;
+
+import p04_Design_Question.Parking_Lot_System.Basic.Car;
+import p04_Design_Question.Parking_Lot_System.Settlement.PaymentSettler;
+import p04_Design_Question.Parking_Lot_System.Settlement.StubPaymentGateway;
+import p04_Design_Question.Parking_Lot_System.Spot.CarSpot;
+import p04_Design_Question.Parking_Lot_System.Spot.ParkingSpot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Exit-gate throughput as gateway latency grows.
+//   inline: ParkingLot.checkout charges the gateway on the gate's thread
+//   async:  ParkingLot.checkout queues the payment on a PaymentSettler
+// Both arms go through the same checkout (ticket closed, fee calculated, spot freed).
+// Each gate parks a car and lets it out again in a loop. A last run adds declines and lost
+// responses to show retries never charge a ticket twice.
+public class SettlementBenchmark {
+
+    private static final int GATES = 4 ;
+    private static final long RUN_MILLIS = 1_000 ;
+
+    public static void main(String[] args) throws InterruptedException {
+
+        System.out.println("gateway latency | inline exits/s | async exits/s | settler") ;
+
+        for(long latency : new long[]{0, 2, 10, 50}) {
+
+            double inline = run(latency, false, new StubPaymentGateway(latency)) ;
+
+            StubPaymentGateway gateway = new StubPaymentGateway(latency) ;
+            PaymentSettler settler = new PaymentSettler(gateway) ;
+            double async = run(latency, true, gateway, settler) ;
+            settler.awaitIdle(10_000) ;
+            settler.close() ;
+
+            System.out.printf(
+                    "%12d ms | %,14.0f | %,13.0f | %s, charged=%d%n",
+                    latency, inline, async, settler, gateway.chargedCount()
+            ) ;
+        }
+
+        // faults: 5% declines, 5% of calls lose their response after charging
+        StubPaymentGateway flaky = new StubPaymentGateway(10, 0.05, 0.05) ;
+        PaymentSettler settler = new PaymentSettler(flaky, 256, 5, 20, 10_000) ;
+        run(10, true, flaky, settler) ;
+        settler.awaitIdle(30_000) ;
+        settler.close() ;
+
+        System.out.printf(
+                "%nflaky gateway: %s%ncharged=%d (settled %d + dead %d), retried-but-already-charged=%d -> %s%n",
+                settler, flaky.chargedCount(), settler.settledCount(), settler.deadLetters().size(),
+                flaky.duplicateCount(),
+                flaky.chargedCount() == settler.settledCount() ? "no double charges" : "MISMATCH"
+        ) ;
+    }
+
+    private static double run(long latency, boolean async, StubPaymentGateway gateway) throws InterruptedException {
+        return run(latency, async, gateway, null) ;
+    }
+
+    // @return exits per second over all gates
+    private static double run(long latency, boolean async, StubPaymentGateway gateway,
+                              PaymentSettler settler) throws InterruptedException {
+
+        List<ParkingSpot> spots = new ArrayList<>() ;
+        for(int s = 0; s < 1_000; s++) {
+            spots.add(new CarSpot(s)) ;
+        }
+        List<ParkingFloor> floors = new ArrayList<>() ;
+        floors.add(new ParkingFloor(spots)) ;
+
+        ParkingLot lot = new ParkingLot(floors) ;
+        if(async) {
+            lot.setPaymentSettler(settler) ;
+        } else {
+            lot.setPaymentGateway(gateway) ;
+        }
+
+        AtomicBoolean stop = new AtomicBoolean() ;
+        LongAdder exits = new LongAdder() ;
+        List<Thread> gates = new ArrayList<>() ;
+
+        for(int g = 0; g < GATES; g++) {
+            Thread gate = new Thread(() -> {
+                while(!stop.get()) {
+                    Ticket ticket = lot.parkVehicle(new Car("KA")) ;
+                    lot.checkout(ticket) ;
+                    exits.increment() ;
+                }
+            }, "gate-" + g) ;
+            gates.add(gate) ;
+            gate.start() ;
+        }
+
+        Thread.sleep(RUN_MILLIS) ;
+        stop.set(true) ;
+        for(Thread gate : gates) {
+            gate.join() ;
+        }
+
+        return exits.sum() * 1000.0 / RUN_MILLIS ;
+    }
+}
@@ -12,4 +12,9 @@ public class BikeSpot extends ParkingSpot{
     public boolean canFitVehicle(Vehicle vehicle){
         return (vehicle.getType() == VehicleType.BIKE) ;
     }
+
+    @Override
+    public VehicleType getSpotType(){
+        return VehicleType.BIKE ;
+    }
 }
@@ -12,4 +12,9 @@ public class CarSpot extends ParkingSpot{
     public boolean canFitVehicle(Vehicle vehicle){
         return (vehicle.getType() == VehicleType.CAR) || (vehicle.getType() == VehicleType.BIKE) ;
     }
+
+    @Override
+    public VehicleType getSpotType(){
+        return VehicleType.CAR ;
+    }
 }
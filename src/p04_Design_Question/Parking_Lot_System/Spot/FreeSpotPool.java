@@ -0,0 +1,178 @@
+package p04_Design_Question.Parking_Lot_System.Spot;
+
+import p04_Design_Question.Parking_Lot_System.Basic.Vehicle;
+import p04_Design_Question.Parking_Lot_System.Basic.VehicleType;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Free spots of one type on one floor, safe for many gates at once without locks.
+// Two-level bitmap: bit i of 'words' = spot i may be free, bit w of 'summary' = words[w] may be non-zero.
+// Bits are only hints; the spot's own CAS (ParkingSpot.tryPark) decides who gets it.
+// A stale set bit costs one extra probe, and a free spot always has its bit set,
+// because removeVehicle frees the spot before setting the bit.
+public class FreeSpotPool {
+
+    private final VehicleType spotType ;
+    private final ParkingSpot[] spots ;
+    private final AtomicLongArray words ;
+    private final AtomicLongArray summary ;
+    // striped counters: gates on different cores bump different cells, never a shared word
+    private final LongAdder occupied = new LongAdder() ;
+    // the same spots counted by the type of vehicle parked in them (a bike in a car spot is a BIKE)
+    private final LongAdder[] parkedByVehicle = new LongAdder[VehicleType.values().length] ;
+
+    public FreeSpotPool(VehicleType spotType, List<ParkingSpot> spotsOfType){
+        this.spotType = spotType ;
+        this.spots = spotsOfType.toArray(new ParkingSpot[0]) ;
+        int wordCount = (spots.length + 63) >>> 6 ;
+        this.words = new AtomicLongArray(wordCount) ;
+        this.summary = new AtomicLongArray((wordCount + 63) >>> 6) ;
+        for(int t = 0 ; t < parkedByVehicle.length ; t++){
+            parkedByVehicle[t] = new LongAdder() ;
+        }
+
+        for(int i = 0 ; i < spots.length ; i++){
+            spots[i].attachToPool(this, i) ;
+            if(spots[i].isOccupied()){
+                occupied.increment() ;
+                Vehicle vehicle = spots[i].getVehicle() ;
+                parkedByVehicle[(vehicle != null ? vehicle.getType() : spotType).ordinal()].increment() ;
+            } else {
+                markFree(i) ;
+            }
+        }
+    }
+
+    public VehicleType getSpotType(){
+        return spotType ;
+    }
+
+    // follows every successful tryPark / removeVehicle; exact once gates are quiet,
+    // may be off by the parks in flight while they are not
+    public int occupiedCount(){
+        return (int) occupied.sum() ;
+    }
+
+    // spots of this pool holding a vehicle of 'vehicleType'; same accuracy as occupiedCount
+    public int parkedCount(VehicleType vehicleType){
+        return (int) parkedByVehicle[vehicleType.ordinal()].sum() ;
+    }
+
+    public int freeCount(){
+        return spots.length - occupiedCount() ;
+    }
+
+    public int capacity(){
+        return spots.length ;
+    }
+
+    // all spots in a pool are the same type, so any of them answers for the pool
+    public boolean canFit(Vehicle vehicle){
+        return spots.length > 0 && spots[0].canFitVehicle(vehicle) ;
+    }
+
+    // Lowest-numbered free spot, without claiming it (another gate may take it first)
+    public ParkingSpot peek(){
+        for(int s = 0 ; s < summary.length() ; s++){
+            for(long sw = summary.get(s) ; sw != 0 ; sw &= sw - 1){
+                int w = (s << 6) + Long.numberOfTrailingZeros(sw) ;
+                for(long word = words.get(w) ; word != 0 ; word &= word - 1){
+                    ParkingSpot spot = spots[(w << 6) + Long.numberOfTrailingZeros(word)] ;
+                    if(!spot.isOccupied()){
+                        return spot ;
+                    }
+                }
+            }
+        }
+        return null ;
+    }
+
+    // Claim a free spot for 'vehicle'; lowest-numbered first. null when the pool is full.
+    public ParkingSpot claim(Vehicle vehicle){
+        // no counter check here: an empty bitmap is a few loads, cheaper than summing the LongAdder
+        while(true){
+            int index = pollCandidate() ;
+            if(index < 0){
+                return null ;
+            }
+            if(spots[index].tryPark(vehicle)){
+                return spots[index] ;
+            }
+            // stale bit: the spot was taken through parkVehicle directly; its bit is gone now
+        }
+    }
+
+    // called by ParkingSpot.tryPark
+    void onParked(VehicleType vehicleType){
+        occupied.increment() ;
+        parkedByVehicle[vehicleType.ordinal()].increment() ;
+    }
+
+    // called by ParkingSpot.removeVehicle, after the spot is already free
+    void onRemoved(int index, VehicleType vehicleType){
+        occupied.decrement() ;
+        parkedByVehicle[vehicleType.ordinal()].decrement() ;
+        markFree(index) ;
+    }
+
+    // Take one set bit out of the bitmap; -1 if none
+    private int pollCandidate(){
+        for(int s = 0 ; s < summary.length() ; s++){
+            long sw = summary.get(s) ;
+            while(sw != 0){
+                int w = (s << 6) + Long.numberOfTrailingZeros(sw) ;
+                long word = words.get(w) ;
+                if(word == 0){
+                    clearSummaryIfEmpty(w) ;
+                    sw &= sw - 1 ;
+                    continue ;
+                }
+                long bit = Long.lowestOneBit(word) ;
+                if(words.compareAndSet(w, word, word & ~bit)){
+                    if((word & ~bit) == 0){
+                        clearSummaryIfEmpty(w) ;
+                    }
+                    return (w << 6) + Long.numberOfTrailingZeros(bit) ;
+                }
+                // lost the race on this word: re-read it
+            }
+        }
+        return -1 ;
+    }
+
+    private void markFree(int index){
+        int w = index >>> 6 ;
+        setBit(words, w, 1L << index) ;
+        setBit(summary, w >>> 6, 1L << w) ;
+    }
+
+    private void clearSummaryIfEmpty(int w){
+        clearBit(summary, w >>> 6, 1L << w) ;
+        // a release may have refilled the word in between; put the hint back
+        if(words.get(w) != 0){
+            setBit(summary, w >>> 6, 1L << w) ;
+        }
+    }
+
+    private static void setBit(AtomicLongArray bits, int i, long mask){
+        long word ;
+        do {
+            word = bits.get(i) ;
+            if((word & mask) != 0){
+                return ;
+            }
+        } while(!bits.compareAndSet(i, word, word | mask)) ;
+    }
+
+    private static void clearBit(AtomicLongArray bits, int i, long mask){
+        long word ;
+        do {
+            word = bits.get(i) ;
+            if((word & mask) == 0){
+                return ;
+            }
+        } while(!bits.compareAndSet(i, word, word & ~mask)) ;
+    }
+}
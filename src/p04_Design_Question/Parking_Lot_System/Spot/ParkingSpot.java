@@ -1,15 +1,35 @@
 package p04_Design_Question.Parking_Lot_System.Spot;
 
 import p04_Design_Question.Parking_Lot_System.Basic.Vehicle;
+import p04_Design_Question.Parking_Lot_System.Basic.VehicleType;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 
 
 //If a class has at least one abstract method,
 //then the class must also be marked as abstract.
 
+// Occupancy is a CAS on 'occupied', so two gates can never claim the same spot.
 public abstract class ParkingSpot {
+    private static final VarHandle OCCUPIED ;
+
+    static {
+        try {
+            OCCUPIED = MethodHandles.lookup().findVarHandle(ParkingSpot.class, "occupied", boolean.class) ;
+        } catch(ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e) ;
+        }
+    }
+
     protected int spotId ;
-    protected boolean occupied ;
-    protected Vehicle vehicle ;
+    // plain field + VarHandle rather than an AtomicBoolean, so scans don't chase a pointer per spot
+    protected volatile boolean occupied ;
+    protected volatile Vehicle vehicle ;
+
+    // free pool this spot belongs to (set by FreeSpotPool), and its index there
+    private FreeSpotPool pool ;
+    private int poolIndex ;
 
     public ParkingSpot(int spotId){
         this.spotId = spotId ;
@@ -17,20 +37,52 @@ public abstract class ParkingSpot {
 
     public abstract boolean canFitVehicle(Vehicle vehicle) ;
 
-    public void parkVehicle(Vehicle vehicle){
+    // the vehicle type this spot is built for; spots are pooled by it
+    public abstract VehicleType getSpotType() ;
+
+    // @return false if another gate got the spot first
+    public boolean tryPark(Vehicle vehicle){
+        if(!OCCUPIED.compareAndSet(this, false, true)){
+            return false ;
+        }
         this.vehicle = vehicle ;
-        occupied = true ;
+        if(pool != null){
+            pool.onParked(vehicle.getType()) ;
+        }
+        return true ;
+    }
+
+    public void parkVehicle(Vehicle vehicle){
+        if(!tryPark(vehicle)){
+            throw new IllegalStateException("Spot " + spotId + " is already occupied") ;
+        }
     }
 
     public void removeVehicle(){
+        // clear the vehicle before freeing, so the next occupant's vehicle is never wiped
+        Vehicle leaving = vehicle ;
         vehicle = null ;
-        occupied = false ;
+        if(OCCUPIED.compareAndSet(this, true, false)){
+            // give the spot back to its floor's free pool
+            if(pool != null){
+                pool.onRemoved(poolIndex, leaving != null ? leaving.getType() : getSpotType()) ;
+            }
+        }
+    }
+
+    void attachToPool(FreeSpotPool pool, int index){
+        this.pool = pool ;
+        this.poolIndex = index ;
     }
 
     public boolean isOccupied(){
         return occupied ;
     }
 
+    public Vehicle getVehicle(){
+        return vehicle ;
+    }
+
     public int getSpotId() {
         return spotId;
     }
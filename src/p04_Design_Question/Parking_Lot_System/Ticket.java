@@ -5,24 +5,33 @@ import p04_Design_Question.Parking_Lot_System.Spot.ParkingSpot;
 
 public class Ticket {
 
-    private String ticketId;
+    // sequence number handed out by ParkingLot; also the key in the TicketJournal
+    private long ticketId;
     private Vehicle vehicle;
     private ParkingSpot spot;
     private long entryTime;
 
-    public Ticket(String ticketId,
+    public Ticket(long ticketId,
                   Vehicle vehicle,
                   ParkingSpot spot) {
 
+        this(ticketId, vehicle, spot,
+                System.currentTimeMillis());
+    }
+
+    // used when a ticket is rebuilt from the journal after a restart
+    public Ticket(long ticketId,
+                  Vehicle vehicle,
+                  ParkingSpot spot,
+                  long entryTime) {
+
         this.ticketId = ticketId;
         this.vehicle = vehicle;
         this.spot = spot;
-
-        this.entryTime =
-                System.currentTimeMillis();
+        this.entryTime = entryTime;
     }
 
-    public String getTicketId() {
+    public long getTicketId() {
         return ticketId;
     }
 
@@ -0,0 +1,234 @@
+package p04_Design_Question.Parking_Lot_System;
+
+import p04_Design_Question.Parking_Lot_System.Basic.VehicleType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Append-only, memory-mapped journal of park and exit events, so a restarted
+// ParkingLot knows which vehicles are still inside and since when.
+//
+// File layout (every slot is RECORD_SIZE bytes):
+//   slot 0      header: magic (8 bytes) + committed record count (8 bytes)
+//               + epoch (8 bytes, random, fixed when the file is created)
+//   slot 1..n   one event:
+//                 0  kind (PARK / EXIT)       1  vehicle type ordinal
+//                 2  plate length            4  spot id (int)
+//                 8  ticket id (long)       16  time millis (long)
+//                24  plate, UTF-8 (up to PLATE_BYTES)
+//
+// A record is written before the count is bumped, so a crash mid-append leaves
+// at most one half-written slot past the count, which replay ignores.
+// The file is mapped in SEGMENT_SIZE pieces so it can grow without remapping.
+public class TicketJournal implements AutoCloseable {
+
+    public static final int RECORD_SIZE = 48 ;
+    private static final long MAGIC = 0x5449434B_4A524E31L ; // "TICKJRN1"
+    private static final int SEGMENT_SIZE = RECORD_SIZE * (1 << 20) ; // 48 MB
+    private static final int PLATE_BYTES = RECORD_SIZE - 24 ;
+
+    private static final byte PARK = 1 ;
+    private static final byte EXIT = 2 ;
+
+    // A park event that has no matching exit yet
+    public static class OpenTicket {
+        public final long ticketId ;
+        public final int spotId ;
+        public final VehicleType vehicleType ;
+        public final String vehicleNumber ;
+        public final long entryTime ;
+
+        OpenTicket(long ticketId, int spotId, VehicleType vehicleType, String vehicleNumber, long entryTime) {
+            this.ticketId = ticketId ;
+            this.spotId = spotId ;
+            this.vehicleType = vehicleType ;
+            this.vehicleNumber = vehicleNumber ;
+            this.entryTime = entryTime ;
+        }
+    }
+
+    private final FileChannel channel ;
+    private final List<MappedByteBuffer> segments = new ArrayList<>() ;
+    private long count ;
+    private final long epoch ;
+
+    public TicketJournal(Path file) {
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE) ;
+            MappedByteBuffer first = segment(0) ;
+            long magic = first.getLong(0) ;
+            if(magic == 0) {
+                first.putLong(0, MAGIC) ;
+                first.putLong(8, 0) ;
+                first.putLong(16, newEpoch()) ;
+            } else if(magic != MAGIC) {
+                throw new IllegalStateException("not a ticket journal: " + file) ;
+            }
+            count = first.getLong(8) ;
+            epoch = first.getLong(16) ;
+        } catch(IOException e) {
+            throw new UncheckedIOException(e) ;
+        }
+    }
+
+    // A plate the journal cannot hold whole is rejected, never cut: a recovered ticket
+    // must carry the vehicle number it was issued with
+    static void checkPlate(String plate) {
+        int bytes = plate.getBytes(StandardCharsets.UTF_8).length ;
+        if(bytes > PLATE_BYTES) {
+            throw new IllegalArgumentException("vehicle number longer than " + PLATE_BYTES + " UTF-8 bytes: " + plate) ;
+        }
+    }
+
+    public synchronized void appendPark(Ticket ticket) {
+        checkPlate(ticket.getVehicle().getVehicleNumber()) ;
+        write(PARK, ticket, ticket.getEntryTime()) ;
+    }
+
+    public synchronized void appendExit(Ticket ticket, long exitTime) {
+        write(EXIT, ticket, exitTime) ;
+    }
+
+    private void write(byte kind, Ticket ticket, long time) {
+        long slot = count + 1 ; // slot 0 is the header
+        MappedByteBuffer seg = segment((int) (slot * RECORD_SIZE / SEGMENT_SIZE)) ;
+        int pos = (int) (slot * RECORD_SIZE % SEGMENT_SIZE) ;
+
+        seg.put(pos, kind) ;
+        seg.put(pos + 1, (byte) ticket.getVehicle().getType().ordinal()) ;
+        seg.putInt(pos + 4, ticket.getSpot().getSpotId()) ;
+        seg.putLong(pos + 8, ticket.getTicketId()) ;
+        seg.putLong(pos + 16, time) ;
+
+        // length checked by appendPark; an exit carries the plate its park was written with
+        byte[] plate = ticket.getVehicle().getVehicleNumber().getBytes(StandardCharsets.UTF_8) ;
+        for(int i = 0 ; i < plate.length ; i++) {
+            seg.put(pos + 24 + i, plate[i]) ;
+        }
+        seg.put(pos + 2, (byte) plate.length) ;
+
+        count++ ;
+        segments.get(0).putLong(8, count) ; // commit point
+    }
+
+    // What a replay found: the parks never exited, and the highest ticket id ever issued
+    public static class Recovery {
+        public final List<OpenTicket> openTickets ;
+        public final long maxTicketId ;
+
+        Recovery(List<OpenTicket> openTickets, long maxTicketId) {
+            this.openTickets = openTickets ;
+            this.maxTicketId = maxTicketId ;
+        }
+    }
+
+    // Replay every committed event. One sequential pass per mapped segment with two
+    // primitive arrays indexed by spot id; only the surviving parks are decoded into objects.
+    public synchronized Recovery replay(int maxSpotId) {
+        long[] openSlot = new long[maxSpotId + 1] ;   // 0 = spot free
+        long[] openTicket = new long[maxSpotId + 1] ;
+        long maxTicketId = 0 ;
+
+        long recordsPerSegment = SEGMENT_SIZE / RECORD_SIZE ;
+        for(long segStart = 0 ; segStart <= count ; segStart += recordsPerSegment) {
+            MappedByteBuffer seg = segment((int) (segStart / recordsPerSegment)) ;
+            long first = Math.max(1, segStart) ; // slot 0 is the header
+            long last = Math.min(count, segStart + recordsPerSegment - 1) ;
+
+            for(int pos = (int) ((first - segStart) * RECORD_SIZE), end = (int) ((last - segStart) * RECORD_SIZE) ;
+                pos <= end ; pos += RECORD_SIZE) {
+
+                long ticketId = seg.getLong(pos + 8) ;
+                if(ticketId > maxTicketId) {
+                    maxTicketId = ticketId ;
+                }
+                int spotId = seg.getInt(pos + 4) ;
+                if(spotId < 0 || spotId > maxSpotId) {
+                    continue ; // spot no longer part of the lot
+                }
+                if(seg.get(pos) == PARK) {
+                    openSlot[spotId] = segStart + pos / RECORD_SIZE ;
+                    openTicket[spotId] = ticketId ;
+                } else if(openTicket[spotId] == ticketId) {
+                    openSlot[spotId] = 0 ;
+                }
+            }
+        }
+
+        VehicleType[] types = VehicleType.values() ;
+        List<OpenTicket> open = new ArrayList<>() ;
+        for(int spotId = 0 ; spotId <= maxSpotId ; spotId++) {
+            long slot = openSlot[spotId] ;
+            if(slot == 0) {
+                continue ;
+            }
+            MappedByteBuffer seg = segment((int) (slot / recordsPerSegment)) ;
+            int pos = (int) (slot % recordsPerSegment) * RECORD_SIZE ;
+            byte[] plate = new byte[seg.get(pos + 2)] ;
+            for(int i = 0 ; i < plate.length ; i++) {
+                plate[i] = seg.get(pos + 24 + i) ;
+            }
+            open.add(new OpenTicket(
+                    openTicket[spotId],
+                    spotId,
+                    types[seg.get(pos + 1)],
+                    new String(plate, StandardCharsets.UTF_8),
+                    seg.getLong(pos + 16))) ;
+        }
+        return new Recovery(open, maxTicketId) ;
+    }
+
+    // Identifies this journal's ticket numbering: ticket ids only restart together with a new journal,
+    // and a new journal gets a new epoch
+    public long epoch() {
+        return epoch ;
+    }
+
+    static long newEpoch() {
+        long epoch ;
+        do {
+            epoch = UUID.randomUUID().getMostSignificantBits() ;
+        } while(epoch == 0) ;
+        return epoch ;
+    }
+
+    public synchronized long size() {
+        return count ;
+    }
+
+    // Flush dirty pages to disk (the OS does this eventually anyway)
+    public synchronized void force() {
+        for(MappedByteBuffer seg : segments) {
+            seg.force() ;
+        }
+    }
+
+    private MappedByteBuffer segment(int index) {
+        try {
+            while(segments.size() <= index) {
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) segments.size() * SEGMENT_SIZE, SEGMENT_SIZE)) ;
+            }
+        } catch(IOException e) {
+            throw new UncheckedIOException(e) ;
+        }
+        return segments.get(index) ;
+    }
+
+    @Override
+    public synchronized void close() {
+        force() ;
+        try {
+            channel.close() ;
+        } catch(IOException e) {
+            throw new UncheckedIOException(e) ;
+        }
+    }
+}
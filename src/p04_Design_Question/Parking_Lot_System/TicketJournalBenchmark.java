@@ -0,0 +1,133 @@
+package p04_Design_Question.Parking_Lot_System;
+
+import p04_Design_Question.Parking_Lot_System.Basic.Bike;
+import p04_Design_Question.Parking_Lot_System.Basic.Car;
+import p04_Design_Question.Parking_Lot_System.Basic.Vehicle;
+import p04_Design_Question.Parking_Lot_System.Spot.BikeSpot;
+import p04_Design_Question.Parking_Lot_System.Spot.CarSpot;
+import p04_Design_Question.Parking_Lot_System.Spot.ParkingSpot;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Writes a few million park / exit events to a TicketJournal (lot kept ~95% full),
+// then "restarts" a few times: builds empty floors and times ParkingLot.open replaying the journal.
+// Checks that the recovered occupancy and ticket sequence match what was written.
+public class TicketJournalBenchmark {
+
+    private static final int FLOORS = 20 ;
+    private static final int SPOTS_PER_FLOOR = 5_000 ;
+    private static final int EVENTS = 4_000_000 ;
+
+    public static void main(String[] args) throws Exception {
+
+        Path file = Files.createTempFile("tickets", ".journal") ;
+        file.toFile().deleteOnExit() ;
+
+        Random random = new Random(3) ;
+        List<ParkingFloor> floors = buildFloors() ;
+        List<Ticket> inside = new ArrayList<>() ;
+        int target = (int) (FLOORS * SPOTS_PER_FLOOR * 0.95) ;
+        long ticketId = 0 ;
+        long time = System.currentTimeMillis() - 30L * 24 * 3_600_000 ;
+
+        long writeStart = System.nanoTime() ;
+
+        try(TicketJournal journal = new TicketJournal(file)) {
+
+            for(long events = 0; events < EVENTS; events++) {
+
+                time += 100 ;
+
+                if(inside.size() < target || random.nextBoolean()) {
+
+                    Vehicle vehicle = random.nextInt(5) == 0
+                            ? new Bike("KA" + ticketId)
+                            : new Car("KA" + ticketId) ;
+
+                    ParkingSpot spot = claim(floors, vehicle) ;
+                    if(spot != null) {
+                        Ticket ticket = new Ticket(++ticketId, vehicle, spot, time) ;
+                        journal.appendPark(ticket) ;
+                        inside.add(ticket) ;
+                        continue ;
+                    }
+                }
+
+                int leaving = random.nextInt(inside.size()) ;
+                Ticket ticket = inside.get(leaving) ;
+                journal.appendExit(ticket, time) ;
+                ticket.getSpot().removeVehicle() ;
+                inside.set(leaving, inside.get(inside.size() - 1)) ;
+                inside.remove(inside.size() - 1) ;
+            }
+        }
+
+        long writeNanos = System.nanoTime() - writeStart ;
+
+        System.out.printf(
+                "wrote %,d events (%,d MB) in %.0f ms, %,d vehicles inside%n",
+                EVENTS, Files.size(file) >> 20, writeNanos / 1e6, inside.size()
+        ) ;
+
+        // restart: fresh, empty floors
+        for(int run = 0; run < 3; run++) {
+
+            List<ParkingFloor> fresh = buildFloors() ;
+
+            long start = System.nanoTime() ;
+            ParkingLot lot = ParkingLot.open(fresh, file) ;
+            long replayNanos = System.nanoTime() - start ;
+
+            int occupied = 0 ;
+            for(ParkingFloor floor : fresh) {
+                occupied += floor.totalSpots() - floor.freeSpotCount() ;
+            }
+
+            Ticket sample = inside.get(0) ;
+            Ticket recovered = lot.findTicket(sample.getTicketId()) ;
+            boolean ok = occupied == inside.size()
+                    && lot.openTicketCount() == inside.size()
+                    && recovered != null
+                    && recovered.getSpot().getSpotId() == sample.getSpot().getSpotId()
+                    && recovered.getEntryTime() == sample.getEntryTime() ;
+
+            System.out.printf(
+                    "replay %d: %.1f ms  occupied %,d  open tickets %,d  last ticket id %d  %s%n",
+                    run, replayNanos / 1e6, occupied, lot.openTicketCount(), lot.lastTicketId(),
+                    ok && lot.lastTicketId() == ticketId ? "OK" : "MISMATCH"
+            ) ;
+        }
+    }
+
+    private static ParkingSpot claim(List<ParkingFloor> floors, Vehicle vehicle) {
+
+        for(ParkingFloor floor : floors) {
+            ParkingSpot spot = floor.claimSpot(vehicle) ;
+            if(spot != null) {
+                return spot ;
+            }
+        }
+
+        return null ;
+    }
+
+    private static List<ParkingFloor> buildFloors() {
+
+        List<ParkingFloor> floors = new ArrayList<>() ;
+        int id = 1 ;
+
+        for(int f = 0; f < FLOORS; f++) {
+            List<ParkingSpot> spots = new ArrayList<>() ;
+            for(int s = 0; s < SPOTS_PER_FLOOR; s++) {
+                spots.add(s % 5 == 4 ? new BikeSpot(id++) : new CarSpot(id++)) ;
+            }
+            floors.add(new ParkingFloor(spots)) ;
+        }
+
+        return floors ;
+    }
+}